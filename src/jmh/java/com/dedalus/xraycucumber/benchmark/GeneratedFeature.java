@@ -0,0 +1,102 @@
+package com.dedalus.xraycucumber.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.dedalus.xraycucumber.service.model.JiraIssue;
+
+/**
+ * Generates the feature files of the benchmarks: a Background, then scenarios with a few steps, a data table on
+ * every fifth one, and a Scenario Outline with a large Examples table on every tenth one. Every third scenario is
+ * already tagged with its Xray issue, as in a feature synchronized before.
+ */
+final class GeneratedFeature {
+
+    static final String PROJECT_KEY = "BENCH";
+
+    private GeneratedFeature() {
+    }
+
+    /**
+     * @param scenarioCount the number of scenarios of the feature.
+     * @param examplesRows  the number of rows of each Examples table.
+     */
+    static String content(int scenarioCount, int examplesRows) {
+        StringBuilder feature = new StringBuilder(scenarioCount * (200 + examplesRows * 4));
+        feature.append("@regression\nFeature: Generated feature of ").append(scenarioCount).append(" scenarios\n")
+                .append("  The feature synchronized by the benchmarks.\n\n")
+                .append("  Background:\n    Given the application is started\n    And the user is logged in\n\n");
+
+        for (int i = 0; i < scenarioCount; i++) {
+            if (i % 3 == 0) {
+                feature.append("  @").append(issueKey(i)).append('\n');
+            }
+            if (i % 10 == 9) {
+                appendScenarioOutline(feature, i, examplesRows);
+            } else {
+                appendScenario(feature, i);
+            }
+        }
+        return feature.toString();
+    }
+
+    static String scenarioName(int index) {
+        return "Scenario number " + index;
+    }
+
+    static String issueKey(int index) {
+        return PROJECT_KEY + "-" + (index + 1);
+    }
+
+    /**
+     * @return the Xray issues of every scenario, as returned by Jira after the import of the feature.
+     */
+    static List<JiraIssue> jiraIssues(int scenarioCount) {
+        List<JiraIssue> jiraIssues = new ArrayList<>(scenarioCount);
+        for (int i = 0; i < scenarioCount; i++) {
+            String key = issueKey(i);
+            jiraIssues.add(new JiraIssue(key, "https://jira.example.com/rest/api/2/issue/" + (10_000 + i), scenarioName(i), "Open", "Test"));
+        }
+        return jiraIssues;
+    }
+
+    static Map<String, String> jiraXrayIssueMap(int scenarioCount) {
+        Map<String, String> jiraXrayIssueMap = new HashMap<>();
+        for (int i = 0; i < scenarioCount; i++) {
+            jiraXrayIssueMap.put(scenarioName(i), issueKey(i));
+        }
+        return jiraXrayIssueMap;
+    }
+
+    private static void appendScenario(StringBuilder feature, int index) {
+        feature.append("  @smoke\n  Scenario: ").append(scenarioName(index)).append('\n')
+                .append("    Given a patient with the identifier \"").append(index).append("\"\n")
+                .append("    When the user opens the record of the patient\n");
+        if (index % 5 == 0) {
+            feature.append("    Then the record shows the following fields\n")
+                    .append("      | field      | value     |\n")
+                    .append("      | name       | Doe       |\n")
+                    .append("      | first name | John      |\n")
+                    .append("      | birth date | 1970-1-1  |\n");
+        } else {
+            feature.append("    Then the record of the patient is displayed\n");
+        }
+        feature.append('\n');
+    }
+
+    private static void appendScenarioOutline(StringBuilder feature, int index, int examplesRows) {
+        feature.append("  Scenario Outline: ").append(scenarioName(index)).append('\n')
+                .append("    Given a patient with the identifier \"<identifier>\"\n")
+                .append("    When the user sets the weight to <weight> and the height to <height>\n")
+                .append("    Then the body mass index is <bmi>\n\n")
+                .append("    Examples:\n")
+                .append("      | identifier | weight | height | bmi  |\n");
+        for (int row = 0; row < examplesRows; row++) {
+            feature.append("      | ").append(index * examplesRows + row).append(" | ").append(50 + row % 50)
+                    .append(" | ").append(150 + row % 40).append(" | ").append(18 + row % 12).append(" |\n");
+        }
+        feature.append('\n');
+    }
+}
@@ -0,0 +1,65 @@
+package com.dedalus.xraycucumber.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+
+/**
+ * Parses a feature file from disk, as the synchronization of a file does, and from its text, as the synchronization
+ * of an open editor does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GherkinFileParserBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int scenarioCount;
+
+    @Param({"10", "500"})
+    int examplesRows;
+
+    private final GherkinFileParser gherkinFileParser = new GherkinFileParser();
+    private String featureContent;
+    private Path featureFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        featureContent = GeneratedFeature.content(scenarioCount, examplesRows);
+        featureFile = Files.createTempFile("benchmark", ".feature");
+        Files.writeString(featureFile, featureContent, StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(featureFile);
+    }
+
+    @Benchmark
+    public Map<String, List<String>> getScenariosAndTags() throws IOException {
+        return gherkinFileParser.getScenariosAndTags(featureFile.toString());
+    }
+
+    @Benchmark
+    public FeatureModel parseFeature() {
+        return gherkinFileParser.parseFeature(featureFile.toString(), featureContent);
+    }
+}
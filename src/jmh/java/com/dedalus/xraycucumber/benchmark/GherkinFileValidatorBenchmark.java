@@ -0,0 +1,60 @@
+package com.dedalus.xraycucumber.benchmark;
+
+import static io.cucumber.messages.types.SourceMediaType.TEXT_X_CUCUMBER_GHERKIN_PLAIN;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dedalus.xraycucumber.gherkin.GherkinFileValidator;
+
+import io.cucumber.gherkin.GherkinParser;
+import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.Feature;
+import io.cucumber.messages.types.GherkinDocument;
+import io.cucumber.messages.types.Source;
+
+/**
+ * Validates a feature already parsed, so that only the checks of the scenarios are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GherkinFileValidatorBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int scenarioCount;
+
+    @Param({"10", "500"})
+    int examplesRows;
+
+    private final GherkinFileValidator gherkinFileValidator = new GherkinFileValidator();
+    private Feature feature;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var envelope = Envelope.of(new Source("benchmark.feature", GeneratedFeature.content(scenarioCount, examplesRows), TEXT_X_CUCUMBER_GHERKIN_PLAIN));
+        feature = GherkinParser.builder()
+                .includeSource(false)
+                .includePickles(false)
+                .build().parse(envelope)
+                .findFirst()
+                .flatMap(Envelope::getGherkinDocument)
+                .flatMap(GherkinDocument::getFeature)
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public Feature validate() {
+        gherkinFileValidator.validate(feature);
+        return feature;
+    }
+}
@@ -0,0 +1,43 @@
+package com.dedalus.xraycucumber.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dedalus.xraycucumber.mapper.JiraXrayIssueMapper;
+import com.dedalus.xraycucumber.service.model.JiraIssue;
+
+/**
+ * Maps the Xray issues returned by the import of a feature to its scenario names.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JiraXrayIssueMapperBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int scenarioCount;
+
+    private final JiraXrayIssueMapper jiraXrayIssueMapper = new JiraXrayIssueMapper();
+    private List<JiraIssue> jiraIssues;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jiraIssues = GeneratedFeature.jiraIssues(scenarioCount);
+    }
+
+    @Benchmark
+    public Map<String, String> map() {
+        return jiraXrayIssueMapper.map(jiraIssues);
+    }
+}
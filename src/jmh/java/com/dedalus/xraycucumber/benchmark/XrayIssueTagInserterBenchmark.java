@@ -0,0 +1,56 @@
+package com.dedalus.xraycucumber.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.gherkin.XrayIssueTagInserter;
+
+/**
+ * Tags the scenarios of a parsed feature with their Xray issues, the platform-free part of
+ * {@link com.dedalus.xraycucumber.gherkin.GherkinFileUpdater#addXrayIssueIdTagsOnScenario}. The editor document is
+ * left out, it needs a running IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class XrayIssueTagInserterBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    int scenarioCount;
+
+    @Param({"10", "500"})
+    int examplesRows;
+
+    private final XrayIssueTagInserter xrayIssueTagInserter = new XrayIssueTagInserter();
+    private FeatureModel featureModel;
+    private Map<String, String> jiraXrayIssueMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        featureModel = new GherkinFileParser().parseFeature("benchmark.feature", GeneratedFeature.content(scenarioCount, examplesRows));
+        jiraXrayIssueMap = GeneratedFeature.jiraXrayIssueMap(scenarioCount);
+    }
+
+    @Benchmark
+    public List<XrayIssueTagInserter.TagInsertion> planInsertions() {
+        return xrayIssueTagInserter.planInsertions(jiraXrayIssueMap, featureModel);
+    }
+
+    @Benchmark
+    public String addXrayIssueIdTags() {
+        return xrayIssueTagInserter.apply(featureModel.getContent(), xrayIssueTagInserter.planInsertions(jiraXrayIssueMap, featureModel));
+    }
+}
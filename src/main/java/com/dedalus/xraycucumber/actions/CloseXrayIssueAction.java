@@ -3,17 +3,19 @@ package com.dedalus.xraycucumber.actions;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.naming.AuthenticationException;
 
 import org.jetbrains.annotations.NotNull;
 
+import com.dedalus.xraycucumber.exceptions.HttpStatusException;
+import com.dedalus.xraycucumber.exceptions.JiraException;
+import com.dedalus.xraycucumber.gherkin.XrayIssueTagMatcher;
 import com.dedalus.xraycucumber.service.JiraService;
 import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
 import com.dedalus.xraycucumber.serviceparameters.ServiceParametersUtils;
 import com.dedalus.xraycucumber.settings.XrayCucumberSettingsState;
+import com.dedalus.xraycucumber.sync.CancellableJiraCall;
 import com.dedalus.xraycucumber.ui.NotificationUtils;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
@@ -21,24 +23,29 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
 import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 
 public class CloseXrayIssueAction extends AnAction {
 
+    private final XrayIssueTagMatcher xrayIssueTagMatcher = new XrayIssueTagMatcher();
+
     @Override public @NotNull ActionUpdateThread getActionUpdateThread() {
-        return super.getActionUpdateThread();
+        return ActionUpdateThread.BGT;
     }
 
     @Override public void update(AnActionEvent event) {
         VirtualFile virtualFile = event.getData(CommonDataKeys.VIRTUAL_FILE);
-        String projectKey = Objects.requireNonNull(XrayCucumberSettingsState.getInstance()).xrayTestProjectName;
 
         if (virtualFile != null && virtualFile.getName().endsWith(".feature")) {
             Editor editor = event.getData(PlatformDataKeys.EDITOR);
             if (editor != null) {
                 String selectedText = editor.getSelectionModel().getSelectedText();
-                if (isSelectedTextXrayIssue(selectedText, projectKey)) {
+                String projectKey = Objects.requireNonNull(XrayCucumberSettingsState.getInstance()).xrayTestProjectName;
+                if (xrayIssueTagMatcher.isXrayIssueTag(selectedText, projectKey)) {
                     event.getPresentation().setEnabledAndVisible(true);
                     return;
                 }
@@ -52,46 +59,45 @@ public class CloseXrayIssueAction extends AnAction {
         Project project = event.getProject();
         NotificationUtils notificationUtils = new NotificationUtils(project);
         Editor editor = event.getData(PlatformDataKeys.EDITOR);
-        JiraService jiraService;
-        JiraServiceParameters jiraServiceParameters;
-
-        try {
-            ServiceParametersUtils serviceParametersUtils = new ServiceParametersUtils(project);
-            jiraServiceParameters = serviceParametersUtils.getServiceParameters();
-            jiraService = serviceParametersUtils.getJiraService(jiraServiceParameters);
-
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+        if (editor == null) {
+            return;
         }
-
-        if (editor != null) {
-            String xrayIssue = Objects.requireNonNull(editor.getSelectionModel().getSelectedText()).trim().substring(1);
-
-            try {
-                if (jiraService.getXrayIssueStatus(xrayIssue).equalsIgnoreCase("open")) {
-                    jiraService.closeXrayIssue(xrayIssue);
-                    notificationUtils.notifyInfo("This Xray issue " + xrayIssue + " is now closed");
-                } else {
-                    notificationUtils.notifyInfo("You can close only open status Xray issue");
+        String xrayIssue = Objects.requireNonNull(editor.getSelectionModel().getSelectedText()).trim().substring(1);
+
+        // the calls wait for the retries and the rate limit of a throttled Jira, they must not block the EDT
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Close Xray issue " + xrayIssue, true) {
+
+            @Override
+            public void run(@NotNull ProgressIndicator progressIndicator) {
+                try {
+                    ServiceParametersUtils serviceParametersUtils = new ServiceParametersUtils(project);
+                    JiraServiceParameters jiraServiceParameters = serviceParametersUtils.getServiceParameters();
+                    JiraService jiraService = serviceParametersUtils.getJiraService(jiraServiceParameters);
+
+                    progressIndicator.setText("Reading the status of " + xrayIssue);
+                    String xrayIssueStatus = CancellableJiraCall.run(progressIndicator, jiraService, () -> jiraService.getXrayIssueStatus(xrayIssue));
+                    if (xrayIssueStatus.equalsIgnoreCase("open")) {
+                        progressIndicator.setText("Closing " + xrayIssue);
+                        CancellableJiraCall.run(progressIndicator, jiraService, () -> {
+                            jiraService.closeXrayIssue(xrayIssue);
+                            return null;
+                        });
+                        notificationUtils.notifyInfo("This Xray issue " + xrayIssue + " is now closed");
+                    } else {
+                        notificationUtils.notifyInfo("You can close only open status Xray issue");
+                    }
+                } catch (URISyntaxException | AuthenticationException | org.apache.http.auth.AuthenticationException | IOException | HttpStatusException | JiraException e) {
+                    // requests aborted by a cancellation fail too, onCancel reports it
+                    if (!progressIndicator.isCanceled()) {
+                        notificationUtils.notifyError(String.valueOf(e));
+                    }
                 }
-
-            } catch (URISyntaxException | AuthenticationException | org.apache.http.auth.AuthenticationException | IOException e) {
-                notificationUtils.notifyError(String.valueOf(e));
-
             }
-        }
-    }
 
-    private boolean isSelectedTextXrayIssue(final String selectedText, final String projectKey) {
-        if (selectedText != null && selectedText.trim().startsWith("@")) {
-            String text = selectedText.trim().substring(1);
-            String regex = "^" + projectKey + "-(\\d+)$";
-            Pattern pattern = Pattern.compile(regex);
-            Matcher matcher = pattern.matcher(text);
-
-            return matcher.matches();
-        } else {
-            return false;
-        }
+            @Override
+            public void onCancel() {
+                notificationUtils.notifyInfo("Action was cancelled by the user, the Xray issue " + xrayIssue + " may already be closed");
+            }
+        });
     }
 }
@@ -0,0 +1,232 @@
+package com.dedalus.xraycucumber.actions;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.naming.AuthenticationException;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.dedalus.xraycucumber.exceptions.GherkinParseException;
+import com.dedalus.xraycucumber.exceptions.JiraException;
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.gherkin.XrayIssueTagMatcher;
+import com.dedalus.xraycucumber.service.JiraService;
+import com.dedalus.xraycucumber.service.model.XrayIssueCloseReport;
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
+import com.dedalus.xraycucumber.serviceparameters.ServiceParametersUtils;
+import com.dedalus.xraycucumber.settings.XrayCucumberSettingsState;
+import com.dedalus.xraycucumber.sync.CancellableJiraCall;
+import com.dedalus.xraycucumber.sync.FeatureSnapshot;
+import com.dedalus.xraycucumber.ui.CloseXrayIssuesPopup;
+import com.dedalus.xraycucumber.ui.NotificationUtils;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.SelectionModel;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+
+/**
+ * Closes every open Xray issue tagged in the editor selection, in the whole feature file of the editor when nothing
+ * is selected, or in the feature files of the selected files and directories.
+ * The statuses are read with a few JQL searches and the issues are closed concurrently; the user gets a single
+ * summary notification.
+ */
+public class CloseXrayIssuesAction extends AnAction {
+
+    private static final Logger LOG = Logger.getInstance(CloseXrayIssuesAction.class);
+    private static final String FEATURE_EXTENSION = "feature";
+    // failures listed in the notification, the others are only counted; all of them are written to the IDE log
+    private static final int MAX_NOTIFIED_FAILURES = 10;
+
+    private final XrayIssueTagMatcher xrayIssueTagMatcher = new XrayIssueTagMatcher();
+
+    @Override public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override public void update(@NotNull AnActionEvent event) {
+        boolean visible = false;
+        if (event.getProject() != null) {
+            Editor editor = event.getData(PlatformDataKeys.EDITOR);
+            VirtualFile virtualFile = event.getData(CommonDataKeys.VIRTUAL_FILE);
+            if (editor != null) {
+                visible = virtualFile != null && FEATURE_EXTENSION.equals(virtualFile.getExtension());
+            } else {
+                VirtualFile[] selectedFiles = event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+                visible = selectedFiles != null && containsFeatureFiles(selectedFiles);
+            }
+        }
+        event.getPresentation().setEnabledAndVisible(visible);
+    }
+
+    @Override public void actionPerformed(@NotNull AnActionEvent event) {
+        Project project = event.getProject();
+        if (project == null) {
+            return;
+        }
+        NotificationUtils notificationUtils = new NotificationUtils(project);
+        Editor editor = event.getData(PlatformDataKeys.EDITOR);
+        EditorSelection editorSelection = editor != null ? getEditorSelection(editor, event.getData(CommonDataKeys.VIRTUAL_FILE)) : null;
+        VirtualFile[] selectedFiles = editor == null ? event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY) : null;
+        if (editorSelection == null && selectedFiles == null) {
+            return;
+        }
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Close Xray issues", true) {
+
+            XrayIssueCloseReport xrayIssueCloseReport;
+
+            @Override
+            public void run(@NotNull ProgressIndicator progressIndicator) {
+                String projectKey = Objects.requireNonNull(XrayCucumberSettingsState.getInstance()).xrayTestProjectName;
+                List<String> xrayIssueKeys;
+                try {
+                    progressIndicator.setText("Looking for Xray issue tags");
+                    xrayIssueKeys = editorSelection != null
+                            ? findXrayIssueKeys(editorSelection, projectKey)
+                            : findXrayIssueKeys(project, selectedFiles, projectKey, progressIndicator);
+                } catch (IOException | GherkinParseException e) {
+                    notificationUtils.notifyError(String.valueOf(e));
+                    return;
+                }
+
+                if (xrayIssueKeys.isEmpty()) {
+                    notificationUtils.notifyInfo("No Xray issue of project " + projectKey + " is tagged in the selection");
+                    return;
+                }
+                if (!confirmClose(project, xrayIssueKeys)) {
+                    notificationUtils.notifyInfo("User cancellation");
+                    return;
+                }
+
+                try {
+                    ServiceParametersUtils serviceParametersUtils = new ServiceParametersUtils(project);
+                    JiraServiceParameters jiraServiceParameters = serviceParametersUtils.getServiceParameters();
+                    JiraService jiraService = serviceParametersUtils.getJiraService(jiraServiceParameters);
+
+                    progressIndicator.setText("Closing " + xrayIssueKeys.size() + " Xray issues");
+                    xrayIssueCloseReport = CancellableJiraCall.run(progressIndicator, jiraService, () -> jiraService.closeXrayIssues(xrayIssueKeys));
+                } catch (URISyntaxException | IOException | AuthenticationException | org.apache.http.auth.AuthenticationException | IllegalStateException | JiraException e) {
+                    if (!progressIndicator.isCanceled()) {
+                        notificationUtils.notifyError(String.valueOf(e));
+                    }
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                notificationUtils.notifyInfo("Action was cancelled by the user, some Xray issues may already be closed");
+            }
+
+            @Override
+            public void onSuccess() {
+                if (xrayIssueCloseReport != null) {
+                    notifyCloseReport(notificationUtils, xrayIssueCloseReport);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reads the document of the editor and the lines of its selection, the whole document when nothing is selected.
+     */
+    private EditorSelection getEditorSelection(Editor editor, VirtualFile virtualFile) {
+        Document document = editor.getDocument();
+        String featureFileUri = virtualFile != null ? virtualFile.getPath() : "";
+        SelectionModel selectionModel = editor.getSelectionModel();
+        String selectedText = selectionModel.getSelectedText();
+        if (selectedText == null || selectedText.isBlank()) {
+            return new EditorSelection(featureFileUri, document.getText(), 0, Integer.MAX_VALUE);
+        }
+        int selectionStart = selectionModel.getSelectionStart();
+        // a selection ending at the start of a line does not include that line
+        int selectionLastOffset = Math.max(selectionStart, selectionModel.getSelectionEnd() - 1);
+        return new EditorSelection(featureFileUri, document.getText(), document.getLineNumber(selectionStart), document.getLineNumber(selectionLastOffset));
+    }
+
+    private List<String> findXrayIssueKeys(EditorSelection editorSelection, String projectKey) {
+        FeatureModel featureModel = new GherkinFileParser().parseFeature(editorSelection.featureFileUri(), editorSelection.text());
+        return xrayIssueTagMatcher.findXrayIssueKeys(featureModel, projectKey, editorSelection.firstLine(), editorSelection.lastLine());
+    }
+
+    private List<String> findXrayIssueKeys(Project project, VirtualFile[] selectedFiles, String projectKey, ProgressIndicator progressIndicator) throws IOException {
+        List<VirtualFile> featureFiles = ReadAction.compute(() -> SyncXrayCucumberFolderAction.collectFeatureFiles(project, selectedFiles));
+        GherkinFileParser gherkinFileParser = new GherkinFileParser();
+        Set<String> xrayIssueKeys = new LinkedHashSet<>();
+        for (VirtualFile featureFile : featureFiles) {
+            progressIndicator.checkCanceled();
+            FeatureModel featureModel;
+            try {
+                featureModel = FeatureSnapshot.read(featureFile, gherkinFileParser).featureModel();
+            } catch (GherkinParseException e) {
+                throw new GherkinParseException(featureFile.getName() + ": " + e.getMessage());
+            }
+            xrayIssueKeys.addAll(xrayIssueTagMatcher.findXrayIssueKeys(featureModel, projectKey));
+        }
+        return new ArrayList<>(xrayIssueKeys);
+    }
+
+    private boolean confirmClose(Project project, List<String> xrayIssueKeys) {
+        final AtomicBoolean confirmed = new AtomicBoolean(false);
+        ApplicationManager.getApplication().invokeAndWait(() -> {
+            CloseXrayIssuesPopup popup = new CloseXrayIssuesPopup(project, xrayIssueKeys);
+            popup.showAndGet();
+            confirmed.set(!popup.isCanceled());
+        });
+        return confirmed.get();
+    }
+
+    private void notifyCloseReport(NotificationUtils notificationUtils, XrayIssueCloseReport xrayIssueCloseReport) {
+        StringBuilder summary = new StringBuilder(xrayIssueCloseReport.getClosedIssueKeys().size() + " Xray issues closed");
+        if (!xrayIssueCloseReport.getSkippedIssueStatuses().isEmpty()) {
+            summary.append(", ").append(xrayIssueCloseReport.getSkippedIssueStatuses().size()).append(" not open left as they were");
+        }
+        if (xrayIssueCloseReport.getFailures().isEmpty()) {
+            notificationUtils.notifySuccess(summary.toString());
+        } else {
+            List<String> failures = new ArrayList<>();
+            for (Map.Entry<String, String> failure : xrayIssueCloseReport.getFailures().entrySet()) {
+                failures.add(failure.getKey() + ": " + failure.getValue());
+            }
+            LOG.warn(failures.size() + " Xray issues could not be closed: " + String.join("; ", failures));
+            summary.append(", ").append(failures.size()).append(" failed: ")
+                    .append(String.join("; ", failures.subList(0, Math.min(failures.size(), MAX_NOTIFIED_FAILURES))));
+            if (failures.size() > MAX_NOTIFIED_FAILURES) {
+                summary.append(" and ").append(failures.size() - MAX_NOTIFIED_FAILURES).append(" more, see the IDE log");
+            }
+            notificationUtils.notifyError(summary.toString());
+        }
+    }
+
+    private record EditorSelection(String featureFileUri, String text, int firstLine, int lastLine) {
+    }
+
+    private boolean containsFeatureFiles(VirtualFile[] selectedFiles) {
+        for (VirtualFile selectedFile : selectedFiles) {
+            if (selectedFile.isDirectory() || FEATURE_EXTENSION.equals(selectedFile.getExtension())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -5,46 +5,54 @@ import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.naming.AuthenticationException;
 
 import org.jetbrains.annotations.NotNull;
 
+import com.dedalus.xraycucumber.exceptions.GherkinParseException;
+import com.dedalus.xraycucumber.exceptions.HttpStatusException;
+import com.dedalus.xraycucumber.exceptions.JiraException;
 import com.dedalus.xraycucumber.exceptions.UserCancelException;
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
 import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
 import com.dedalus.xraycucumber.gherkin.GherkinFileUpdater;
 import com.dedalus.xraycucumber.mapper.JiraXrayIssueMapper;
 import com.dedalus.xraycucumber.service.JiraService;
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+import com.dedalus.xraycucumber.service.model.JiraIssue;
 import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
 import com.dedalus.xraycucumber.serviceparameters.ServiceParametersUtils;
+import com.dedalus.xraycucumber.settings.XraySyncIndexState;
+import com.dedalus.xraycucumber.sync.CancellableJiraCall;
+import com.dedalus.xraycucumber.sync.FeatureSyncPlan;
+import com.dedalus.xraycucumber.sync.FeatureSnapshot;
+import com.dedalus.xraycucumber.sync.FeatureSyncPlanner;
 import com.dedalus.xraycucumber.ui.NotificationUtils;
 import com.dedalus.xraycucumber.ui.SynchroStartPopup;
-import com.google.gson.JsonArray;
-import com.intellij.codeInsight.actions.ReformatCodeProcessor;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.psi.PsiDocumentManager;
-import com.intellij.psi.PsiFile;
 
+/**
+ * Uploads the feature file of the editor to Xray and tags its scenarios with the Xray test keys.
+ * The synchronization runs in stages (parse, upload, enrich, map, then write on success); the Jira stages abort
+ * their requests as soon as the user cancels.
+ */
 public class SyncXrayCucumberAction extends AnAction {
 
-    JsonArray jiraUploadResponse;
-    Map<String, List<String>> cucumberFeatureIssueMap;
-    Map<String, String> jiraXrayIssueMap;
-    JiraServiceParameters jiraServiceParameters;
-    Project project;
-
     @Override
     public @NotNull ActionUpdateThread getActionUpdateThread() {
         return super.getActionUpdateThread();
@@ -60,7 +68,7 @@ public class SyncXrayCucumberAction extends AnAction {
     @Override
     public void actionPerformed(@NotNull final AnActionEvent event) {
         FileDocumentManager.getInstance().saveAllDocuments();
-        project = event.getProject();
+        Project project = event.getProject();
 
         NotificationUtils notificationUtils = new NotificationUtils(project);
         GherkinFileParser gherkinFileParser = new GherkinFileParser();
@@ -69,31 +77,70 @@ public class SyncXrayCucumberAction extends AnAction {
         VirtualFile featureFile = event.getData(CommonDataKeys.VIRTUAL_FILE);
 
         try {
-            ProgressManager.getInstance().run(new Task.Backgroundable(project, "Upload feature to Xray") {
+            ProgressManager.getInstance().run(new Task.Backgroundable(project, "Upload feature to Xray", true) {
 
                 boolean success = false;
+                JiraServiceParameters jiraServiceParameters;
+                FeatureSnapshot featureSnapshot;
+                FeatureSyncPlanner featureSyncPlanner;
+                FeatureSyncPlan featureSyncPlan;
+                Map<String, String> jiraXrayIssueMap;
 
                 public void run(@NotNull ProgressIndicator progressIndicator) {
                     Objects.requireNonNull(featureFile, "The feature file cannot be null");
                     try {
-                        if (synchroStartUserNotification()) {
+                        SynchroStartPopup popup = showSynchroStartPopup(project);
+                        if (!popup.isCanceled()) {
+                            progressIndicator.setIndeterminate(false);
                             ServiceParametersUtils serviceParametersUtils = new ServiceParametersUtils(project);
                             jiraServiceParameters = serviceParametersUtils.getServiceParameters();
+
+                            startStage(progressIndicator, "Parsing feature file", 0.0);
+                            long parseStart = System.nanoTime();
+                            featureSnapshot = FeatureSnapshot.read(featureFile, gherkinFileParser);
+                            JiraMetrics.getInstance().recordSince(JiraMetrics.SYNC_PARSE, parseStart);
+                            FeatureModel featureModel = featureSnapshot.featureModel();
+                            featureSyncPlanner = new FeatureSyncPlanner(XraySyncIndexState.getInstance(project), jiraServiceParameters.getUrl().toString(),
+                                    jiraServiceParameters.getProjectKey(), popup.isForceUpload(), jiraServiceParameters.isDeltaUpload());
+                            featureSyncPlan = featureSyncPlanner.plan(featureFile.getPath(), featureModel);
+                            if (featureSyncPlan.getMode() == FeatureSyncPlan.Mode.SKIP) {
+                                notificationUtils.notifyInfo("This feature file is unchanged since its last synchronization with Xray");
+                                success = false;
+                                return;
+                            }
+
                             JiraService jiraService = serviceParametersUtils.getJiraService(jiraServiceParameters);
+                            startStage(progressIndicator, "Uploading feature to Xray", 0.1);
+                            String uploadedContent = featureSyncPlan.getMode() == FeatureSyncPlan.Mode.DELTA ? featureSyncPlan.getDeltaContent() : featureModel.getContent();
+                            List<JiraIssue> importedJiraIssues = CancellableJiraCall.run(progressIndicator, jiraService, () -> jiraService.importFeatureToXray(featureFile.getName(), uploadedContent));
+
+                            startStage(progressIndicator, "Reading the summaries of " + importedJiraIssues.size() + " Xray tests", 0.5);
+                            List<JiraIssue> jiraUploadResponse = CancellableJiraCall.run(progressIndicator, jiraService, () -> jiraService.addSummaryToJiraIssueList(importedJiraIssues));
 
-                            setJiraUploadResponse(jiraService.uploadFeatureToXray(featureFile));
-                            setJiraXrayIssueMap(jiraXrayIssueMapper.map(getJiraUploadResponse()));
-                            setCucumberFeatureIssueMap(gherkinFileParser.getScenariosAndTags(featureFile.getPath()));
+                            startStage(progressIndicator, "Mapping scenarios to Xray tests", 0.9);
+                            jiraXrayIssueMap = jiraXrayIssueMapper.map(jiraUploadResponse);
+                            progressIndicator.setFraction(1.0);
                             success = true;
                         } else {
+                            notificationUtils.notifyInfo("User cancellation");
                             success = false;
                         }
-                    } catch (URISyntaxException | IOException | AuthenticationException | org.apache.http.auth.AuthenticationException e) {
+                    } catch (URISyntaxException | IOException | AuthenticationException | org.apache.http.auth.AuthenticationException | HttpStatusException | JiraException | GherkinParseException e) {
                         success = false;
-                        notificationUtils.notifyError(String.valueOf(e));
+                        // Xray may have imported part of the file, it is uploaded whole next time
+                        XraySyncIndexState.getInstance(project).forget(featureFile.getPath());
+                        // requests aborted by a cancellation fail too, onCancel reports it
+                        if (!progressIndicator.isCanceled()) {
+                            notificationUtils.notifyError(String.valueOf(e));
+                        }
                     }
                 }
 
+                @Override
+                public void onCancel() {
+                    notificationUtils.notifyInfo("Action was cancelled by the user, the feature file was not updated");
+                }
+
                 @Override
                 public void onSuccess() {
                     if (success) {
@@ -104,12 +151,21 @@ public class SyncXrayCucumberAction extends AnAction {
                                 gherkinFileUpdater.saveBeforeUpdate(featureFile);
                             }
 
-                            ApplicationManager.getApplication().runWriteAction(() -> {
+                            WriteCommandAction.runWriteCommandAction(project, "Add Xray Tags", null, () -> {
                                 Document document = FileDocumentManager.getInstance().getDocument(featureFile);
-                                Document documentUpdated = gherkinFileUpdater.addXrayIssueIdTagsOnScenario(document, getJiraXrayIssueMap(), getCucumberFeatureIssueMap());
-
-                                FileDocumentManager.getInstance().saveDocument(documentUpdated);
-                                reformatCode(event, documentUpdated);
+                                FeatureModel featureModel = featureSnapshot.currentModel(document, gherkinFileParser);
+                                long tagUpdateStart = System.nanoTime();
+                                List<TextRange> tagRanges = gherkinFileUpdater.addXrayIssueIdTagsOnScenario(document, jiraXrayIssueMap, featureModel);
+                                JiraMetrics.getInstance().recordSince(JiraMetrics.SYNC_TAG_UPDATE, tagUpdateStart);
+
+                                if (jiraServiceParameters.isReformatAfterSync()) {
+                                    long reformatStart = System.nanoTime();
+                                    gherkinFileUpdater.reformatTags(project, document, tagRanges);
+                                    JiraMetrics.getInstance().recordSince(JiraMetrics.SYNC_REFORMAT, reformatStart);
+                                }
+                                FileDocumentManager.getInstance().saveDocument(document);
+                                featureSyncPlanner.recordSync(featureFile.getPath(), jiraXrayIssueMap.values(), featureSyncPlan,
+                                        featureModel.getFingerprintWithXrayTags(jiraXrayIssueMap));
                             });
 
                             notificationUtils.notifySuccess("This feature file is now synchronized with Xray");
@@ -126,49 +182,18 @@ public class SyncXrayCucumberAction extends AnAction {
         }
     }
 
-    private boolean synchroStartUserNotification() {
-        final AtomicBoolean success = new AtomicBoolean(false);
-        NotificationUtils notificationUtils = new NotificationUtils(this.project);
+    private SynchroStartPopup showSynchroStartPopup(Project project) {
+        final AtomicReference<SynchroStartPopup> popup = new AtomicReference<>();
         ApplicationManager.getApplication().invokeAndWait(() -> {
-            SynchroStartPopup popup = new SynchroStartPopup(this.project);
-            popup.showAndGet();
-            if (popup.isCanceled()) {
-                notificationUtils.notifyInfo("User cancellation");
-                success.set(false);
-            } else
-                success.set(true);
+            popup.set(new SynchroStartPopup(project));
+            popup.get().showAndGet();
         });
-        return success.get();
-    }
-
-    private Map<String, List<String>> getCucumberFeatureIssueMap() {
-        return cucumberFeatureIssueMap;
-    }
-
-    private void setCucumberFeatureIssueMap(final Map<String, List<String>> cucumberFeatureIssueMap) {
-        this.cucumberFeatureIssueMap = cucumberFeatureIssueMap;
-    }
-
-    private JsonArray getJiraUploadResponse() {
-        return jiraUploadResponse;
-    }
-
-    private void setJiraUploadResponse(final JsonArray jiraUploadResponse) {
-        this.jiraUploadResponse = jiraUploadResponse;
-    }
-
-    private Map<String, String> getJiraXrayIssueMap() {
-        return jiraXrayIssueMap;
-    }
-
-    private void setJiraXrayIssueMap(final Map<String, String> jiraXrayIssueMap) {
-        this.jiraXrayIssueMap = jiraXrayIssueMap;
+        return popup.get();
     }
 
-    private void reformatCode(final @NotNull AnActionEvent event, final Document document) {
-        PsiFile psiFile = event.getData(CommonDataKeys.PSI_FILE);
-        assert psiFile != null;
-        new ReformatCodeProcessor(psiFile, false).run();
-        PsiDocumentManager.getInstance(event.getProject()).commitDocument(document);
+    private void startStage(ProgressIndicator progressIndicator, String text, double fraction) {
+        progressIndicator.checkCanceled();
+        progressIndicator.setText(text);
+        progressIndicator.setFraction(fraction);
     }
-}
\ No newline at end of file
+}
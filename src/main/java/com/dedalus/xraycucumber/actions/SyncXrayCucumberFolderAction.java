@@ -0,0 +1,325 @@
+package com.dedalus.xraycucumber.actions;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.dedalus.xraycucumber.exceptions.GherkinParseException;
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.gherkin.GherkinFileUpdater;
+import com.dedalus.xraycucumber.mapper.JiraXrayIssueMapper;
+import com.dedalus.xraycucumber.service.JiraService;
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
+import com.dedalus.xraycucumber.serviceparameters.ServiceParametersUtils;
+import com.dedalus.xraycucumber.settings.XraySyncIndexState;
+import com.dedalus.xraycucumber.sync.FeatureSnapshot;
+import com.dedalus.xraycucumber.sync.FeatureSyncPlan;
+import com.dedalus.xraycucumber.sync.FeatureSyncPlanner;
+import com.dedalus.xraycucumber.ui.NotificationUtils;
+import com.dedalus.xraycucumber.ui.SynchroStartPopup;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileFilter;
+
+/**
+ * Uploads every feature file found in the directories and files selected in the Project view.
+ * Files are uploaded concurrently in the background and all tags are written in a single command at the end.
+ */
+public class SyncXrayCucumberFolderAction extends AnAction {
+
+    private static final String FEATURE_EXTENSION = "feature";
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent event) {
+        VirtualFile[] selectedFiles = event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        boolean visible = event.getProject() != null && selectedFiles != null && isBulkSelection(selectedFiles);
+        event.getPresentation().setEnabledAndVisible(visible);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull final AnActionEvent event) {
+        Project project = event.getProject();
+        VirtualFile[] selectedFiles = event.getData(CommonDataKeys.VIRTUAL_FILE_ARRAY);
+        if (project == null || selectedFiles == null) {
+            return;
+        }
+
+        FileDocumentManager.getInstance().saveAllDocuments();
+        NotificationUtils notificationUtils = new NotificationUtils(project);
+
+        ProgressManager.getInstance().run(new Task.Backgroundable(project, "Upload feature files to Xray", true) {
+
+            final List<FeatureSyncResult> results = Collections.synchronizedList(new ArrayList<>());
+            final List<String> failures = Collections.synchronizedList(new ArrayList<>());
+            JiraServiceParameters jiraServiceParameters;
+            FeatureSyncPlanner featureSyncPlanner;
+            int unchangedFileCount;
+
+            @Override
+            public void run(@NotNull ProgressIndicator progressIndicator) {
+                progressIndicator.setText("Looking for feature files");
+                List<VirtualFile> featureFiles = ReadAction.compute(() -> collectFeatureFiles(project, selectedFiles));
+
+                if (featureFiles.isEmpty()) {
+                    notificationUtils.notifyInfo("No feature file found in the selection");
+                    return;
+                }
+                SynchroStartPopup popup = showSynchroStartPopup(project, featureFiles.size());
+                if (popup.isCanceled()) {
+                    notificationUtils.notifyInfo("User cancellation");
+                    return;
+                }
+
+                try {
+                    ServiceParametersUtils serviceParametersUtils = new ServiceParametersUtils(project);
+                    jiraServiceParameters = serviceParametersUtils.getServiceParameters();
+                    featureSyncPlanner = new FeatureSyncPlanner(XraySyncIndexState.getInstance(project), jiraServiceParameters.getUrl().toString(),
+                            jiraServiceParameters.getProjectKey(), popup.isForceUpload(), jiraServiceParameters.isDeltaUpload());
+
+                    Map<VirtualFile, PlannedFeature> featureSyncPlans = planFeatureFiles(featureFiles);
+                    if (featureSyncPlans.isEmpty()) {
+                        return;
+                    }
+
+                    JiraService jiraService = serviceParametersUtils.getJiraService(jiraServiceParameters);
+                    uploadFeatureFiles(featureSyncPlans, jiraService, progressIndicator);
+                } catch (IOException e) {
+                    notificationUtils.notifyError(String.valueOf(e));
+                }
+            }
+
+            /**
+             * Parses the document text of every feature file once and plans its upload.
+             *
+             * @return the parsed feature and the plan of every feature file that has to be uploaded; unchanged files are only counted.
+             */
+            private Map<VirtualFile, PlannedFeature> planFeatureFiles(List<VirtualFile> featureFiles) throws IOException {
+                GherkinFileParser gherkinFileParser = new GherkinFileParser();
+                Map<VirtualFile, PlannedFeature> featureSyncPlans = new LinkedHashMap<>();
+                for (VirtualFile featureFile : featureFiles) {
+                    try {
+                        long parseStart = System.nanoTime();
+                        FeatureSnapshot featureSnapshot = FeatureSnapshot.read(featureFile, gherkinFileParser);
+                        JiraMetrics.getInstance().recordSince(JiraMetrics.SYNC_PARSE, parseStart);
+                        FeatureSyncPlan featureSyncPlan = featureSyncPlanner.plan(featureFile.getPath(), featureSnapshot.featureModel());
+                        if (featureSyncPlan.getMode() == FeatureSyncPlan.Mode.SKIP) {
+                            unchangedFileCount++;
+                        } else {
+                            featureSyncPlans.put(featureFile, new PlannedFeature(featureSnapshot, featureSyncPlan));
+                        }
+                    } catch (GherkinParseException e) {
+                        failures.add(featureFile.getName() + ": " + e.getMessage());
+                    }
+                }
+                return featureSyncPlans;
+            }
+
+            private void uploadFeatureFiles(Map<VirtualFile, PlannedFeature> featureSyncPlans, JiraService jiraService, ProgressIndicator progressIndicator) {
+                List<VirtualFile> featureFiles = new ArrayList<>(featureSyncPlans.keySet());
+                JiraXrayIssueMapper jiraXrayIssueMapper = new JiraXrayIssueMapper();
+
+                int parallelism = Math.max(1, Math.min(jiraServiceParameters.getMaxConcurrentRequests(), featureFiles.size()));
+                ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+                CompletionService<FeatureSyncResult> completionService = new ExecutorCompletionService<>(executor);
+                Map<Future<FeatureSyncResult>, VirtualFile> futures = new HashMap<>();
+
+                try {
+                    for (VirtualFile featureFile : featureFiles) {
+                        PlannedFeature plannedFeature = featureSyncPlans.get(featureFile);
+                        futures.put(completionService.submit(() -> {
+                            FeatureSyncPlan featureSyncPlan = plannedFeature.featureSyncPlan();
+                            String uploadedContent = featureSyncPlan.getMode() == FeatureSyncPlan.Mode.DELTA
+                                    ? featureSyncPlan.getDeltaContent()
+                                    : plannedFeature.featureSnapshot().featureModel().getContent();
+                            Map<String, String> jiraXrayIssueMap = jiraXrayIssueMapper.map(jiraService.uploadFeatureToXray(featureFile.getName(), uploadedContent));
+                            return new FeatureSyncResult(featureFile, plannedFeature, jiraXrayIssueMap);
+                        }), featureFile);
+                    }
+
+                    progressIndicator.setIndeterminate(false);
+                    for (int done = 0; done < featureFiles.size(); done++) {
+                        Future<FeatureSyncResult> future = pollCompleted(completionService, progressIndicator);
+                        try {
+                            results.add(future.get());
+                        } catch (ExecutionException e) {
+                            VirtualFile featureFile = futures.get(future);
+                            // Xray may have imported part of the file, it is uploaded whole next time
+                            featureSyncPlanner.forget(featureFile.getPath());
+                            failures.add(featureFile.getName() + ": " + String.valueOf(e.getCause()));
+                        }
+                        progressIndicator.setFraction((double) (done + 1) / featureFiles.size());
+                        progressIndicator.setText((done + 1) + " / " + featureFiles.size() + " feature files uploaded");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    if (progressIndicator.isCanceled()) {
+                        // interrupting the workers does not unblock a socket read
+                        jiraService.abortRequests();
+                    }
+                    futures.keySet().forEach(future -> future.cancel(true));
+                    executor.shutdownNow();
+                }
+            }
+
+            private Future<FeatureSyncResult> pollCompleted(CompletionService<FeatureSyncResult> completionService, ProgressIndicator progressIndicator) throws InterruptedException {
+                Future<FeatureSyncResult> future;
+                do {
+                    progressIndicator.checkCanceled();
+                    future = completionService.poll(100, TimeUnit.MILLISECONDS);
+                } while (future == null);
+                return future;
+            }
+
+            @Override
+            public void onSuccess() {
+                if (results.isEmpty() && failures.isEmpty()) {
+                    if (unchangedFileCount > 0) {
+                        notificationUtils.notifyInfo("The " + unchangedFileCount + " feature files are unchanged since their last synchronization with Xray");
+                    }
+                    return;
+                }
+
+                GherkinFileUpdater gherkinFileUpdater = new GherkinFileUpdater();
+                if (jiraServiceParameters.isSaveFeatureBeforeUpdate()) {
+                    for (FeatureSyncResult result : results) {
+                        try {
+                            gherkinFileUpdater.saveBeforeUpdate(result.featureFile());
+                        } catch (IOException e) {
+                            failures.add(String.valueOf(e));
+                        }
+                    }
+                }
+
+                GherkinFileParser gherkinFileParser = new GherkinFileParser();
+                WriteCommandAction.runWriteCommandAction(project, "Add Xray Tags", null, () -> {
+                    FileDocumentManager fileDocumentManager = FileDocumentManager.getInstance();
+
+                    for (FeatureSyncResult result : results) {
+                        Document document = fileDocumentManager.getDocument(result.featureFile());
+                        if (document == null) {
+                            failures.add("Can't open " + result.featureFile().getPath());
+                            continue;
+                        }
+                        FeatureModel featureModel;
+                        try {
+                            featureModel = result.plannedFeature().featureSnapshot().currentModel(document, gherkinFileParser);
+                        } catch (GherkinParseException e) {
+                            failures.add(result.featureFile().getName() + ": " + e.getMessage());
+                            continue;
+                        }
+                        long tagUpdateStart = System.nanoTime();
+                        List<TextRange> tagRanges = gherkinFileUpdater.addXrayIssueIdTagsOnScenario(document, result.jiraXrayIssueMap(), featureModel);
+                        JiraMetrics.getInstance().recordSince(JiraMetrics.SYNC_TAG_UPDATE, tagUpdateStart);
+
+                        if (jiraServiceParameters.isReformatAfterSync()) {
+                            long reformatStart = System.nanoTime();
+                            gherkinFileUpdater.reformatTags(project, document, tagRanges);
+                            JiraMetrics.getInstance().recordSince(JiraMetrics.SYNC_REFORMAT, reformatStart);
+                        }
+                        fileDocumentManager.saveDocument(document);
+                        featureSyncPlanner.recordSync(result.featureFile().getPath(), result.jiraXrayIssueMap().values(),
+                                result.plannedFeature().featureSyncPlan(), featureModel.getFingerprintWithXrayTags(result.jiraXrayIssueMap()));
+                    }
+                });
+
+                String unchangedFiles = unchangedFileCount > 0 ? ", " + unchangedFileCount + " unchanged files skipped" : "";
+                if (failures.isEmpty()) {
+                    notificationUtils.notifySuccess(results.size() + " feature files are now synchronized with Xray" + unchangedFiles);
+                } else {
+                    notificationUtils.notifyError(results.size() + " feature files synchronized with Xray" + unchangedFiles + ", " + failures.size() + " failed: " + String.join("; ", failures));
+                }
+            }
+
+            @Override
+            public void onCancel() {
+                notificationUtils.notifyInfo("Action was cancelled by the user, no feature file was updated");
+            }
+        });
+    }
+
+    private boolean isBulkSelection(VirtualFile[] selectedFiles) {
+        int featureFileCount = 0;
+        for (VirtualFile selectedFile : selectedFiles) {
+            if (selectedFile.isDirectory()) {
+                return true;
+            }
+            if (FEATURE_EXTENSION.equals(selectedFile.getExtension())) {
+                featureFileCount++;
+            }
+        }
+        return featureFileCount > 1;
+    }
+
+    /**
+     * Finds the feature files of the selection. Excluded directories and the files outside the project content, such
+     * as build outputs holding copies of the feature files, are not walked.
+     */
+    static List<VirtualFile> collectFeatureFiles(Project project, VirtualFile[] selectedFiles) {
+        ProjectFileIndex projectFileIndex = ProjectFileIndex.getInstance(project);
+        VirtualFileFilter projectContentFilter = file -> projectFileIndex.isInContent(file) && !projectFileIndex.isExcluded(file);
+        Set<VirtualFile> featureFiles = new LinkedHashSet<>();
+        for (VirtualFile selectedFile : selectedFiles) {
+            VfsUtilCore.iterateChildrenRecursively(selectedFile, projectContentFilter, file -> {
+                if (!file.isDirectory() && FEATURE_EXTENSION.equals(file.getExtension())) {
+                    featureFiles.add(file);
+                }
+                return true;
+            });
+        }
+        return new ArrayList<>(featureFiles);
+    }
+
+    private SynchroStartPopup showSynchroStartPopup(Project project, int featureFileCount) {
+        final AtomicReference<SynchroStartPopup> popup = new AtomicReference<>();
+        ApplicationManager.getApplication().invokeAndWait(() -> {
+            popup.set(new SynchroStartPopup(project, featureFileCount));
+            popup.get().showAndGet();
+        });
+        return popup.get();
+    }
+
+    private record PlannedFeature(FeatureSnapshot featureSnapshot, FeatureSyncPlan featureSyncPlan) {
+    }
+
+    private record FeatureSyncResult(VirtualFile featureFile, PlannedFeature plannedFeature, Map<String, String> jiraXrayIssueMap) {
+    }
+}
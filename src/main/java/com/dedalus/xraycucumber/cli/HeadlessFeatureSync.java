@@ -0,0 +1,183 @@
+package com.dedalus.xraycucumber.cli;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.gherkin.XrayIssueTagInserter;
+import com.dedalus.xraycucumber.mapper.JiraXrayIssueMapper;
+import com.dedalus.xraycucumber.service.JiraService;
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+
+/**
+ * Synchronizes feature files on disk with Xray, without the IDE: every feature file is parsed, uploaded, its
+ * scenarios are mapped to their Xray tests and the missing tags are written back to the file.
+ * <p>
+ * It runs on a plain JVM: the {@link JiraService} is built with its own HTTP client, caches and metrics, never with
+ * the application services of the IDE, and the command line is tested on the cliJar classpath, without the IntelliJ
+ * jars. Files are synchronized concurrently and only the files in progress are held in memory. A file is replaced atomically once tagged, and left as it was when it fails.
+ */
+public class HeadlessFeatureSync {
+
+    private static final String FEATURE_EXTENSION = ".feature";
+
+    private final JiraService jiraService;
+    private final JiraMetrics metrics;
+    private final int parallelism;
+    private final GherkinFileParser gherkinFileParser = new GherkinFileParser();
+    private final JiraXrayIssueMapper jiraXrayIssueMapper = new JiraXrayIssueMapper();
+    private final XrayIssueTagInserter xrayIssueTagInserter = new XrayIssueTagInserter();
+
+    /**
+     * @param parallelism the number of feature files synchronized at the same time; the requests to Jira are limited
+     *                    by the {@link com.dedalus.xraycucumber.service.http.HttpService} of the service.
+     */
+    public HeadlessFeatureSync(JiraService jiraService, JiraMetrics metrics, int parallelism) {
+        this.jiraService = jiraService;
+        this.metrics = metrics;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Finds the feature files among the given files and below the given directories.
+     *
+     * @return the feature files, each one once, sorted by path below each root.
+     */
+    public static List<Path> collectFeatureFiles(List<Path> roots) throws IOException {
+        Set<Path> featureFiles = new LinkedHashSet<>();
+        for (Path root : roots) {
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.filter(path -> Files.isRegularFile(path) && path.getFileName().toString().endsWith(FEATURE_EXTENSION))
+                        .map(path -> path.toAbsolutePath().normalize())
+                        .sorted()
+                        .forEach(featureFiles::add);
+            }
+        }
+        return new ArrayList<>(featureFiles);
+    }
+
+    /**
+     * Synchronizes the feature files and waits for all of them. A file that fails doesn't stop the others.
+     */
+    public Report sync(List<Path> featureFiles) throws InterruptedException {
+        List<FeatureSyncResult> results = new ArrayList<>();
+        Map<Path, String> failures = new TreeMap<>();
+        if (featureFiles.isEmpty()) {
+            return new Report(results, failures);
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, featureFiles.size()));
+        CompletionService<FeatureSyncResult> completionService = new ExecutorCompletionService<>(executor);
+        Map<Future<FeatureSyncResult>, Path> futures = new HashMap<>();
+        try {
+            for (Path featureFile : featureFiles) {
+                futures.put(completionService.submit(() -> syncFeatureFile(featureFile)), featureFile);
+            }
+            for (int done = 0; done < featureFiles.size(); done++) {
+                Future<FeatureSyncResult> future = completionService.take();
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    failures.put(futures.get(future), String.valueOf(e.getCause()));
+                }
+            }
+        } finally {
+            if (results.size() + failures.size() < featureFiles.size()) {
+                // interrupting the workers does not unblock a socket read
+                jiraService.abortRequests();
+            }
+            futures.keySet().forEach(future -> future.cancel(true));
+            executor.shutdownNow();
+        }
+        return new Report(results, failures);
+    }
+
+    private FeatureSyncResult syncFeatureFile(Path featureFile) throws Exception {
+        long parseStart = System.nanoTime();
+        String featureContent = Files.readString(featureFile, StandardCharsets.UTF_8);
+        FeatureModel featureModel = gherkinFileParser.parseFeature(featureFile.toString(), featureContent);
+        metrics.recordSince(JiraMetrics.SYNC_PARSE, parseStart);
+
+        Map<String, String> jiraXrayIssueMap = jiraXrayIssueMapper.map(jiraService.uploadFeatureToXray(featureFile.getFileName().toString(), featureContent));
+
+        long tagUpdateStart = System.nanoTime();
+        List<XrayIssueTagInserter.TagInsertion> insertions = withLineSeparatorOf(featureContent, xrayIssueTagInserter.planInsertions(jiraXrayIssueMap, featureModel));
+        if (!insertions.isEmpty()) {
+            writeAtomically(featureFile, xrayIssueTagInserter.apply(featureContent, insertions));
+        }
+        metrics.recordSince(JiraMetrics.SYNC_TAG_UPDATE, tagUpdateStart);
+        return new FeatureSyncResult(featureFile, jiraXrayIssueMap.size(), insertions.size());
+    }
+
+    /**
+     * Tag lines are planned with {@code \n}, as in an editor document; a file with Windows line breaks keeps them.
+     */
+    private List<XrayIssueTagInserter.TagInsertion> withLineSeparatorOf(String featureContent, List<XrayIssueTagInserter.TagInsertion> insertions) {
+        if (!featureContent.contains("\r\n")) {
+            return insertions;
+        }
+        return insertions.stream().map(insertion -> new XrayIssueTagInserter.TagInsertion(insertion.offset(), insertion.text().replace("\n", "\r\n"))).toList();
+    }
+
+    private void writeAtomically(Path featureFile, String taggedContent) throws IOException {
+        Path temporaryFile = Files.createTempFile(featureFile.getParent(), featureFile.getFileName().toString(), ".tmp");
+        try {
+            Files.writeString(temporaryFile, taggedContent, StandardCharsets.UTF_8);
+            // a temporary file is only readable by its owner, the tagged file keeps the permissions of the original
+            if (Files.getFileStore(featureFile).supportsFileAttributeView(PosixFileAttributeView.class)) {
+                Files.setPosixFilePermissions(temporaryFile, Files.getPosixFilePermissions(featureFile));
+            }
+            try {
+                Files.move(temporaryFile, featureFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporaryFile, featureFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporaryFile);
+        }
+    }
+
+    /**
+     * @param scenarioCount the number of scenarios mapped to an Xray test.
+     * @param addedTagCount the number of tags written to the file.
+     */
+    public record FeatureSyncResult(Path featureFile, int scenarioCount, int addedTagCount) {
+    }
+
+    /**
+     * @param results  the feature files synchronized, in the order they completed.
+     * @param failures the reason of each feature file that could not be synchronized.
+     */
+    public record Report(List<FeatureSyncResult> results, Map<Path, String> failures) {
+
+        public Report {
+            results = Collections.unmodifiableList(results);
+            failures = Collections.unmodifiableMap(failures);
+        }
+
+        public int getAddedTagCount() {
+            return results.stream().mapToInt(FeatureSyncResult::addedTagCount).sum();
+        }
+    }
+}
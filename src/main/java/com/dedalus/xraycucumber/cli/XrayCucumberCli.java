@@ -0,0 +1,256 @@
+package com.dedalus.xraycucumber.cli;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import com.dedalus.xraycucumber.service.JiraService;
+import com.dedalus.xraycucumber.service.cache.JiraIssueCache;
+import com.dedalus.xraycucumber.service.cache.JiraTransitionCache;
+import com.dedalus.xraycucumber.service.http.AdaptiveConcurrencyLimiter;
+import com.dedalus.xraycucumber.service.http.HttpService;
+import com.dedalus.xraycucumber.service.http.JiraHttpClientFactory;
+import com.dedalus.xraycucumber.service.http.RetryPolicy;
+import com.dedalus.xraycucumber.service.http.TokenBucketRateLimiter;
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
+
+/**
+ * Command line entry point synchronizing the feature files of directory trees with Xray, for CI pipelines.
+ * It runs on a plain JVM, without the IDE, and authenticates with a Jira personal access token.
+ *
+ * @see HeadlessFeatureSync
+ */
+public class XrayCucumberCli {
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILURES = 1;
+    public static final int EXIT_USAGE = 2;
+
+    static final String ENV_URL = "XRAY_JIRA_URL";
+    static final String ENV_PROJECT_KEY = "XRAY_PROJECT_KEY";
+    static final String ENV_TOKEN = "XRAY_JIRA_TOKEN";
+
+    private static final int DEFAULT_PARALLEL_FEATURES = 4;
+    private static final String USAGE = """
+            Usage: xray-cucumber-sync [options] <feature file or directory>...
+            Uploads the feature files to Xray and tags their scenarios with the keys of their Xray tests.
+            The Jira personal access token is read from the %s environment variable, or from --token-file.
+
+            Options:
+              --url <url>                      Jira url, or the %s environment variable
+              --project <key>                  Xray test project key, or the %s environment variable
+              --token-file <file>              file holding the personal access token
+              --parallel <n>                   feature files synchronized at the same time (default %d)
+              --max-concurrent-requests <n>    Jira requests in flight at most (default %d)
+              --max-requests-per-second <n>    Jira requests per second at most, 0 for no limit (default %d)
+              --retries <n>                    retries of a throttled or unavailable request (default %d)
+              --metrics <file>                 writes the Jira and synchronization metrics as JSON
+              --help                           prints this help
+            """.formatted(ENV_TOKEN, ENV_URL, ENV_PROJECT_KEY, DEFAULT_PARALLEL_FEATURES, JiraServiceParameters.DEFAULT_MAX_CONCURRENT_REQUESTS,
+            TokenBucketRateLimiter.DEFAULT_PERMITS_PER_SECOND, RetryPolicy.DEFAULT_MAX_RETRIES);
+
+    private final PrintStream out;
+    private final PrintStream err;
+    private final Map<String, String> environment;
+
+    public XrayCucumberCli(PrintStream out, PrintStream err, Map<String, String> environment) {
+        this.out = out;
+        this.err = err;
+        this.environment = environment;
+    }
+
+    public static void main(String[] args) {
+        System.exit(new XrayCucumberCli(System.out, System.err, System.getenv()).run(args));
+    }
+
+    /**
+     * @return {@link #EXIT_OK} when every feature file is synchronized, {@link #EXIT_FAILURES} when some could not
+     * be, {@link #EXIT_USAGE} when the arguments are not valid.
+     */
+    public int run(String[] args) {
+        Options options;
+        try {
+            options = parse(args);
+        } catch (IllegalArgumentException | IOException e) {
+            err.println(e.getMessage());
+            err.print(USAGE);
+            return EXIT_USAGE;
+        }
+        if (options == null) {
+            out.print(USAGE);
+            return EXIT_OK;
+        }
+
+        try {
+            List<Path> featureFiles = HeadlessFeatureSync.collectFeatureFiles(options.roots());
+            if (featureFiles.isEmpty()) {
+                out.println("No feature file found");
+                return EXIT_OK;
+            }
+            return sync(options, featureFiles);
+        } catch (IOException e) {
+            err.println(String.valueOf(e));
+            return EXIT_FAILURES;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            err.println("Interrupted");
+            return EXIT_FAILURES;
+        }
+    }
+
+    private int sync(Options options, List<Path> featureFiles) throws IOException, InterruptedException {
+        JiraMetrics metrics = new JiraMetrics();
+        ExecutorService requestExecutor = Executors.newFixedThreadPool(options.maxConcurrentRequests(), runnable -> {
+            Thread thread = new Thread(runnable, "xray-jira-request");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try (CloseableHttpClient httpClient = JiraHttpClientFactory.createHttpClient(options.maxConcurrentRequests(), JiraHttpClientFactory.DEFAULT_IDLE_CONNECTION_TIMEOUT)) {
+            JiraServiceParameters jiraServiceParameters = new JiraServiceParameters.Builder()
+                    .url(options.url())
+                    .projectKey(options.projectKey())
+                    .bearerToken(options.token())
+                    .tokenAuthenticationEnabled(true)
+                    .maxConcurrentRequests(options.maxConcurrentRequests())
+                    .build();
+            HttpService httpService = new HttpService(httpClient, new RetryPolicy(options.retries()), new TokenBucketRateLimiter(options.maxRequestsPerSecond()),
+                    new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimiter.DEFAULT_INITIAL_LIMIT, options.maxConcurrentRequests()), requestExecutor, metrics);
+            JiraService jiraService = new JiraService(jiraServiceParameters, httpService, new JiraIssueCache(), new JiraTransitionCache(), metrics);
+
+            long start = System.nanoTime();
+            HeadlessFeatureSync.Report report = new HeadlessFeatureSync(jiraService, metrics, options.parallelFeatures()).sync(featureFiles);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            for (HeadlessFeatureSync.FeatureSyncResult result : report.results()) {
+                if (result.addedTagCount() > 0) {
+                    out.println("Tagged " + result.featureFile() + ": " + result.addedTagCount() + " tags added");
+                }
+            }
+            report.failures().forEach((featureFile, failure) -> err.println("Failed " + featureFile + ": " + failure));
+            out.println(report.results().size() + " feature files synchronized with Xray, " + report.getAddedTagCount() + " tags added, "
+                    + report.failures().size() + " failed, in " + elapsedMillis + " ms");
+
+            if (options.metricsFile() != null) {
+                try (Writer writer = Files.newBufferedWriter(options.metricsFile(), StandardCharsets.UTF_8)) {
+                    metrics.writeJson(writer);
+                }
+            }
+            return report.failures().isEmpty() ? EXIT_OK : EXIT_FAILURES;
+        } finally {
+            requestExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return the options, or null when the help is asked for.
+     */
+    private Options parse(String[] args) throws IOException {
+        String url = environment.get(ENV_URL);
+        String projectKey = environment.get(ENV_PROJECT_KEY);
+        String token = environment.get(ENV_TOKEN);
+        int parallelFeatures = DEFAULT_PARALLEL_FEATURES;
+        int maxConcurrentRequests = JiraServiceParameters.DEFAULT_MAX_CONCURRENT_REQUESTS;
+        int maxRequestsPerSecond = TokenBucketRateLimiter.DEFAULT_PERMITS_PER_SECOND;
+        int retries = RetryPolicy.DEFAULT_MAX_RETRIES;
+        Path metricsFile = null;
+        List<Path> roots = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--help", "-h" -> {
+                    return null;
+                }
+                case "--url" -> url = value(args, ++i, arg);
+                case "--project" -> projectKey = value(args, ++i, arg);
+                case "--token-file" -> token = Files.readString(Path.of(value(args, ++i, arg)), StandardCharsets.UTF_8).trim();
+                case "--parallel" -> parallelFeatures = positiveInt(args, ++i, arg);
+                case "--max-concurrent-requests" -> maxConcurrentRequests = positiveInt(args, ++i, arg);
+                case "--max-requests-per-second" -> maxRequestsPerSecond = nonNegativeInt(args, ++i, arg);
+                case "--retries" -> retries = nonNegativeInt(args, ++i, arg);
+                case "--metrics" -> metricsFile = Path.of(value(args, ++i, arg));
+                default -> {
+                    if (arg.startsWith("--")) {
+                        throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                    Path root = Path.of(arg);
+                    if (!Files.exists(root)) {
+                        throw new IllegalArgumentException("No such file or directory: " + arg);
+                    }
+                    roots.add(root);
+                }
+            }
+        }
+
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("The Jira url is required");
+        }
+        if (projectKey == null || projectKey.isBlank()) {
+            throw new IllegalArgumentException("The Xray test project key is required");
+        }
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("The Jira personal access token is required");
+        }
+        if (roots.isEmpty()) {
+            throw new IllegalArgumentException("No feature file or directory given");
+        }
+        return new Options(jiraUrl(url), projectKey.trim(), token.trim(), parallelFeatures, maxConcurrentRequests, maxRequestsPerSecond, retries, metricsFile, roots);
+    }
+
+    private static URL jiraUrl(String url) {
+        // the request builders append the REST paths to the url
+        String jiraUrl = url.trim().replaceAll("/+$", "");
+        try {
+            return new URL(jiraUrl);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid Jira url: " + url);
+        }
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value of " + option);
+        }
+        return args[index];
+    }
+
+    private static int positiveInt(String[] args, int index, String option) {
+        int value = nonNegativeInt(args, index, option);
+        if (value == 0) {
+            throw new IllegalArgumentException(option + " must be greater than 0");
+        }
+        return value;
+    }
+
+    private static int nonNegativeInt(String[] args, int index, String option) {
+        String value = value(args, index, option);
+        try {
+            int intValue = Integer.parseInt(value);
+            if (intValue < 0) {
+                throw new IllegalArgumentException(option + " can't be negative");
+            }
+            return intValue;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value of " + option + ": " + value);
+        }
+    }
+
+    private record Options(URL url, String projectKey, String token, int parallelFeatures, int maxConcurrentRequests, int maxRequestsPerSecond,
+                           int retries, Path metricsFile, List<Path> roots) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.dedalus.xraycucumber.exceptions;
+
+public class HttpStatusException extends IllegalStateException {
+
+    private final int statusCode;
+
+    public HttpStatusException(String message, int statusCode) {
+        super(message + " (HTTP " + statusCode + ")");
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
@@ -0,0 +1,45 @@
+package com.dedalus.xraycucumber.gherkin;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Fingerprints of the parts of a feature file that Xray turns into tests: the feature header and Background,
+ * shared by every test, and each scenario by name; and the content hash of the whole feature, in file order.
+ */
+public class FeatureFingerprint {
+
+    private final String contentHash;
+    private final String sharedFingerprint;
+    private final Map<String, String> scenarioFingerprints;
+    private final boolean containsRules;
+
+    public FeatureFingerprint(String contentHash, String sharedFingerprint, Map<String, String> scenarioFingerprints, boolean containsRules) {
+        this.contentHash = contentHash;
+        this.sharedFingerprint = sharedFingerprint;
+        this.scenarioFingerprints = Collections.unmodifiableMap(scenarioFingerprints);
+        this.containsRules = containsRules;
+    }
+
+    /**
+     * @return the hash of everything Xray gets from the feature, unchanged by comments, indentation and blank lines.
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public String getSharedFingerprint() {
+        return sharedFingerprint;
+    }
+
+    public Map<String, String> getScenarioFingerprints() {
+        return scenarioFingerprints;
+    }
+
+    /**
+     * @return true if the feature groups scenarios in Rules, which delta uploads do not support.
+     */
+    public boolean containsRules() {
+        return containsRules;
+    }
+}
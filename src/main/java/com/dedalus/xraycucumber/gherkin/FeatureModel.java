@@ -0,0 +1,112 @@
+package com.dedalus.xraycucumber.gherkin;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of a single parse of a feature: its content, its top level scenarios with their tags, lines and
+ * offsets, and the fingerprints used to find the scenarios changed since a synchronization. Every stage of a
+ * synchronization works on this model instead of reading or parsing the feature again.
+ */
+public final class FeatureModel {
+
+    private final String uri;
+    private final String content;
+    private final Map<String, ScenarioModel> scenariosByName;
+    private final List<TagModel> tags;
+    private final int backgroundLine;
+    private final String sharedFingerprint;
+    private final boolean containsRules;
+
+    FeatureModel(String uri, String content, List<ScenarioModel> scenarios, List<TagModel> tags, int backgroundLine, String sharedFingerprint, boolean containsRules) {
+        this.uri = uri;
+        this.content = content;
+        this.tags = List.copyOf(tags);
+        this.backgroundLine = backgroundLine;
+        this.sharedFingerprint = sharedFingerprint;
+        this.containsRules = containsRules;
+
+        Map<String, ScenarioModel> scenariosInFileOrder = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> scenariosInFileOrder.put(scenario.getName(), scenario));
+        this.scenariosByName = Collections.unmodifiableMap(scenariosInFileOrder);
+    }
+
+    public String getUri() {
+        return uri;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    /**
+     * @return the top level scenarios, in file order.
+     */
+    public List<ScenarioModel> getScenarios() {
+        return List.copyOf(scenariosByName.values());
+    }
+
+    public ScenarioModel getScenario(String scenarioName) {
+        return scenariosByName.get(scenarioName);
+    }
+
+    /**
+     * @return every tag of the feature, of its Rules, scenarios and examples, in file order.
+     */
+    public List<TagModel> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return the 0-based line of the Background keyword, or -1 if the feature has no Background.
+     */
+    public int getBackgroundLine() {
+        return backgroundLine;
+    }
+
+    public boolean containsRules() {
+        return containsRules;
+    }
+
+    /**
+     * @return each scenario name associated with the list of its tag names.
+     */
+    public Map<String, List<String>> getScenariosAndTags() {
+        Map<String, List<String>> scenariosWithTags = new HashMap<>();
+        scenariosByName.forEach((name, scenario) -> scenariosWithTags.put(name, scenario.getTags()));
+        return scenariosWithTags;
+    }
+
+    public FeatureFingerprint getFingerprint() {
+        return getFingerprintWithXrayTags(Collections.emptyMap());
+    }
+
+    /**
+     * Fingerprints the feature as it will be once each scenario is tagged with its Xray issue key, so that the
+     * tagged file does not have to be parsed again.
+     *
+     * @param jiraXrayIssueMap the Xray issue key of each scenario name.
+     */
+    public FeatureFingerprint getFingerprintWithXrayTags(Map<String, String> jiraXrayIssueMap) {
+        GherkinContentHasher gherkinContentHasher = new GherkinContentHasher();
+        Map<String, String> scenarioFingerprints = new HashMap<>();
+        StringBuilder canonicalFeature = new StringBuilder(sharedFingerprint).append('\n');
+
+        for (ScenarioModel scenario : scenariosByName.values()) {
+            StringBuilder canonicalScenario = new StringBuilder();
+            scenario.getTags().forEach(tag -> canonicalScenario.append(tag).append(' '));
+            String jiraXrayIssueId = jiraXrayIssueMap.get(scenario.getName());
+            if (jiraXrayIssueId != null && !scenario.hasTag(jiraXrayIssueId)) {
+                canonicalScenario.append('@').append(jiraXrayIssueId).append(' ');
+            }
+            canonicalScenario.append('\n').append(scenario.getBodyFingerprint());
+            String scenarioFingerprint = gherkinContentHasher.hash(canonicalScenario);
+            scenarioFingerprints.put(scenario.getName(), scenarioFingerprint);
+            canonicalFeature.append(scenarioFingerprint).append('\n');
+        }
+        return new FeatureFingerprint(gherkinContentHasher.hash(canonicalFeature), sharedFingerprint, scenarioFingerprints, containsRules);
+    }
+}
@@ -0,0 +1,32 @@
+package com.dedalus.xraycucumber.gherkin;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+public class GherkinContentHasher {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    /**
+     * Hashes a canonical form built from the Gherkin AST as it is: the parser already dropped the comments and the
+     * structural indentation, while doc strings and table cells must be compared byte for byte.
+     *
+     * @param canonicalContent the canonical form of a part of a feature.
+     * @return the hexadecimal hash of the canonical form.
+     */
+    public String hash(CharSequence canonicalContent) {
+        MessageDigest digest = createDigest();
+        digest.update(canonicalContent.toString().getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.dedalus.xraycucumber.gherkin;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+public class GherkinDeltaFeatureBuilder {
+
+    /**
+     * Synthesizes a feature holding only some scenarios of a feature file. The feature header, the Background and
+     * the selected scenarios are copied line for line from the parsed content, comments included.
+     *
+     * @param featureModel  the parsed feature file.
+     * @param scenarioNames the names of the scenarios to keep.
+     * @return the content of the synthesized feature.
+     */
+    public String build(FeatureModel featureModel, Set<String> scenarioNames) {
+        String[] lines = featureModel.getContent().split("\\R", -1);
+
+        List<ChildLines> children = new ArrayList<>();
+        if (featureModel.getBackgroundLine() >= 0) {
+            children.add(new ChildLines(featureModel.getBackgroundLine(), true));
+        }
+        for (ScenarioModel scenario : featureModel.getScenarios()) {
+            children.add(new ChildLines(scenario.getFirstLine(), scenarioNames.contains(scenario.getName())));
+        }
+        children.sort(Comparator.comparingInt(ChildLines::firstLine));
+
+        StringBuilder deltaContent = new StringBuilder();
+        int headerEnd = children.isEmpty() ? lines.length : children.get(0).firstLine();
+        appendLines(deltaContent, lines, 0, headerEnd);
+
+        for (int i = 0; i < children.size(); i++) {
+            int childEnd = i + 1 < children.size() ? children.get(i + 1).firstLine() : lines.length;
+            if (children.get(i).kept()) {
+                appendLines(deltaContent, lines, children.get(i).firstLine(), childEnd);
+            }
+        }
+        return deltaContent.toString();
+    }
+
+    private void appendLines(StringBuilder content, String[] lines, int from, int to) {
+        for (int i = from; i < to; i++) {
+            content.append(lines[i]).append('\n');
+        }
+    }
+
+    private record ChildLines(int firstLine, boolean kept) {
+    }
+}
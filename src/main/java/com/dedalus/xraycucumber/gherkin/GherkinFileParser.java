@@ -5,21 +5,28 @@ import static io.cucumber.messages.types.SourceMediaType.TEXT_X_CUCUMBER_GHERKIN
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import com.dedalus.xraycucumber.exceptions.GherkinParseException;
 
 import io.cucumber.gherkin.GherkinParser;
+import io.cucumber.messages.types.Background;
 import io.cucumber.messages.types.Envelope;
+import io.cucumber.messages.types.Examples;
 import io.cucumber.messages.types.Feature;
 import io.cucumber.messages.types.FeatureChild;
 import io.cucumber.messages.types.GherkinDocument;
+import io.cucumber.messages.types.Rule;
+import io.cucumber.messages.types.RuleChild;
+import io.cucumber.messages.types.Scenario;
 import io.cucumber.messages.types.Source;
+import io.cucumber.messages.types.Step;
+import io.cucumber.messages.types.TableRow;
 import io.cucumber.messages.types.Tag;
 
 public class GherkinFileParser {
@@ -35,26 +42,174 @@ public class GherkinFileParser {
     public Map<String, List<String>> getScenariosAndTags(String featurefilePath) throws IOException {
         Objects.requireNonNull(featurefilePath, "The feature file cannot be null");
 
-        Feature feature = this.parse(featurefilePath);
+        return parseFeature(featurefilePath, Files.readString(Paths.get(featurefilePath))).getScenariosAndTags();
+    }
+
+    /**
+     * Parses and validates a feature once, into a {@link FeatureModel} holding its scenarios with their tags,
+     * lines and offsets, and the fingerprints of the feature header with its Background and Rules, and of every
+     * scenario. Names, descriptions, tags, steps, doc strings, data tables and examples are part of the fingerprints;
+     * comments, indentation and blank lines are not.
+     *
+     * @param featureFileUri the uri of the feature, only used in error messages.
+     * @param featureContent the Gherkin content of the feature, such as the text of its document.
+     * @return the {@link FeatureModel} of the feature.
+     * @throws GherkinParseException if the Gherkin feature is not correctly formatted,
+     *                               contains no scenarios, or contains scenarios with duplicate names.
+     */
+    public FeatureModel parseFeature(String featureFileUri, String featureContent) {
+        Feature feature = this.parse(featureFileUri, featureContent);
         new GherkinFileValidator().validate(feature);
 
-        Map<String, List<String>> scenariosWithTags = new HashMap<>();
+        GherkinContentHasher gherkinContentHasher = new GherkinContentHasher();
+        int[] lineOffsets = lineOffsets(featureContent);
+
+        StringBuilder canonicalHeader = new StringBuilder();
+        feature.getTags().forEach(tag -> canonicalHeader.append(tag.getName()).append(' '));
+        canonicalHeader.append('\n').append(feature.getKeyword()).append(':').append(feature.getName()).append('\n');
+        appendDescription(canonicalHeader, feature.getDescription());
+
+        List<ScenarioModel> scenarios = new ArrayList<>();
+        int backgroundLine = -1;
+        boolean containsRules = false;
+
+        for (FeatureChild featureChild : feature.getChildren()) {
+            if (featureChild.getBackground().isPresent()) {
+                Background background = featureChild.getBackground().get();
+                backgroundLine = lineIndex(background.getLocation().getLine());
+                appendBackground(canonicalHeader, background);
+            }
+            if (featureChild.getScenario().isPresent()) {
+                scenarios.add(scenarioModel(featureChild.getScenario().get(), featureContent, lineOffsets, gherkinContentHasher));
+            }
+            if (featureChild.getRule().isPresent()) {
+                containsRules = true;
+                appendRule(canonicalHeader, featureChild.getRule().get());
+            }
+        }
+
+        return new FeatureModel(featureFileUri, featureContent, scenarios, tagModels(feature), backgroundLine, gherkinContentHasher.hash(canonicalHeader), containsRules);
+    }
 
+    /**
+     * @return the tags of the feature, of its Rules, scenarios and examples, in file order.
+     */
+    private List<TagModel> tagModels(Feature feature) {
+        List<Tag> tags = new ArrayList<>(feature.getTags());
         for (FeatureChild featureChild : feature.getChildren()) {
-            featureChild.getScenario().ifPresent(scenario -> {
-                List<String> tags = scenario.getTags().stream().map(Tag::getName).collect(Collectors.toList());
-                scenariosWithTags.put(scenario.getName(), tags);
+            featureChild.getScenario().ifPresent(scenario -> addScenarioTags(tags, scenario));
+            featureChild.getRule().ifPresent(rule -> {
+                tags.addAll(rule.getTags());
+                rule.getChildren().forEach(ruleChild -> ruleChild.getScenario().ifPresent(scenario -> addScenarioTags(tags, scenario)));
             });
         }
+        return tags.stream()
+                .map(tag -> new TagModel(tag.getName(), lineIndex(tag.getLocation().getLine())))
+                .sorted(Comparator.comparingInt(TagModel::line))
+                .toList();
+    }
+
+    private void addScenarioTags(List<Tag> tags, Scenario scenario) {
+        tags.addAll(scenario.getTags());
+        scenario.getExamples().forEach(examples -> tags.addAll(examples.getTags()));
+    }
+
+    private ScenarioModel scenarioModel(Scenario scenario, String featureContent, int[] lineOffsets, GherkinContentHasher gherkinContentHasher) {
+        int keywordLine = lineIndex(scenario.getLocation().getLine());
+        int firstLine = keywordLine;
+        for (Tag tag : scenario.getTags()) {
+            firstLine = Math.min(firstLine, lineIndex(tag.getLocation().getLine()));
+        }
+
+        int keywordLineOffset = lineOffsets[keywordLine];
+        // Gherkin columns are 1-based
+        int keywordOffset = Math.min(featureContent.length(), keywordLineOffset + scenario.getLocation().getColumn().orElse(1L).intValue() - 1);
+        String indent = featureContent.substring(keywordLineOffset, keywordOffset);
+
+        List<String> tags = scenario.getTags().stream().map(Tag::getName).toList();
+        String bodyFingerprint = gherkinContentHasher.hash(canonicalScenarioBody(scenario));
+        return new ScenarioModel(scenario.getName(), tags, firstLine, keywordLine, keywordLineOffset, indent, bodyFingerprint);
+    }
+
+    private CharSequence canonicalScenarioBody(Scenario scenario) {
+        StringBuilder canonicalScenario = new StringBuilder();
+        canonicalScenario.append(scenario.getKeyword()).append(':').append(scenario.getName()).append('\n');
+        appendDescription(canonicalScenario, scenario.getDescription());
+        appendSteps(canonicalScenario, scenario.getSteps());
+
+        for (Examples examples : scenario.getExamples()) {
+            examples.getTags().forEach(tag -> canonicalScenario.append(tag.getName()).append(' '));
+            canonicalScenario.append("\nExamples:").append(examples.getName()).append('\n');
+            examples.getTableHeader().ifPresent(header -> appendRow(canonicalScenario, header));
+            examples.getTableBody().forEach(row -> appendRow(canonicalScenario, row));
+        }
+        return canonicalScenario;
+    }
+
+    private void appendBackground(StringBuilder canonicalContent, Background background) {
+        canonicalContent.append(background.getKeyword()).append(':').append(background.getName()).append('\n');
+        appendSteps(canonicalContent, background.getSteps());
+    }
+
+    /**
+     * The scenarios of a Rule are not synchronized one by one, the whole Rule is part of the shared fingerprint.
+     */
+    private void appendRule(StringBuilder canonicalContent, Rule rule) {
+        rule.getTags().forEach(tag -> canonicalContent.append(tag.getName()).append(' '));
+        canonicalContent.append('\n').append(rule.getKeyword()).append(':').append(rule.getName()).append('\n');
+        appendDescription(canonicalContent, rule.getDescription());
+        for (RuleChild ruleChild : rule.getChildren()) {
+            ruleChild.getBackground().ifPresent(background -> appendBackground(canonicalContent, background));
+            ruleChild.getScenario().ifPresent(scenario -> {
+                scenario.getTags().forEach(tag -> canonicalContent.append(tag.getName()).append(' '));
+                canonicalContent.append('\n').append(canonicalScenarioBody(scenario));
+            });
+        }
+    }
+
+    private int[] lineOffsets(String content) {
+        List<Integer> offsets = new ArrayList<>();
+        offsets.add(0);
+        for (int i = 0; i < content.length(); i++) {
+            char c = content.charAt(i);
+            if (c == '\n' || (c == '\r' && (i + 1 == content.length() || content.charAt(i + 1) != '\n'))) {
+                offsets.add(i + 1);
+            }
+        }
+        return offsets.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int lineIndex(long gherkinLine) {
+        // Gherkin lines are 1-based
+        return (int) gherkinLine - 1;
+    }
+
+    private void appendSteps(StringBuilder canonicalContent, List<Step> steps) {
+        for (Step step : steps) {
+            canonicalContent.append(step.getKeyword()).append(step.getText()).append('\n');
+            step.getDocString().ifPresent(docString -> canonicalContent.append("\"\"\"").append(docString.getMediaType().orElse("")).append('\n')
+                    .append(docString.getContent()).append("\n\"\"\"\n"));
+            step.getDataTable().ifPresent(dataTable -> dataTable.getRows().forEach(row -> appendRow(canonicalContent, row)));
+        }
+    }
+
+    /**
+     * Descriptions are free text: their indentation and blank lines are layout, not content.
+     */
+    private void appendDescription(StringBuilder canonicalContent, String description) {
+        description.lines().map(String::strip).filter(line -> !line.isEmpty()).forEach(line -> canonicalContent.append(line).append('\n'));
+        canonicalContent.append('\n');
+    }
 
-        return scenariosWithTags;
+    private void appendRow(StringBuilder canonicalContent, TableRow row) {
+        row.getCells().forEach(cell -> canonicalContent.append('|').append(cell.getValue()));
+        canonicalContent.append("|\n");
     }
 
-    private Feature parse(String featureFilePath) throws IOException {
-        Objects.requireNonNull(featureFilePath, "The feature file path cannot be null");
+    private Feature parse(String featureFileUri, String featureContent) {
+        Objects.requireNonNull(featureContent, "The feature content cannot be null");
 
-        var featureContent = Files.readString(Paths.get(featureFilePath));
-        var envelope = Envelope.of(new Source(featureFilePath, featureContent, TEXT_X_CUCUMBER_GHERKIN_PLAIN));
+        var envelope = Envelope.of(new Source(featureFileUri, featureContent, TEXT_X_CUCUMBER_GHERKIN_PLAIN));
 
         Optional<GherkinDocument> gherkinDocument = GherkinParser
                 .builder()
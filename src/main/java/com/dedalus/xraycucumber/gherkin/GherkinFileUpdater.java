@@ -7,71 +7,80 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import com.intellij.openapi.editor.Document;
-import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.codeStyle.CodeStyleManager;
 
 public class GherkinFileUpdater {
 
-    private static final Pattern SCENARIO_NAME_PATTERN = Pattern.compile("(Scenario Outline|Scenario):(.*)", Pattern.CASE_INSENSITIVE);
     private static final String ERROR_MSG_PATH_RETRIEVAL = "Can't get path from ";
 
+    private final XrayIssueTagInserter xrayIssueTagInserter = new XrayIssueTagInserter();
+
     /**
      * Adds Xray Issue id as tags to scenarios in the Gherkin feature file.
-     * The tags, derived from a map of JIRA Xray issues, are added based on the scenario name.
+     * The tags, derived from a map of JIRA Xray issues, are added based on the scenario name, each one inserted
+     * on its own line above the scenario keyword, with the indentation of the keyword.
+     * The document is edited in place, one insertion per added tag from the end of the document backwards so that
+     * the offsets of the model stay valid; callers run it inside a single write command.
      *
      * @param featureFile              The document representing the feature file.
      * @param jiraXrayIssueMap      A map linking scenario names to JIRA Xray issue IDs.
-     * @param cucumberFeatureIssueMap A map linking scenario names to lists of associated issue tags.
-     * @return A copy of the featureFile with added tags.
+     * @param featureModel          The parsed text of the document, giving the scenario offsets and their tags.
+     * @return The ranges of the inserted tag lines in the updated document, in document order.
      *
      */
-    public Document addXrayIssueIdTagsOnScenario(Document featureFile, final Map<String, String> jiraXrayIssueMap, final Map<String, List<String>> cucumberFeatureIssueMap) {
+    public List<TextRange> addXrayIssueIdTagsOnScenario(Document featureFile, final Map<String, String> jiraXrayIssueMap, final FeatureModel featureModel) {
         if (featureFile == null) {
             throw new IllegalArgumentException("Feature file can't be null");
         }
-
-        EditorFactory editorFactory = EditorFactory.getInstance();
-        Editor editor = editorFactory.createEditor(featureFile);
-        Document newDocument = editor.getDocument();
-
-        String originalContent = featureFile.getText();
-        StringBuilder newContent = new StringBuilder();
-
-        for (int i = 0; i < featureFile.getLineCount(); i++) {
-            int startOffset = featureFile.getLineStartOffset(i);
-            int endOffset = featureFile.getLineEndOffset(i);
-
-            String line = originalContent.substring(startOffset, endOffset);
-            Matcher matcher = SCENARIO_NAME_PATTERN.matcher(line.trim());
-
-            if (matcher.find()) {
-                String scenarioName = matcher.group(2).trim();
-                String jiraXrayIssueId = jiraXrayIssueMap.get(scenarioName);
-
-                if (isJiraIdTagAbsentOnScenario(cucumberFeatureIssueMap, scenarioName, jiraXrayIssueId)) {
-                    newContent.append("@").append(jiraXrayIssueId).append("\n");
-                }
-            }
-            newContent.append(line).append("\n");
+        if (featureFile.getTextLength() != featureModel.getContent().length()) {
+            throw new IllegalArgumentException("The feature model doesn't match the feature file document");
         }
 
-        if (!newContent.isEmpty()) {
-            newContent.setLength(newContent.length() - 1);
+        List<XrayIssueTagInserter.TagInsertion> insertions = xrayIssueTagInserter.planInsertions(jiraXrayIssueMap, featureModel);
+        for (int i = insertions.size() - 1; i >= 0; i--) {
+            featureFile.insertString(insertions.get(i).offset(), insertions.get(i).text());
         }
 
-        newDocument.setText(newContent.toString());
-        editorFactory.releaseEditor(editor);
+        // insertions were made from the end, each one shifts the lines inserted after it
+        List<TextRange> tagRanges = new ArrayList<>(insertions.size());
+        int shift = 0;
+        for (XrayIssueTagInserter.TagInsertion insertion : insertions) {
+            int start = insertion.offset() + shift;
+            tagRanges.add(new TextRange(start, start + insertion.text().length()));
+            shift += insertion.text().length();
+        }
+        return tagRanges;
+    }
 
-        return newDocument;
+    /**
+     * Reformats the given ranges of the document only, so that the cost does not grow with the size of the feature file.
+     * Does nothing when no range is given.
+     *
+     * @param project   The project of the document.
+     * @param document  The document of the feature file, committed before reformatting.
+     * @param tagRanges The ranges returned by {@link #addXrayIssueIdTagsOnScenario(Document, Map, FeatureModel)}.
+     */
+    public void reformatTags(final Project project, final Document document, final List<TextRange> tagRanges) {
+        if (tagRanges.isEmpty()) {
+            return;
+        }
+        PsiDocumentManager psiDocumentManager = PsiDocumentManager.getInstance(project);
+        psiDocumentManager.commitDocument(document);
+        PsiFile psiFile = psiDocumentManager.getPsiFile(document);
+        if (psiFile != null) {
+            CodeStyleManager.getInstance(project).reformatText(psiFile, tagRanges);
+        }
     }
 
     public void saveBeforeUpdate(final VirtualFile featureFile) throws IOException {
@@ -85,13 +94,6 @@ public class GherkinFileUpdater {
         }
     }
 
-    public boolean isJiraIdTagAbsentOnScenario(Map<String, List<String>> cucumberFeatureIssueMap, String scenarioName, String jiraId) {
-        //if jiraId is already present as a scenario tag then no need to add it again
-        List<String> scenarioTags = cucumberFeatureIssueMap.getOrDefault(scenarioName, Collections.emptyList());
-
-        return scenarioTags.stream().filter(tag -> !tag.isEmpty()).noneMatch(tag -> tag.substring(1).equalsIgnoreCase(jiraId));
-    }
-
     private Path getBackupPath(Path originalPath) {
         String originalNameWithoutExtension = originalPath.getFileName().toString().replace(".feature", "");
         String timeStamp = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
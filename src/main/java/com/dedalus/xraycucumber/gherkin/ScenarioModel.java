@@ -0,0 +1,77 @@
+package com.dedalus.xraycucumber.gherkin;
+
+import java.util.List;
+
+/**
+ * A top level scenario of a parsed feature, with the lines and offsets needed to edit it in place.
+ */
+public final class ScenarioModel {
+
+    private final String name;
+    private final List<String> tags;
+    private final int firstLine;
+    private final int keywordLine;
+    private final int keywordLineOffset;
+    private final String indent;
+    private final String bodyFingerprint;
+
+    ScenarioModel(String name, List<String> tags, int firstLine, int keywordLine, int keywordLineOffset, String indent, String bodyFingerprint) {
+        this.name = name;
+        this.tags = List.copyOf(tags);
+        this.firstLine = firstLine;
+        this.keywordLine = keywordLine;
+        this.keywordLineOffset = keywordLineOffset;
+        this.indent = indent;
+        this.bodyFingerprint = bodyFingerprint;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the tag names of the scenario, with their leading {@code @}.
+     */
+    public List<String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return the 0-based line where the scenario starts, its first tag line if it has tags.
+     */
+    public int getFirstLine() {
+        return firstLine;
+    }
+
+    /**
+     * @return the 0-based line of the {@code Scenario:} or {@code Scenario Outline:} keyword.
+     */
+    public int getKeywordLine() {
+        return keywordLine;
+    }
+
+    /**
+     * @return the offset, in the parsed content, of the start of the keyword line.
+     */
+    public int getKeywordLineOffset() {
+        return keywordLineOffset;
+    }
+
+    /**
+     * @return the whitespace before the keyword, to indent a tag added above it.
+     */
+    public String getIndent() {
+        return indent;
+    }
+
+    /**
+     * @return true if the scenario is already tagged with this Jira issue key.
+     */
+    public boolean hasTag(String jiraId) {
+        return tags.stream().filter(tag -> !tag.isEmpty()).anyMatch(tag -> tag.substring(1).equalsIgnoreCase(jiraId));
+    }
+
+    String getBodyFingerprint() {
+        return bodyFingerprint;
+    }
+}
@@ -0,0 +1,11 @@
+package com.dedalus.xraycucumber.gherkin;
+
+/**
+ * A tag of a parsed feature, as the Gherkin parser found it: tags in comments, descriptions, steps or doc strings
+ * are text, not tags.
+ *
+ * @param name the tag name, with its leading {@code @}.
+ * @param line the 0-based line of the tag.
+ */
+public record TagModel(String name, int line) {
+}
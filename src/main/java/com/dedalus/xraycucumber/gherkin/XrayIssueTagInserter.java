@@ -0,0 +1,68 @@
+package com.dedalus.xraycucumber.gherkin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the Xray issue tag lines to add above the scenarios of a parsed feature, and applies them to its text.
+ * It has no dependency on the IntelliJ platform, the editor document and the file on disk are updated from the same
+ * insertions.
+ */
+public class XrayIssueTagInserter {
+
+    /**
+     * A tag line to insert at an offset of the original feature content.
+     *
+     * @param offset the offset of the line of the scenario keyword, in the original content.
+     * @param text   the tag line, with the indentation of the keyword and its line break.
+     */
+    public record TagInsertion(int offset, String text) {
+    }
+
+    /**
+     * Lists the tag lines to add so that each scenario is tagged with its Xray issue id. The scenarios already
+     * tagged with it, and those without an issue, are left as they are.
+     *
+     * @param jiraXrayIssueMap A map linking scenario names to JIRA Xray issue IDs.
+     * @param featureModel     The parsed feature, giving the scenario offsets and their tags.
+     * @return the insertions, in document order.
+     */
+    public List<TagInsertion> planInsertions(final Map<String, String> jiraXrayIssueMap, final FeatureModel featureModel) {
+        List<TagInsertion> insertions = new ArrayList<>();
+        for (ScenarioModel scenario : featureModel.getScenarios()) {
+            String jiraXrayIssueId = jiraXrayIssueMap.get(scenario.getName());
+
+            if (jiraXrayIssueId != null && !scenario.hasTag(jiraXrayIssueId)) {
+                insertions.add(new TagInsertion(scenario.getKeywordLineOffset(), scenario.getIndent() + "@" + jiraXrayIssueId + "\n"));
+            }
+        }
+        insertions.sort((first, second) -> Integer.compare(first.offset(), second.offset()));
+        return insertions;
+    }
+
+    /**
+     * Applies the insertions to the content they were planned on, in a single copy of the content.
+     *
+     * @param content    the original feature content.
+     * @param insertions the insertions returned by {@link #planInsertions(Map, FeatureModel)}.
+     * @return the tagged content.
+     */
+    public String apply(final String content, final List<TagInsertion> insertions) {
+        if (insertions.isEmpty()) {
+            return content;
+        }
+        int insertedLength = 0;
+        for (TagInsertion insertion : insertions) {
+            insertedLength += insertion.text().length();
+        }
+
+        StringBuilder taggedContent = new StringBuilder(content.length() + insertedLength);
+        int copied = 0;
+        for (TagInsertion insertion : insertions) {
+            taggedContent.append(content, copied, insertion.offset()).append(insertion.text());
+            copied = insertion.offset();
+        }
+        return taggedContent.append(content, copied, content.length()).toString();
+    }
+}
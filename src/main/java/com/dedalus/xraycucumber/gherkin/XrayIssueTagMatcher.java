@@ -0,0 +1,70 @@
+package com.dedalus.xraycucumber.gherkin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Tells whether a text is an Xray issue tag of the test project, such as {@code @PROJ-123}.
+ * The pattern is compiled once per project key and reused until the key of the settings changes, so that it can be
+ * called on every action update.
+ */
+public class XrayIssueTagMatcher {
+
+    private volatile CompiledKey compiledKey;
+
+    public boolean isXrayIssueTag(final String text, final String projectKey) {
+        if (text == null || projectKey == null || projectKey.isBlank()) {
+            return false;
+        }
+        String tag = text.trim();
+        if (!tag.startsWith("@")) {
+            return false;
+        }
+        return getCompiledKey(projectKey).pattern().matcher(tag.substring(1)).matches();
+    }
+
+    /**
+     * Finds the Xray issue tags of the test project among the tags of a parsed feature, on the given lines. A key in
+     * a comment, a description, a step or a doc string is not a tag and is not found.
+     *
+     * @param firstLine the first 0-based line to look at, such as the first line of a selection.
+     * @param lastLine  the last 0-based line to look at, included.
+     * @return the issue keys, without their {@code @}, in the order of their first occurrence.
+     */
+    public List<String> findXrayIssueKeys(final FeatureModel featureModel, final String projectKey, final int firstLine, final int lastLine) {
+        if (projectKey == null || projectKey.isBlank()) {
+            return List.of();
+        }
+        Set<String> issueKeys = new LinkedHashSet<>();
+        for (TagModel tag : featureModel.getTags()) {
+            if (tag.line() >= firstLine && tag.line() <= lastLine && isXrayIssueTag(tag.name(), projectKey)) {
+                issueKeys.add(tag.name().substring(1));
+            }
+        }
+        return new ArrayList<>(issueKeys);
+    }
+
+    /**
+     * Finds the Xray issue tags of the test project among all the tags of a parsed feature.
+     */
+    public List<String> findXrayIssueKeys(final FeatureModel featureModel, final String projectKey) {
+        return findXrayIssueKeys(featureModel, projectKey, 0, Integer.MAX_VALUE);
+    }
+
+    private CompiledKey getCompiledKey(final String projectKey) {
+        CompiledKey current = compiledKey;
+        if (current == null || !current.projectKey().equals(projectKey)) {
+            // the key is quoted, a project key is a literal even if it contains regex metacharacters
+            String quotedKey = Pattern.quote(projectKey);
+            current = new CompiledKey(projectKey, Pattern.compile(quotedKey + "-(\\d+)"));
+            compiledKey = current;
+        }
+        return current;
+    }
+
+    private record CompiledKey(String projectKey, Pattern pattern) {
+    }
+}
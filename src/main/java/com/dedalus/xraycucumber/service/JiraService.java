@@ -1,152 +1,658 @@
 package com.dedalus.xraycucumber.service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Paths;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import javax.naming.AuthenticationException;
 
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpStatus;
 import org.apache.http.client.methods.HttpUriRequest;
-import org.apache.http.impl.client.HttpClients;
-import org.apache.http.util.EntityUtils;
 
+import com.dedalus.xraycucumber.exceptions.HttpStatusException;
 import com.dedalus.xraycucumber.exceptions.JiraException;
+import com.dedalus.xraycucumber.service.cache.JiraIssueCache;
+import com.dedalus.xraycucumber.service.cache.JiraIssueCache.CachedJiraIssue;
+import com.dedalus.xraycucumber.service.cache.JiraTransitionCache;
+import com.dedalus.xraycucumber.service.http.BoundedResponseContent;
+import com.dedalus.xraycucumber.service.http.HttpRequestCanceller;
 import com.dedalus.xraycucumber.service.http.HttpService;
+import com.dedalus.xraycucumber.service.metrics.JiraEndpoint;
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+import com.dedalus.xraycucumber.service.model.JiraIssue;
+import com.dedalus.xraycucumber.service.model.JiraTransition;
+import com.dedalus.xraycucumber.service.model.XrayIssueCloseReport;
 import com.dedalus.xraycucumber.service.request.CloseXrayIssueRequestBuilder;
 import com.dedalus.xraycucumber.service.request.FeatureUploadRequestBuilder;
 import com.dedalus.xraycucumber.service.request.JiraIssueRequestBuilder;
+import com.dedalus.xraycucumber.service.request.JiraSearchRequestBuilder;
 import com.dedalus.xraycucumber.service.request.XrayIssueRequestBuilder;
+import com.dedalus.xraycucumber.service.response.JiraIssueResponseReader;
 import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.intellij.credentialStore.Credentials;
-import com.intellij.openapi.vfs.VirtualFile;
+
+/**
+ * Jira and Xray calls of the plugin and of the command line sync. It depends on no IDE class: the IDE wires it with
+ * its application services, the command line with its own instances.
+ */
 public class JiraService {
 
     private static final String XRAY_ISSUE_FIELD_SUMMARY = "summary";
     private static final String XRAY_ISSUE_FIELD_STATUS = "status";
-    private static final String XRAY_ISSUE_FIELD_STATUS_NAME = "name";
-    private static final String XRAY_ISSUE_FIELD_FIELDS = "fields";
-    private static final String XRAY_ISSUE_FIELD_SELF = "self";
+    private static final String XRAY_ISSUE_FIELD_ISSUE_TYPE = "issuetype";
+    private static final String XRAY_ISSUE_STATUS_OPEN = "open";
+    private static final String XRAY_ISSUE_STATUS_CLOSED = "closed";
+    private static final String XRAY_ISSUE_TRANSITION_CLOSE = "close";
+    // covers the clock skew between the IDE and Jira when revalidating cached issues
+    private static final long REVALIDATION_MARGIN_MINUTES = 2;
     private final JiraServiceParameters serviceParameters;
-    private final Credentials credentials;
+    private final String userName;
+    private final String password;
     private final String token;
+    private final HttpService httpService;
+    private final JiraIssueCache jiraIssueCache;
+    private final JiraTransitionCache jiraTransitionCache;
+    private final JiraMetrics metrics;
+    private final HttpRequestCanceller httpRequestCanceller = new HttpRequestCanceller();
+    private final JiraIssueResponseReader responseReader = new JiraIssueResponseReader();
+
+    public JiraService(final JiraServiceParameters serviceParameters, String userName, String password, HttpService httpService) {
+        this(serviceParameters, userName, password, httpService, new JiraIssueCache(), new JiraTransitionCache(), new JiraMetrics());
+    }
+
+    public JiraService(final JiraServiceParameters serviceParameters, HttpService httpService) {
+        this(serviceParameters, httpService, new JiraIssueCache(), new JiraTransitionCache(), new JiraMetrics());
+    }
 
-    public JiraService(final JiraServiceParameters serviceParameters, Credentials credentials) {
+    /**
+     * Authenticates with the user name and password of a Jira account.
+     */
+    public JiraService(final JiraServiceParameters serviceParameters, String userName, String password, HttpService httpService, JiraIssueCache jiraIssueCache, JiraTransitionCache jiraTransitionCache, JiraMetrics metrics) {
         this.serviceParameters = serviceParameters;
-        this.credentials = credentials;
+        this.userName = userName;
+        this.password = password;
         this.token = null;
+        this.httpService = httpService;
+        this.jiraIssueCache = jiraIssueCache;
+        this.jiraTransitionCache = jiraTransitionCache;
+        this.metrics = metrics;
     }
 
-    public JiraService(final JiraServiceParameters serviceParameters) {
+    /**
+     * Authenticates with the bearer token of the service parameters.
+     */
+    public JiraService(final JiraServiceParameters serviceParameters, HttpService httpService, JiraIssueCache jiraIssueCache, JiraTransitionCache jiraTransitionCache, JiraMetrics metrics) {
         this.serviceParameters = serviceParameters;
-        this.credentials = null;
+        this.userName = null;
+        this.password = null;
         this.token = serviceParameters.getBearerToken();
+        this.httpService = httpService;
+        this.jiraIssueCache = jiraIssueCache;
+        this.jiraTransitionCache = jiraTransitionCache;
+        this.metrics = metrics;
     }
 
+    /**
+     * Closes an issue with the close transition of its workflow. The transition is discovered through
+     * {@code /transitions} once per project, issue type and status, then reused from the {@link JiraTransitionCache},
+     * so that closing an issue whose status is known takes a single request.
+     *
+     * @throws JiraException if no transition of the workflow leads to a closed status.
+     */
     public void closeXrayIssue(String xrayIssueId) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
-        CloseXrayIssueRequestBuilder closeXrayIssueRequestBuilder = new CloseXrayIssueRequestBuilder(serviceParameters);
-        HttpUriRequest request = closeXrayIssueRequestBuilder.build(xrayIssueId);
+        await(closeXrayIssueAsync(xrayIssueId));
+    }
+
+    /**
+     * Asynchronous {@link #closeXrayIssue(String)}: the status read, the transition discovery and the transition
+     * are chained without blocking the caller.
+     */
+    public CompletableFuture<Void> closeXrayIssueAsync(String xrayIssueId) {
+        return getXrayIssueAsync(xrayIssueId).thenCompose(jiraIssue -> {
+            String workflowKey = JiraTransitionCache.workflowKey(xrayIssueId, jiraIssue.getIssueType(), jiraIssue.getStatus());
 
-        HttpService httpService = new HttpService(HttpClients.createDefault());
-        executeRequest(httpService, request);
+            String transitionId = jiraTransitionCache.getCloseTransitionId(workflowKey);
+            if (transitionId == null) {
+                return discoverAndPostCloseTransition(xrayIssueId, workflowKey);
+            }
+            return postTransitionAsync(xrayIssueId, transitionId).exceptionallyCompose(throwable -> {
+                Throwable cause = unwrap(throwable);
+                if (!(cause instanceof HttpStatusException httpStatusException) || httpStatusException.getStatusCode() != HttpStatus.SC_BAD_REQUEST) {
+                    return CompletableFuture.failedFuture(cause);
+                }
+                // the workflow changed since the transition was cached
+                jiraTransitionCache.invalidate(workflowKey);
+                return discoverAndPostCloseTransition(xrayIssueId, workflowKey);
+            });
+        });
     }
 
-    public JsonArray uploadFeatureToXray(VirtualFile featureFile) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+    private CompletableFuture<Void> discoverAndPostCloseTransition(String xrayIssueId, String workflowKey) {
+        return discoverCloseTransitionIdAsync(xrayIssueId).thenCompose(transitionId -> {
+            jiraTransitionCache.putCloseTransitionId(workflowKey, transitionId);
+            return postTransitionAsync(xrayIssueId, transitionId);
+        });
+    }
+
+    private CompletableFuture<Void> postTransitionAsync(String xrayIssueId, String transitionId) {
+        HttpUriRequest request;
+        try {
+            request = new CloseXrayIssueRequestBuilder(serviceParameters).build(xrayIssueId, transitionId);
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return executeRequestAsync(request, httpEntity -> {
+            BoundedResponseContent.discard(httpEntity);
+            return null;
+        }).thenRun(() -> jiraIssueCache.invalidate(xrayIssueId));
+    }
+
+    private CompletableFuture<String> discoverCloseTransitionIdAsync(String xrayIssueId) {
+        HttpUriRequest request;
+        try {
+            request = new CloseXrayIssueRequestBuilder(serviceParameters).buildTransitionsRequest(xrayIssueId);
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return executeRequestAsync(request, httpEntity -> readContent(httpEntity, JiraEndpoint.TRANSITIONS, responseReader::readTransitions)).thenApply(transitions -> findCloseTransitionId(xrayIssueId, transitions));
+    }
+
+    private String findCloseTransitionId(String xrayIssueId, List<JiraTransition> transitions) {
+        // a transition to the closed status is preferred over one that is only named after closing
+        for (JiraTransition transition : transitions) {
+            if (transition.id() != null && XRAY_ISSUE_STATUS_CLOSED.equalsIgnoreCase(transition.toStatus())) {
+                return transition.id();
+            }
+        }
+        for (JiraTransition transition : transitions) {
+            if (transition.id() != null && transition.name() != null && transition.name().toLowerCase().startsWith(XRAY_ISSUE_TRANSITION_CLOSE)) {
+                return transition.id();
+            }
+        }
+        throw new JiraException("No transition closes the Xray issue " + xrayIssueId);
+    }
+
+    /**
+     * Closes the open issues among the given ones. The statuses are read with {@link #getXrayIssueStatuses(Collection)},
+     * then the open issues are closed concurrently, as many at a time as the concurrency limit of the
+     * {@link HttpService} allows. An issue that can't be closed doesn't stop the others.
+     *
+     * @return the issues closed, the issues skipped because they were not open, and the failures.
+     */
+    public XrayIssueCloseReport closeXrayIssues(final Collection<String> xrayIssueIds) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        Map<String, String> statusesByKey = getXrayIssueStatuses(xrayIssueIds);
+
+        List<String> openIssueKeys = new ArrayList<>();
+        Map<String, String> skippedIssueStatuses = new LinkedHashMap<>();
+        Map<String, String> failures = new LinkedHashMap<>();
+        for (String xrayIssueId : new LinkedHashSet<>(xrayIssueIds)) {
+            String status = statusesByKey.get(xrayIssueId);
+            if (status == null) {
+                failures.put(xrayIssueId, "issue not found");
+            } else if (status.equalsIgnoreCase(XRAY_ISSUE_STATUS_OPEN)) {
+                openIssueKeys.add(xrayIssueId);
+            } else {
+                skippedIssueStatuses.put(xrayIssueId, status);
+            }
+        }
+
+        List<String> closedIssueKeys = new ArrayList<>();
+        List<CompletableFuture<Void>> closeFutures = new ArrayList<>();
+        for (String openIssueKey : openIssueKeys) {
+            closeFutures.add(closeXrayIssueAsync(openIssueKey));
+        }
+
+        try {
+            for (int i = 0; i < closeFutures.size(); i++) {
+                try {
+                    closeFutures.get(i).get();
+                    closedIssueKeys.add(openIssueKeys.get(i));
+                } catch (ExecutionException e) {
+                    failures.put(openIssueKeys.get(i), String.valueOf(e.getCause()));
+                }
+            }
+        } catch (InterruptedException e) {
+            closeFutures.forEach(closeFuture -> closeFuture.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while closing Xray issues", e);
+        }
+
+        return new XrayIssueCloseReport(closedIssueKeys, skippedIssueStatuses, failures);
+    }
+
+    /**
+     * Returns the status of several issues. Fresh issues come from the {@link JiraIssueCache} and the others are read
+     * with chunked JQL searches. When the search is forbidden, or rejected because one of the keys doesn't exist,
+     * the issues are read one by one instead.
+     *
+     * @return the status of every issue found, by issue key.
+     */
+    public Map<String, String> getXrayIssueStatuses(final Collection<String> xrayIssueIds) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        Map<String, String> statusesByKey = new HashMap<>();
+        List<String> uncachedIssueKeys = new ArrayList<>();
+        for (String xrayIssueId : new LinkedHashSet<>(xrayIssueIds)) {
+            JiraIssue cachedJiraIssue = jiraIssueCache.getIfFresh(xrayIssueId);
+            if (cachedJiraIssue != null && cachedJiraIssue.getStatus() != null) {
+                statusesByKey.put(xrayIssueId, cachedJiraIssue.getStatus());
+            } else {
+                uncachedIssueKeys.add(xrayIssueId);
+            }
+        }
+        if (uncachedIssueKeys.isEmpty()) {
+            return statusesByKey;
+        }
+
+        try {
+            searchJiraIssues(uncachedIssueKeys, null).forEach((issueKey, jiraIssue) -> {
+                if (jiraIssue.getStatus() != null) {
+                    statusesByKey.put(issueKey, jiraIssue.getStatus());
+                }
+            });
+        } catch (HttpStatusException e) {
+            if (e.getStatusCode() != HttpStatus.SC_FORBIDDEN && e.getStatusCode() != HttpStatus.SC_BAD_REQUEST) {
+                throw e;
+            }
+            for (String issueKey : uncachedIssueKeys) {
+                try {
+                    statusesByKey.put(issueKey, getXrayIssueStatus(issueKey));
+                } catch (HttpStatusException | JiraException issueException) {
+                    // missing from the statuses, reported by the caller
+                }
+            }
+        }
+        return statusesByKey;
+    }
+
+    public List<JiraIssue> uploadFeatureToXray(Path featureFile) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        return addSummaryToJiraIssueList(importFeatureToXray(featureFile));
+    }
+
+    /**
+     * Uploads a feature held in memory under the given file name, such as the changed scenarios of a feature file.
+     */
+    public List<JiraIssue> uploadFeatureToXray(String featureFileName, String featureContent) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        return addSummaryToJiraIssueList(importFeatureToXray(featureFileName, featureContent));
+    }
+
+    /**
+     * Imports a feature file without reading the summaries of the issues, see {@link #addSummaryToJiraIssueList(List)}.
+     *
+     * @return the issues created or updated by the import, with their key and url only.
+     */
+    public List<JiraIssue> importFeatureToXray(Path featureFile) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        FeatureUploadRequestBuilder featureUploadRequestBuilder = new FeatureUploadRequestBuilder(serviceParameters);
+        return importFeature(featureUploadRequestBuilder.build(featureFile));
+    }
+
+    /**
+     * Imports a feature held in memory without reading the summaries of the issues.
+     */
+    public List<JiraIssue> importFeatureToXray(String featureFileName, String featureContent) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
         FeatureUploadRequestBuilder featureUploadRequestBuilder = new FeatureUploadRequestBuilder(serviceParameters);
-        HttpUriRequest request = featureUploadRequestBuilder.build(Paths.get(featureFile.getPath()));
+        return importFeature(featureUploadRequestBuilder.build(featureFileName, featureContent.getBytes(StandardCharsets.UTF_8)));
+    }
 
-        HttpService httpService = new HttpService(HttpClients.createDefault());
-        HttpEntity httpEntity = executeRequest(httpService, request);
+    private List<JiraIssue> importFeature(HttpUriRequest request) throws IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        HttpEntity httpEntity = executeRequest(request);
 
-        String responseBody = EntityUtils.toString(httpEntity, StandardCharsets.UTF_8);
-        JsonArray jiraIssueJsonArray = JsonParser.parseString(responseBody).getAsJsonArray();
+        try {
+            return readContent(httpEntity, JiraEndpoint.IMPORT, responseReader::readIssueList);
+        } finally {
+            httpRequestCanceller.release(request);
+        }
+    }
 
-        return addSummaryToJiraIssueList(jiraIssueJsonArray);
+    /**
+     * Aborts every request in flight and makes the next ones fail at once, so that a cancelled synchronization
+     * does not wait for Jira. The requests fail with an {@link IOException}.
+     */
+    public void abortRequests() {
+        httpRequestCanceller.cancel();
     }
 
-    public JsonObject getJiraIssueFromUrl(String issueUrl) throws URISyntaxException, AuthenticationException, org.apache.http.auth.AuthenticationException, IOException {
-        XrayIssueRequestBuilder xrayIssueRequestBuilder = new XrayIssueRequestBuilder();
-        HttpUriRequest request = xrayIssueRequestBuilder.build(issueUrl);
+    public JiraIssue getJiraIssueFromUrl(String issueUrl) throws URISyntaxException, AuthenticationException, org.apache.http.auth.AuthenticationException, IOException {
+        return await(getJiraIssueFromUrlAsync(issueUrl));
+    }
 
-        HttpService httpService = new HttpService(HttpClients.createDefault());
-        HttpEntity httpEntity = executeRequest(httpService, request);
+    public CompletableFuture<JiraIssue> getJiraIssueFromUrlAsync(String issueUrl) {
+        XrayIssueRequestBuilder xrayIssueRequestBuilder = new XrayIssueRequestBuilder().fields(XRAY_ISSUE_FIELD_SUMMARY, XRAY_ISSUE_FIELD_STATUS, XRAY_ISSUE_FIELD_ISSUE_TYPE);
+        HttpUriRequest request;
+        try {
+            request = xrayIssueRequestBuilder.build(issueUrl);
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
+        }
 
-        String jiraIssueSummary = EntityUtils.toString(httpEntity, StandardCharsets.UTF_8);
-        return JsonParser.parseString(jiraIssueSummary).getAsJsonObject();
+        return executeRequestAsync(request, this::readIssue);
     }
 
-    private HttpEntity executeRequest(HttpService httpService, HttpUriRequest request) throws AuthenticationException, org.apache.http.auth.AuthenticationException, IOException {
-        if(token == null && credentials==null) {
+    /**
+     * Executes a request that stays registered for {@link #abortRequests()} until the caller releases it,
+     * once its response is read.
+     */
+    private HttpEntity executeRequest(HttpUriRequest request) throws AuthenticationException, org.apache.http.auth.AuthenticationException, IOException {
+        if(token == null && userName == null) {
             throw new IllegalStateException("Token and Credentials are null");
         }
-        if(token==null){
-            return httpService.executeRequest(request, credentials);
-        } else {
-            return httpService.executeRequest(request, token);
+        httpRequestCanceller.register(request);
+        boolean executed = false;
+        try {
+            HttpEntity httpEntity = token == null ? httpService.executeRequest(request, userName, password) : httpService.executeRequest(request, token);
+            executed = true;
+            return httpEntity;
+        } finally {
+            if (!executed) {
+                httpRequestCanceller.release(request);
+            }
         }
     }
 
-    private JsonArray addSummaryToJiraIssueList(final JsonArray jiraIssueWithoutSummaryList) throws AuthenticationException, org.apache.http.auth.AuthenticationException, URISyntaxException, IOException {
-        JsonArray jiraIssueWithSummaryList = new JsonArray();
+    /**
+     * Executes a request without blocking the caller and reads its response with the given reader. The request stays
+     * registered for {@link #abortRequests()} until its response is read.
+     */
+    private <T> CompletableFuture<T> executeRequestAsync(HttpUriRequest request, EntityReader<T> entityReader) {
+        if (token == null && userName == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Token and Credentials are null"));
+        }
+        httpRequestCanceller.register(request);
+        CompletableFuture<HttpEntity> entityFuture;
+        try {
+            entityFuture = token == null ? httpService.executeRequestAsync(request, userName, password) : httpService.executeRequestAsync(request, token);
+        } catch (AuthenticationException | org.apache.http.auth.AuthenticationException e) {
+            httpRequestCanceller.release(request);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return entityFuture.thenApply(httpEntity -> {
+            try {
+                return entityReader.read(httpEntity);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        }).whenComplete((result, throwable) -> httpRequestCanceller.release(request));
+    }
 
-        for (JsonElement jiraIssue : jiraIssueWithoutSummaryList) {
-            JsonObject jiraIssueWithSummary = addSummaryToJiraIssue(jiraIssue.getAsJsonObject());
-            jiraIssueWithSummaryList.add(jiraIssueWithSummary);
+    /**
+     * Waits for an asynchronous call and throws its failure as the synchronous call would.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for Jira", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof URISyntaxException uriSyntaxException) {
+                throw uriSyntaxException;
+            }
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof AuthenticationException authenticationException) {
+                throw authenticationException;
+            }
+            if (cause instanceof org.apache.http.auth.AuthenticationException authenticationException) {
+                throw authenticationException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
         }
-        return jiraIssueWithSummaryList;
     }
 
-    private JsonObject addSummaryToJiraIssue(JsonObject jiraIssueWithoutSummary) throws AuthenticationException, org.apache.http.auth.AuthenticationException, URISyntaxException, IOException {
-        JsonObject jiraIssueWithSummary = jiraIssueWithoutSummary.deepCopy();
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    private JiraIssue readIssue(HttpEntity httpEntity) throws IOException {
+        return readContent(httpEntity, JiraEndpoint.ISSUE, responseReader::readIssue);
+    }
 
-        if (jiraIssueWithoutSummary.has(XRAY_ISSUE_FIELD_SELF) && !jiraIssueWithoutSummary.get(XRAY_ISSUE_FIELD_SELF).isJsonNull()) {
-            String issueUrl = jiraIssueWithoutSummary.get(XRAY_ISSUE_FIELD_SELF).getAsString();
+    /**
+     * Reads a response within the size limit of {@link BoundedResponseContent}, timing the parsing in the
+     * {@link JiraMetrics} of the endpoint.
+     */
+    private <T> T readContent(HttpEntity httpEntity, JiraEndpoint endpoint, ContentReader<T> contentReader) throws IOException {
+        if (httpEntity == null) {
+            throw new JiraException("Unexpected empty response from Jira");
+        }
+        long start = System.nanoTime();
+        try (InputStream content = BoundedResponseContent.open(httpEntity, BoundedResponseContent.DEFAULT_MAX_RESPONSE_BYTES)) {
+            return contentReader.read(content);
+        } finally {
+            metrics.parsing(endpoint).recordLatency(System.nanoTime() - start);
+        }
+    }
 
-            JsonObject jiraIssueJsonObject = getJiraIssueFromUrl(issueUrl);
+    /**
+     * Adds the summary to every issue returned by the feature import.
+     * Summaries come from the {@link JiraIssueCache} or are resolved with a few JQL searches; issues the search did
+     * not return, or every uncached issue when the search endpoint is forbidden, are then read one by one,
+     * concurrently within the concurrency limit of the {@link HttpService}.
+     * The returned list keeps the order of the import response.
+     *
+     * @throws JiraException listing every issue that could not be read, once all of them have been tried.
+     */
+    public List<JiraIssue> addSummaryToJiraIssueList(final List<JiraIssue> jiraIssueWithoutSummaryList) throws IOException, URISyntaxException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        if (jiraIssueWithoutSummaryList.isEmpty()) {
+            return Collections.emptyList();
+        }
 
-            if (jiraIssueJsonObject != null && jiraIssueJsonObject.has(XRAY_ISSUE_FIELD_FIELDS)) {
-                JsonObject jiraIssueFields = jiraIssueJsonObject.getAsJsonObject(XRAY_ISSUE_FIELD_FIELDS);
+        Map<String, JiraIssue> searchedJiraIssuesByKey = lookupJiraIssues(jiraIssueWithoutSummaryList);
 
-                if (jiraIssueFields.has(XRAY_ISSUE_FIELD_SUMMARY) && !jiraIssueFields.get(XRAY_ISSUE_FIELD_SUMMARY).isJsonNull()) {
-                    String summary = jiraIssueFields.get(XRAY_ISSUE_FIELD_SUMMARY).getAsString();
-                    jiraIssueWithSummary.addProperty(XRAY_ISSUE_FIELD_SUMMARY, summary);
-                } else {
-                    throw new JiraException("This issue has no summary");
-                }
+        JiraIssue[] jiraIssuesWithSummary = new JiraIssue[jiraIssueWithoutSummaryList.size()];
+        List<Integer> unresolvedIssueIndexes = new ArrayList<>();
+        for (int i = 0; i < jiraIssueWithoutSummaryList.size(); i++) {
+            JiraIssue jiraIssue = jiraIssueWithoutSummaryList.get(i);
+            JiraIssue searchedJiraIssue = searchedJiraIssuesByKey.get(jiraIssue.getKey());
+            if (searchedJiraIssue != null && searchedJiraIssue.getSummary() != null) {
+                jiraIssuesWithSummary[i] = jiraIssue.withFields(searchedJiraIssue.getSummary(), searchedJiraIssue.getStatus(), searchedJiraIssue.getIssueType());
             } else {
-                throw new JiraException("Unexpected error when parsing Issue from Jira");
+                unresolvedIssueIndexes.add(i);
             }
-        } else {
-            throw new JiraException("Jira issue has no url");
         }
-        return jiraIssueWithSummary;
+
+        if (!unresolvedIssueIndexes.isEmpty()) {
+            addSummaryToJiraIssuesOneByOne(jiraIssueWithoutSummaryList, unresolvedIssueIndexes, jiraIssuesWithSummary);
+        }
+
+        return List.of(jiraIssuesWithSummary);
     }
 
-    public String getXrayIssueStatus(final String xrayIssue) throws URISyntaxException, AuthenticationException, org.apache.http.auth.AuthenticationException, IOException {
-        JiraIssueRequestBuilder jiraIssueRequestBuilder = new JiraIssueRequestBuilder(serviceParameters);
-        HttpUriRequest request = jiraIssueRequestBuilder.build(xrayIssue);
+    /**
+     * Looks up the summary and status of the imported issues. Fresh issues come from the cache, stale cached issues
+     * are revalidated with a single search on their {@code updated} field, and the others are read with chunked
+     * JQL searches.
+     *
+     * @return the issues found, by issue key; only the fresh cached issues when the search endpoint is forbidden.
+     */
+    private Map<String, JiraIssue> lookupJiraIssues(final List<JiraIssue> jiraIssues) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        Map<String, JiraIssue> jiraIssuesByKey = new HashMap<>();
+        Map<String, JiraIssue> staleJiraIssuesByKey = new LinkedHashMap<>();
+        List<String> uncachedIssueKeys = new ArrayList<>();
+        long oldestValidation = Long.MAX_VALUE;
 
-        HttpService httpService = new HttpService(HttpClients.createDefault());
-        HttpEntity httpEntity = executeRequest(httpService, request);
+        for (String issueKey : new LinkedHashSet<>(jiraIssues.stream().map(JiraIssue::getKey).filter(Objects::nonNull).toList())) {
+            JiraIssue cachedJiraIssue = jiraIssueCache.getIfFresh(issueKey);
+            CachedJiraIssue staleJiraIssue = cachedJiraIssue == null ? jiraIssueCache.getStale(issueKey) : null;
+            if (cachedJiraIssue != null) {
+                jiraIssuesByKey.put(issueKey, cachedJiraIssue);
+            } else if (staleJiraIssue != null) {
+                staleJiraIssuesByKey.put(issueKey, staleJiraIssue.jiraIssue());
+                oldestValidation = Math.min(oldestValidation, staleJiraIssue.validatedAt());
+            } else {
+                uncachedIssueKeys.add(issueKey);
+            }
+        }
 
-        String response = EntityUtils.toString(httpEntity, StandardCharsets.UTF_8);
-        JsonObject jiraIssueJsonObject = JsonParser.parseString(response).getAsJsonObject();
+        Map<String, JiraIssue> searchedJiraIssuesByKey = new HashMap<>();
+        try {
+            if (!staleJiraIssuesByKey.isEmpty()) {
+                long updatedWithinMinutes = TimeUnit.MILLISECONDS.toMinutes(jiraIssueCache.now() - oldestValidation) + REVALIDATION_MARGIN_MINUTES;
+                Map<String, JiraIssue> updatedJiraIssuesByKey = searchJiraIssues(new ArrayList<>(staleJiraIssuesByKey.keySet()), updatedWithinMinutes);
+                staleJiraIssuesByKey.forEach((issueKey, staleJiraIssue) -> {
+                    if (!updatedJiraIssuesByKey.containsKey(issueKey)) {
+                        jiraIssueCache.revalidate(issueKey);
+                        searchedJiraIssuesByKey.put(issueKey, staleJiraIssue);
+                    }
+                });
+                searchedJiraIssuesByKey.putAll(updatedJiraIssuesByKey);
+            }
+            if (!uncachedIssueKeys.isEmpty()) {
+                searchedJiraIssuesByKey.putAll(searchJiraIssues(uncachedIssueKeys, null));
+            }
+        } catch (HttpStatusException e) {
+            if (e.getStatusCode() != HttpStatus.SC_FORBIDDEN) {
+                throw e;
+            }
+            // search is not allowed for this user, the other issues will be read through their own url
+            return jiraIssuesByKey;
+        }
 
-        if (jiraIssueJsonObject != null && jiraIssueJsonObject.has(XRAY_ISSUE_FIELD_FIELDS)) {
-            JsonObject jiraIssueFields = jiraIssueJsonObject.getAsJsonObject(XRAY_ISSUE_FIELD_FIELDS);
+        jiraIssuesByKey.putAll(searchedJiraIssuesByKey);
+        return jiraIssuesByKey;
+    }
 
-            if (jiraIssueFields.has(XRAY_ISSUE_FIELD_STATUS) && !jiraIssueFields.get(XRAY_ISSUE_FIELD_STATUS).isJsonNull()) {
-                return jiraIssueFields.get(XRAY_ISSUE_FIELD_STATUS).getAsJsonObject().get(XRAY_ISSUE_FIELD_STATUS_NAME).getAsString();
-            } else {
+    /**
+     * Runs chunked JQL searches on the given issues and caches the issues found.
+     *
+     * @param updatedWithinMinutes when not null, only the issues updated in the last minutes are returned.
+     * @return the issues found, by issue key.
+     */
+    private Map<String, JiraIssue> searchJiraIssues(final List<String> issueKeys, final Long updatedWithinMinutes) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        Map<String, JiraIssue> jiraIssuesByKey = new HashMap<>();
+        JiraSearchRequestBuilder jiraSearchRequestBuilder = new JiraSearchRequestBuilder(serviceParameters);
+
+        for (List<String> issueKeysChunk : jiraSearchRequestBuilder.partition(issueKeys)) {
+            HttpUriRequest request = updatedWithinMinutes == null
+                    ? jiraSearchRequestBuilder.build(issueKeysChunk)
+                    : jiraSearchRequestBuilder.build(issueKeysChunk, updatedWithinMinutes);
+            HttpEntity httpEntity = executeRequest(request);
+
+            try {
+                for (JiraIssue jiraIssue : readContent(httpEntity, JiraEndpoint.SEARCH, responseReader::readSearchResult)) {
+                    if (jiraIssue.getKey() != null) {
+                        jiraIssuesByKey.put(jiraIssue.getKey(), jiraIssue);
+                        jiraIssueCache.put(jiraIssue);
+                    }
+                }
+            } finally {
+                httpRequestCanceller.release(request);
+            }
+        }
+        return jiraIssuesByKey;
+    }
+
+    private void addSummaryToJiraIssuesOneByOne(final List<JiraIssue> jiraIssueWithoutSummaryList, final List<Integer> issueIndexes, final JiraIssue[] jiraIssuesWithSummary) throws IOException {
+        List<CompletableFuture<JiraIssue>> jiraIssueFutures = new ArrayList<>();
+        for (int issueIndex : issueIndexes) {
+            jiraIssueFutures.add(addSummaryToJiraIssueAsync(jiraIssueWithoutSummaryList.get(issueIndex)));
+        }
+
+        try {
+            List<String> failures = new ArrayList<>();
+            for (int i = 0; i < jiraIssueFutures.size(); i++) {
+                int issueIndex = issueIndexes.get(i);
+                try {
+                    jiraIssuesWithSummary[issueIndex] = jiraIssueFutures.get(i).get();
+                } catch (ExecutionException e) {
+                    failures.add(jiraIssueWithoutSummaryList.get(issueIndex) + ": " + String.valueOf(e.getCause()));
+                }
+            }
+
+            if (!failures.isEmpty()) {
+                throw new JiraException(failures.size() + " of " + jiraIssueWithoutSummaryList.size() + " Jira issues could not be read: " + String.join("; ", failures));
+            }
+        } catch (InterruptedException e) {
+            jiraIssueFutures.forEach(jiraIssueFuture -> jiraIssueFuture.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading Jira issues", e);
+        }
+    }
+
+    private CompletableFuture<JiraIssue> addSummaryToJiraIssueAsync(JiraIssue jiraIssueWithoutSummary) {
+        if (jiraIssueWithoutSummary.getSelf() == null) {
+            return CompletableFuture.failedFuture(new JiraException("Jira issue has no url"));
+        }
+
+        return getJiraIssueFromUrlAsync(jiraIssueWithoutSummary.getSelf()).thenApply(jiraIssue -> {
+            if (jiraIssue.getSummary() == null) {
                 throw new JiraException("This issue has no summary");
             }
+            JiraIssue jiraIssueWithSummary = jiraIssueWithoutSummary.withFields(jiraIssue.getSummary(), jiraIssue.getStatus(), jiraIssue.getIssueType());
+            jiraIssueCache.put(jiraIssueWithSummary);
+            return jiraIssueWithSummary;
+        });
+    }
+
+    /**
+     * Returns the status of an issue, from the {@link JiraIssueCache} while it is fresh.
+     */
+    public String getXrayIssueStatus(final String xrayIssue) throws URISyntaxException, AuthenticationException, org.apache.http.auth.AuthenticationException, IOException {
+        JiraIssue jiraIssue = await(getXrayIssueAsync(xrayIssue));
+
+        if (jiraIssue.getStatus() != null) {
+            return jiraIssue.getStatus();
         } else {
-            throw new JiraException("Unexpected error when parsing Issue from Jira");
+            throw new JiraException("This issue has no status");
+        }
+    }
+
+    /**
+     * Returns the summary, status and issue type of an issue, from the {@link JiraIssueCache} while it is fresh.
+     */
+    private CompletableFuture<JiraIssue> getXrayIssueAsync(final String xrayIssue) {
+        JiraIssue cachedJiraIssue = jiraIssueCache.getIfFresh(xrayIssue);
+        if (cachedJiraIssue != null && cachedJiraIssue.getStatus() != null) {
+            return CompletableFuture.completedFuture(cachedJiraIssue);
+        }
+
+        // the summary is requested too so that the cached issue is complete
+        JiraIssueRequestBuilder jiraIssueRequestBuilder = new JiraIssueRequestBuilder(serviceParameters).fields(XRAY_ISSUE_FIELD_SUMMARY, XRAY_ISSUE_FIELD_STATUS, XRAY_ISSUE_FIELD_ISSUE_TYPE);
+        HttpUriRequest request;
+        try {
+            request = jiraIssueRequestBuilder.build(xrayIssue);
+        } catch (URISyntaxException e) {
+            return CompletableFuture.failedFuture(e);
         }
+
+        return executeRequestAsync(request, this::readIssue).thenApply(jiraIssue -> {
+            jiraIssueCache.put(jiraIssue);
+            return jiraIssue;
+        });
+    }
+
+    @FunctionalInterface
+    private interface EntityReader<T> {
+        T read(HttpEntity httpEntity) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface ContentReader<T> {
+        T read(InputStream content) throws IOException;
     }
 }
@@ -0,0 +1,153 @@
+package com.dedalus.xraycucumber.service.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.dedalus.xraycucumber.service.model.JiraIssue;
+import com.intellij.openapi.application.ApplicationManager;
+
+/**
+ * Application level cache of the summary and status of Jira issues, by issue key.
+ * <p>
+ * An entry is fresh for {@link #DEFAULT_TIME_TO_LIVE} after it was read or revalidated. A stale entry is kept for
+ * {@link #DEFAULT_REVALIDATION_WINDOW} more so that it can be revalidated against the Jira {@code updated} field
+ * instead of being read again, then it is evicted. The least recently used entries are evicted beyond
+ * {@link #DEFAULT_MAX_ENTRIES}.
+ */
+public class JiraIssueCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 5000;
+    public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofMinutes(5);
+    public static final Duration DEFAULT_REVALIDATION_WINDOW = Duration.ofHours(1);
+
+    private final int maxEntries;
+    private final long timeToLiveMillis;
+    private final long revalidationWindowMillis;
+    private final LongSupplier clock;
+    private final Map<String, CachedJiraIssue> entries;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private long lastSweep;
+
+    public JiraIssueCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_TIME_TO_LIVE, DEFAULT_REVALIDATION_WINDOW, System::currentTimeMillis);
+    }
+
+    public JiraIssueCache(int maxEntries, Duration timeToLive, Duration revalidationWindow, LongSupplier clock) {
+        this.maxEntries = maxEntries;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.revalidationWindowMillis = revalidationWindow.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedJiraIssue> eldest) {
+                return size() > JiraIssueCache.this.maxEntries;
+            }
+        };
+        this.lastSweep = clock.getAsLong();
+    }
+
+    public static JiraIssueCache getInstance() {
+        return ApplicationManager.getApplication().getService(JiraIssueCache.class);
+    }
+
+    /**
+     * @return the cached issue if it is still fresh, null otherwise. Counts a hit or a miss.
+     */
+    public synchronized @Nullable JiraIssue getIfFresh(String issueKey) {
+        CachedJiraIssue cachedJiraIssue = entries.get(issueKey);
+        if (cachedJiraIssue != null && !isExpired(cachedJiraIssue)) {
+            hitCount.incrementAndGet();
+            return cachedJiraIssue.jiraIssue();
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * @return the cached issue if it is stale but can still be revalidated, null otherwise.
+     */
+    public synchronized @Nullable CachedJiraIssue getStale(String issueKey) {
+        CachedJiraIssue cachedJiraIssue = entries.get(issueKey);
+        if (cachedJiraIssue != null && isExpired(cachedJiraIssue) && !isEvictable(cachedJiraIssue)) {
+            return cachedJiraIssue;
+        }
+        return null;
+    }
+
+    /**
+     * Caches an issue read from Jira. Issues without a key or a summary are ignored.
+     */
+    public synchronized void put(JiraIssue jiraIssue) {
+        if (jiraIssue.getKey() == null || jiraIssue.getSummary() == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        entries.put(jiraIssue.getKey(), new CachedJiraIssue(jiraIssue, now));
+        sweep(now);
+    }
+
+    /**
+     * Marks a stale issue as fresh again, once Jira confirmed it was not updated since it was cached.
+     */
+    public synchronized void revalidate(String issueKey) {
+        CachedJiraIssue cachedJiraIssue = entries.get(issueKey);
+        if (cachedJiraIssue != null) {
+            entries.put(issueKey, new CachedJiraIssue(cachedJiraIssue.jiraIssue(), clock.getAsLong()));
+        }
+    }
+
+    public synchronized void invalidate(String issueKey) {
+        entries.remove(issueKey);
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the current time of the cache clock, in milliseconds.
+     */
+    public long now() {
+        return clock.getAsLong();
+    }
+
+    private boolean isExpired(CachedJiraIssue cachedJiraIssue) {
+        return clock.getAsLong() - cachedJiraIssue.validatedAt() > timeToLiveMillis;
+    }
+
+    private boolean isEvictable(CachedJiraIssue cachedJiraIssue) {
+        return clock.getAsLong() - cachedJiraIssue.validatedAt() > timeToLiveMillis + revalidationWindowMillis;
+    }
+
+    private void sweep(long now) {
+        // a full pass at most once per time to live keeps put() cheap on large caches
+        if (now - lastSweep > timeToLiveMillis) {
+            entries.values().removeIf(this::isEvictable);
+            lastSweep = now;
+        }
+    }
+
+    /**
+     * @param validatedAt the time, in milliseconds, the issue was last read or revalidated.
+     */
+    public record CachedJiraIssue(JiraIssue jiraIssue, long validatedAt) {
+    }
+}
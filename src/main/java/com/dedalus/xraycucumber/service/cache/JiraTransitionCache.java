@@ -0,0 +1,53 @@
+package com.dedalus.xraycucumber.service.cache;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.application.ApplicationManager;
+
+/**
+ * Application level cache of the id of the transition that closes an issue, by workflow.
+ * <p>
+ * The transitions of an issue only depend on its project, its issue type and its current status, so the close
+ * transition found on one issue is reused for every issue sharing these three. Entries live until the transition is
+ * rejected by Jira or the Jira URL changes.
+ */
+public class JiraTransitionCache {
+
+    private final Map<String, String> closeTransitionIds = new ConcurrentHashMap<>();
+
+    public static JiraTransitionCache getInstance() {
+        return ApplicationManager.getApplication().getService(JiraTransitionCache.class);
+    }
+
+    /**
+     * @return the key of the workflow step of an issue, built from its project, issue type and status.
+     */
+    public static String workflowKey(String issueKey, @Nullable String issueType, @Nullable String status) {
+        int projectKeyEnd = issueKey.lastIndexOf('-');
+        String projectKey = projectKeyEnd > 0 ? issueKey.substring(0, projectKeyEnd) : issueKey;
+        return projectKey + "|" + issueType + "|" + (status != null ? status.toLowerCase() : null);
+    }
+
+    public @Nullable String getCloseTransitionId(String workflowKey) {
+        return closeTransitionIds.get(workflowKey);
+    }
+
+    public void putCloseTransitionId(String workflowKey, String transitionId) {
+        closeTransitionIds.put(workflowKey, transitionId);
+    }
+
+    public void invalidate(String workflowKey) {
+        closeTransitionIds.remove(workflowKey);
+    }
+
+    public void clear() {
+        closeTransitionIds.clear();
+    }
+
+    public int size() {
+        return closeTransitionIds.size();
+    }
+}
@@ -0,0 +1,163 @@
+package com.dedalus.xraycucumber.service.http;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongSupplier;
+
+/**
+ * Client side limit of the Jira requests in flight, adapted to what Jira sustains (additive increase, multiplicative
+ * decrease).
+ * <p>
+ * Every successful response raises the limit by {@code 1 / limit}, that is by one request per round of requests.
+ * A throttled response (429 or 503) halves it, and a response much slower than the usual latency lowers it by
+ * 10%. The limit is lowered at most once per observed latency, so that the responses of requests sent before the
+ * decrease don't lower it again. It stays between a minimum of 1 and the configured maximum.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public static final int DEFAULT_INITIAL_LIMIT = 4;
+
+    private static final int MIN_LIMIT = 1;
+    private static final double THROTTLED_DECREASE = 0.5;
+    private static final double LATENCY_DECREASE = 0.9;
+    // a response slower than this factor of the usual latency is a sign of congestion
+    private static final double LATENCY_TOLERANCE = 3.0;
+    // the usual latency drifts up slowly so that a lasting slowdown of Jira becomes the new normal
+    private static final double BASELINE_DRIFT = 0.01;
+
+    public enum Outcome {
+        /** Jira answered the request, whatever the status. */
+        SUCCESS,
+        /** Jira asked to slow down. */
+        THROTTLED,
+        /** The request got no response, e.g. it was aborted; it says nothing about the load of Jira. */
+        DROPPED
+    }
+
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+    private final Queue<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+    private double baselineLatencyNanos = -1;
+    private long lastDecreaseNanos;
+    private long lastLatencyNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit) {
+        this(initialLimit, maxLimit, System::nanoTime);
+    }
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit, LongSupplier nanoClock) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.limit = Math.max(MIN_LIMIT, Math.min(initialLimit, this.maxLimit));
+        this.nanoClock = nanoClock;
+        this.lastDecreaseNanos = nanoClock.getAsLong();
+    }
+
+    public static AdaptiveConcurrencyLimiter unlimited() {
+        return new AdaptiveConcurrencyLimiter(Integer.MAX_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Counts one more request in flight once fewer requests than the limit are in flight. The waiting requests get
+     * their slot in order, as the requests in flight are released.
+     *
+     * @return a future completed when the slot is taken; it must then be released.
+     */
+    public synchronized CompletableFuture<Void> acquireAsync() {
+        if (waiters.isEmpty() && inFlight < getLimit()) {
+            inFlight++;
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> waiter = new CompletableFuture<>();
+        waiters.add(waiter);
+        return waiter;
+    }
+
+    /**
+     * Counts one more request in flight if the limit allows it.
+     *
+     * @return false if the limit is reached.
+     */
+    public synchronized boolean tryAcquire() {
+        if (!waiters.isEmpty() || inFlight >= getLimit()) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Counts a request out and adapts the limit to its outcome.
+     *
+     * @param latencyNanos the time to the response, or a negative value when it is not comparable with the other
+     *                     requests, such as an upload, and should not be used as a signal.
+     */
+    public void release(Outcome outcome, long latencyNanos) {
+        // the waiters are completed outside the lock, their continuations may call the limiter again
+        for (CompletableFuture<Void> waiter : releaseAndGrantSlots(outcome, latencyNanos)) {
+            waiter.complete(null);
+        }
+    }
+
+    private synchronized List<CompletableFuture<Void>> releaseAndGrantSlots(Outcome outcome, long latencyNanos) {
+        inFlight = Math.max(0, inFlight - 1);
+        if (latencyNanos >= 0) {
+            lastLatencyNanos = latencyNanos;
+        }
+
+        switch (outcome) {
+            case THROTTLED -> decrease(THROTTLED_DECREASE);
+            case SUCCESS -> {
+                if (latencyNanos >= 0 && isCongested(latencyNanos)) {
+                    decrease(LATENCY_DECREASE);
+                } else {
+                    limit = Math.min(maxLimit, limit + 1 / limit);
+                }
+            }
+            case DROPPED -> {
+            }
+        }
+
+        List<CompletableFuture<Void>> grantedWaiters = new ArrayList<>();
+        while (!waiters.isEmpty() && inFlight < getLimit()) {
+            inFlight++;
+            grantedWaiters.add(waiters.poll());
+        }
+        return grantedWaiters;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getWaiting() {
+        return waiters.size();
+    }
+
+    private boolean isCongested(long latencyNanos) {
+        if (baselineLatencyNanos < 0 || latencyNanos < baselineLatencyNanos) {
+            baselineLatencyNanos = latencyNanos;
+            return false;
+        }
+        boolean congested = latencyNanos > baselineLatencyNanos * LATENCY_TOLERANCE;
+        baselineLatencyNanos += (latencyNanos - baselineLatencyNanos) * BASELINE_DRIFT;
+        return congested;
+    }
+
+    private void decrease(double factor) {
+        long now = nanoClock.getAsLong();
+        if (now - lastDecreaseNanos < lastLatencyNanos) {
+            return;
+        }
+        limit = Math.max(MIN_LIMIT, limit * factor);
+        lastDecreaseNanos = now;
+    }
+}
@@ -0,0 +1,176 @@
+package com.dedalus.xraycucumber.service.http;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+
+/**
+ * Reads the content of Jira responses within a size limit, so that an unexpected payload, such as the HTML page of a
+ * proxy, is never read whole.
+ * <p>
+ * The content is always released: the rest of a short response is read so that its connection goes back to the pool,
+ * while the connection of a longer one is aborted rather than read to the end.
+ */
+public final class BoundedResponseContent {
+
+    public static final long DEFAULT_MAX_RESPONSE_BYTES = 16 * 1024 * 1024;
+
+    // the rest of a response shorter than this is read to keep the connection, a longer one is dropped
+    private static final int MAX_DRAIN_BYTES = 64 * 1024;
+
+    private BoundedResponseContent() {
+    }
+
+    /**
+     * Opens the content of a response. Reading fails with an {@link IOException} once more than {@code maxBytes}
+     * bytes are read, and closing the stream releases the connection.
+     */
+    public static InputStream open(HttpEntity httpEntity, long maxBytes) throws IOException {
+        if (httpEntity.getContentLength() > maxBytes) {
+            discard(httpEntity);
+            throw tooLarge(maxBytes);
+        }
+        InputStream content = httpEntity.getContent();
+        if (content == null) {
+            return InputStream.nullInputStream();
+        }
+        return new LimitedInputStream(content, maxBytes);
+    }
+
+    /**
+     * Reads at most {@code maxBytes} bytes of a response, such as an error message, and releases the rest.
+     */
+    public static byte[] readPrefix(HttpEntity httpEntity, int maxBytes) throws IOException {
+        if (httpEntity == null) {
+            return new byte[0];
+        }
+        InputStream content = httpEntity.getContent();
+        if (content == null) {
+            return new byte[0];
+        }
+        boolean atEnd = false;
+        try {
+            byte[] prefix = content.readNBytes(maxBytes);
+            atEnd = prefix.length < maxBytes;
+            return prefix;
+        } finally {
+            release(content, atEnd);
+        }
+    }
+
+    /**
+     * Releases a response whose content is not needed.
+     */
+    public static void discard(HttpEntity httpEntity) throws IOException {
+        if (httpEntity != null && httpEntity.isStreaming()) {
+            InputStream content = httpEntity.getContent();
+            if (content != null) {
+                release(content, false);
+            }
+        }
+    }
+
+    private static void release(InputStream content, boolean atEnd) throws IOException {
+        if (!atEnd && !drain(content) && content instanceof ConnectionReleaseTrigger connectionReleaseTrigger) {
+            connectionReleaseTrigger.abortConnection();
+            return;
+        }
+        content.close();
+    }
+
+    /**
+     * @return true if the end of the content was reached within {@link #MAX_DRAIN_BYTES}.
+     */
+    private static boolean drain(InputStream content) {
+        try {
+            byte[] buffer = new byte[8192];
+            long drained = 0;
+            int read;
+            while (drained <= MAX_DRAIN_BYTES && (read = content.read(buffer)) >= 0) {
+                drained += read;
+            }
+            return drained <= MAX_DRAIN_BYTES;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static IOException tooLarge(long maxBytes) {
+        return new IOException("The Jira response is larger than " + maxBytes + " bytes");
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long maxBytes;
+        private long remaining;
+        private boolean atEnd;
+
+        LimitedInputStream(InputStream content, long maxBytes) {
+            super(content);
+            this.maxBytes = maxBytes;
+            this.remaining = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining == 0) {
+                return checkEnd();
+            }
+            int read = super.read();
+            if (read < 0) {
+                atEnd = true;
+            } else {
+                remaining--;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (remaining == 0) {
+                return checkEnd();
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read < 0) {
+                atEnd = true;
+            } else {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            // skipped bytes count against the limit as well
+            byte[] buffer = new byte[(int) Math.min(8192, Math.max(1, count))];
+            long skipped = 0;
+            while (skipped < count) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, count - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public void close() throws IOException {
+            release(in, atEnd);
+        }
+
+        private int checkEnd() throws IOException {
+            if (super.read() < 0) {
+                atEnd = true;
+                return -1;
+            }
+            throw tooLarge(maxBytes);
+        }
+    }
+}
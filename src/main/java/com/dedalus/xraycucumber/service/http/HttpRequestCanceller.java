@@ -0,0 +1,46 @@
+package com.dedalus.xraycucumber.service.http;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * Keeps track of the requests in flight so that they can all be aborted at once when the user cancels a
+ * synchronization. Aborting closes the underlying connection, which a blocked socket read does not get from a
+ * thread interruption.
+ */
+public class HttpRequestCanceller {
+
+    private final Set<HttpUriRequest> inFlightRequests = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    /**
+     * Registers a request about to be executed. Once cancelled, every new request is aborted right away so that
+     * its execution fails without reaching the server.
+     */
+    public void register(HttpUriRequest request) {
+        inFlightRequests.add(request);
+        if (cancelled) {
+            request.abort();
+        }
+    }
+
+    /**
+     * Forgets a request whose response has been fully read.
+     */
+    public void release(HttpUriRequest request) {
+        inFlightRequests.remove(request);
+    }
+
+    public void cancel() {
+        cancelled = true;
+        for (HttpUriRequest request : inFlightRequests) {
+            request.abort();
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -2,45 +2,239 @@ package com.dedalus.xraycucumber.service.http;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.naming.AuthenticationException;
 
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpResponse;
 import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.auth.BasicScheme;
-import org.apache.http.util.EntityUtils;
+import org.apache.http.entity.ContentType;
 
-import com.intellij.credentialStore.Credentials;
+import com.dedalus.xraycucumber.exceptions.HttpStatusException;
+import com.dedalus.xraycucumber.service.metrics.JiraEndpoint;
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+import com.dedalus.xraycucumber.service.metrics.MeteredEntity;
+import com.dedalus.xraycucumber.service.metrics.OperationMetrics;
+import com.dedalus.xraycucumber.service.response.JiraErrorResponseReader;
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
 
+/**
+ * Executes the Jira requests, within the rate of the {@link TokenBucketRateLimiter} and the concurrency of the
+ * {@link AdaptiveConcurrencyLimiter}, retrying the throttled or temporarily failing ones as allowed by the
+ * {@link RetryPolicy}.
+ * <p>
+ * Requests are sent asynchronously: waiting for the rate limit, for a free slot of the concurrency limit or before
+ * a retry holds no thread. The exchange itself is blocking: the request builders, the entities and the response
+ * readers are built on Apache HttpClient 4, so a request on the wire holds a thread of the executor until its
+ * response is received. Moving to the non-blocking {@code java.net.http.HttpClient} of the JDK would mean rewriting
+ * all of them; the concurrency limit keeps the threads taken bounded meanwhile. The synchronous methods wait for the
+ * asynchronous ones.
+ * <p>
+ * Every attempt is recorded in the {@link JiraMetrics} of its {@link JiraEndpoint}: latency, failures, retries,
+ * bytes sent and read, and the time spent waiting for the limits.
+ */
 public class HttpService {
 
+    private static final String HEADER_RETRY_AFTER = "Retry-After";
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+    private static final int DEFAULT_EXECUTOR_THREADS = JiraServiceParameters.DEFAULT_MAX_CONCURRENT_REQUESTS;
+    private static final long DEFAULT_EXECUTOR_KEEP_ALIVE_SECONDS = 60;
+    // shared by the services built without an executor, the exchanges beyond its threads wait in its queue
+    private static final Executor DEFAULT_EXECUTOR = createDefaultExecutor();
+
     private final HttpClient httpClient;
+    private final RetryPolicy retryPolicy;
+    private final TokenBucketRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final Executor executor;
+    private final JiraMetrics metrics;
+    private final JiraErrorResponseReader errorResponseReader = new JiraErrorResponseReader();
 
     public HttpService(HttpClient httpClient) {
+        this(httpClient, RetryPolicy.none(), TokenBucketRateLimiter.unlimited());
+    }
+
+    public HttpService(HttpClient httpClient, RetryPolicy retryPolicy, TokenBucketRateLimiter rateLimiter) {
+        this(httpClient, retryPolicy, rateLimiter, new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimiter.DEFAULT_INITIAL_LIMIT, DEFAULT_EXECUTOR_THREADS),
+                DEFAULT_EXECUTOR, new JiraMetrics());
+    }
+
+    /**
+     * @param concurrencyLimiter bounds the requests in flight, hence the threads of the executor taken at once.
+     * @param executor           runs the blocking exchanges and the continuations of the delayed attempts.
+     */
+    public HttpService(HttpClient httpClient, RetryPolicy retryPolicy, TokenBucketRateLimiter rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter, Executor executor, JiraMetrics metrics) {
         this.httpClient = httpClient;
+        this.retryPolicy = retryPolicy;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    private static Executor createDefaultExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(DEFAULT_EXECUTOR_THREADS, DEFAULT_EXECUTOR_THREADS, DEFAULT_EXECUTOR_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "Jira HTTP request");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
-    public HttpEntity executeRequest(HttpUriRequest request, Credentials credentials) throws IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
-        addAuthentication(request, credentials);
-        HttpResponse httpResponse = httpClient.execute(request);
-        HttpEntity httpEntity = httpResponse.getEntity();
+    public JiraMetrics getMetrics() {
+        return metrics;
+    }
 
-        validateHttpResponse(httpResponse, httpEntity);
-        return httpEntity;
+    public HttpEntity executeRequest(HttpUriRequest request, String userName, String password) throws IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        return await(request, executeRequestAsync(request, userName, password));
     }
 
     public HttpEntity executeRequest(HttpUriRequest request, String token) throws IOException, AuthenticationException {
+        return await(request, executeRequestAsync(request, token));
+    }
+
+    /**
+     * Sends a request without blocking the caller. The future completes with the entity of the successful response,
+     * or exceptionally with the {@link IOException}, {@link AuthenticationException} or {@link HttpStatusException}
+     * the synchronous call would throw.
+     */
+    public CompletableFuture<HttpEntity> executeRequestAsync(HttpUriRequest request, String userName, String password) throws AuthenticationException, org.apache.http.auth.AuthenticationException {
+        addAuthentication(request, userName, password);
+        return attempt(request, 0, System.nanoTime());
+    }
+
+    public CompletableFuture<HttpEntity> executeRequestAsync(HttpUriRequest request, String token) {
         addAuthentication(request, token);
-        HttpResponse httpResponse = httpClient.execute(request);
-        HttpEntity httpEntity = httpResponse.getEntity();
+        return attempt(request, 0, System.nanoTime());
+    }
 
-        validateHttpResponse(httpResponse, httpEntity);
-        return httpEntity;
+    /**
+     * @param queuedNanos when the attempt started waiting for the limits, a value of {@link System#nanoTime()}.
+     */
+    private CompletableFuture<HttpEntity> attempt(HttpUriRequest request, int retryCount, long queuedNanos) {
+        long rateLimitWaitNanos = rateLimiter.tryAcquire();
+        if (rateLimitWaitNanos > 0) {
+            return CompletableFuture.runAsync(() -> { }, delayedExecutor(rateLimitWaitNanos, TimeUnit.NANOSECONDS))
+                    .thenCompose(ignored -> attempt(request, retryCount, queuedNanos));
+        }
+        return concurrencyLimiter.acquireAsync()
+                .thenApplyAsync(ignored -> executeWithinConcurrencyLimit(request, queuedNanos), executor)
+                .thenCompose(httpResponse -> handleResponse(request, httpResponse, retryCount));
+    }
+
+    private HttpResponse executeWithinConcurrencyLimit(HttpUriRequest request, long queuedNanos) {
+        OperationMetrics endpointMetrics = metrics.endpoint(JiraEndpoint.of(request));
+        AdaptiveConcurrencyLimiter.Outcome outcome = AdaptiveConcurrencyLimiter.Outcome.DROPPED;
+        int statusCode = -1;
+        long start = System.nanoTime();
+        endpointMetrics.recordWait(start - queuedNanos);
+        try {
+            HttpResponse httpResponse = httpClient.execute(request);
+            statusCode = httpResponse != null && httpResponse.getStatusLine() != null ? httpResponse.getStatusLine().getStatusCode() : -1;
+            outcome = statusCode == SC_TOO_MANY_REQUESTS || statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE
+                    ? AdaptiveConcurrencyLimiter.Outcome.THROTTLED
+                    : AdaptiveConcurrencyLimiter.Outcome.SUCCESS;
+            if (httpResponse != null && httpResponse.getEntity() != null) {
+                httpResponse.setEntity(new MeteredEntity(httpResponse.getEntity(), endpointMetrics));
+            }
+            return httpResponse;
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        } finally {
+            long durationNanos = System.nanoTime() - start;
+            endpointMetrics.recordLatency(durationNanos);
+            endpointMetrics.recordBytesOut(getRequestContentLength(request));
+            if (statusCode < 0 || statusCode >= HttpStatus.SC_BAD_REQUEST) {
+                endpointMetrics.recordFailure();
+            }
+            // only the latency of reads is comparable from one request to the next, uploads vary with their size
+            long latencyNanos = HttpGet.METHOD_NAME.equals(request.getMethod()) ? durationNanos : -1;
+            concurrencyLimiter.release(outcome, latencyNanos);
+        }
+    }
+
+    private static long getRequestContentLength(HttpUriRequest request) {
+        if (request instanceof HttpEntityEnclosingRequest entityEnclosingRequest && entityEnclosingRequest.getEntity() != null) {
+            return Math.max(0, entityEnclosingRequest.getEntity().getContentLength());
+        }
+        return 0;
+    }
+
+    private CompletableFuture<HttpEntity> handleResponse(HttpUriRequest request, HttpResponse httpResponse, int retryCount) {
+        HttpEntity httpEntity = httpResponse != null ? httpResponse.getEntity() : null;
+        try {
+            StatusLine statusLine = httpResponse != null ? httpResponse.getStatusLine() : null;
+            if (statusLine != null) {
+                Header retryAfterHeader = httpResponse.getFirstHeader(HEADER_RETRY_AFTER);
+                String retryAfter = retryAfterHeader != null ? retryAfterHeader.getValue() : null;
+                if (retryPolicy.shouldRetry(request, statusLine.getStatusCode(), retryAfter, retryCount)) {
+                    // release the pooled connection before waiting
+                    BoundedResponseContent.discard(httpEntity);
+                    metrics.endpoint(JiraEndpoint.of(request)).recordRetry();
+                    return CompletableFuture.runAsync(() -> { }, delayedExecutor(retryPolicy.delayMillis(retryCount, retryAfter), TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> attempt(request, retryCount + 1, System.nanoTime()));
+                }
+            }
+
+            validateHttpResponse(httpResponse, httpEntity);
+            return CompletableFuture.completedFuture(httpEntity);
+        } catch (IOException | AuthenticationException | RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Returns the executor running a task once a delay is over, used to wait for the rate limit or before a retry
+     * without holding a thread.
+     */
+    protected Executor delayedExecutor(long delay, TimeUnit unit) {
+        return CompletableFuture.delayedExecutor(delay, unit, executor);
+    }
+
+    /**
+     * Waits for an asynchronous request. An interrupted caller, e.g. a cancelled synchronization, aborts the request.
+     */
+    private HttpEntity await(HttpUriRequest request, CompletableFuture<HttpEntity> future) throws IOException, AuthenticationException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            request.abort();
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for Jira", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (cause instanceof AuthenticationException authenticationException) {
+                throw authenticationException;
+            }
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IOException(cause);
+        }
     }
 
     private void validateHttpResponse(HttpResponse httpResponse, HttpEntity httpEntity) throws IOException, AuthenticationException {
@@ -59,6 +253,8 @@ public class HttpService {
 
     private void handleStatusCodes(int statusCode, HttpEntity httpEntity) throws AuthenticationException, IllegalStateException, IOException {
         if (statusCode == HttpStatus.SC_UNAUTHORIZED) {
+            // release the pooled connection before giving up on this response
+            BoundedResponseContent.discard(httpEntity);
             throw new AuthenticationException("Jira refused authentication (HTTP 401)");
         }
 
@@ -68,19 +264,20 @@ public class HttpService {
     }
 
     private void handleNonOkStatus(HttpEntity httpEntity, int statusCode) throws IOException {
-        // Extracting error message from HTTP entity if possible, otherwise using a default message.
-        String message = "Unexpected error";
+        // Extracting a short error message from the start of the HTTP entity if possible, otherwise using a default message.
+        String message = null;
         if (httpEntity != null) {
-            message = EntityUtils.toString(httpEntity);
+            byte[] body = BoundedResponseContent.readPrefix(httpEntity, JiraErrorResponseReader.MAX_ERROR_BYTES);
+            message = errorResponseReader.readErrorSummary(body, ContentType.getLenient(httpEntity));
         }
-        throw new IllegalStateException(message + " (HTTP " + statusCode + ")");
+        throw new HttpStatusException(message != null ? message : "Unexpected error", statusCode);
     }
 
-    public void addAuthentication(HttpUriRequest request, Credentials credentials) throws AuthenticationException, org.apache.http.auth.AuthenticationException {
-        String userName = Optional.ofNullable(credentials.getUserName()).orElseThrow(() -> new AuthenticationException("Username is required"));
-        String password = Optional.ofNullable(credentials.getPasswordAsString()).orElseThrow(() -> new AuthenticationException("Password is required"));
+    public void addAuthentication(HttpUriRequest request, String userName, String password) throws AuthenticationException, org.apache.http.auth.AuthenticationException {
+        String requiredUserName = Optional.ofNullable(userName).orElseThrow(() -> new AuthenticationException("Username is required"));
+        String requiredPassword = Optional.ofNullable(password).orElseThrow(() -> new AuthenticationException("Password is required"));
 
-        UsernamePasswordCredentials usernamePasswordCredentials = new UsernamePasswordCredentials(userName, password);
+        UsernamePasswordCredentials usernamePasswordCredentials = new UsernamePasswordCredentials(requiredUserName, requiredPassword);
         request.addHeader(createBasicScheme().authenticate(usernamePasswordCredentials, request, null));
     }
 
@@ -0,0 +1,37 @@
+package com.dedalus.xraycucumber.service.http;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+/**
+ * Creates the pooled, keep-alive HTTP clients used to talk to Jira, in the IDE and from the command line.
+ */
+public final class JiraHttpClientFactory {
+
+    public static final int DEFAULT_MAX_CONNECTIONS = 20;
+    public static final int DEFAULT_IDLE_CONNECTION_TIMEOUT = 30;
+
+    private JiraHttpClientFactory() {
+    }
+
+    /**
+     * @param maxConnections        the size of the connection pool.
+     * @param idleConnectionTimeout the time after which an idle connection is closed, in seconds.
+     */
+    public static CloseableHttpClient createHttpClient(int maxConnections, int idleConnectionTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleConnectionTimeout, TimeUnit.SECONDS)
+                .build();
+    }
+}
@@ -0,0 +1,111 @@
+package com.dedalus.xraycucumber.service.http;
+
+import java.io.IOException;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.impl.client.CloseableHttpClient;
+
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
+import com.dedalus.xraycucumber.settings.XrayCucumberSettingsState;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.util.concurrency.AppExecutorUtil;
+
+/**
+ * Application level owner of the HTTP client used to talk to Jira.
+ * A single pooled, keep-alive client is shared by every action so that TCP and TLS handshakes are paid once,
+ * and it is closed when the plugin is unloaded. The request rate limit is shared the same way, so that concurrent
+ * synchronizations stay within the rate together.
+ */
+public class JiraHttpClientService implements Disposable {
+
+    private static final Logger LOG = Logger.getInstance(JiraHttpClientService.class);
+
+    public static final int DEFAULT_MAX_CONNECTIONS = JiraHttpClientFactory.DEFAULT_MAX_CONNECTIONS;
+    public static final int DEFAULT_IDLE_CONNECTION_TIMEOUT = JiraHttpClientFactory.DEFAULT_IDLE_CONNECTION_TIMEOUT;
+    public static final int DEFAULT_MAX_REQUESTS_PER_SECOND = TokenBucketRateLimiter.DEFAULT_PERMITS_PER_SECOND;
+
+    private CloseableHttpClient httpClient;
+    private TokenBucketRateLimiter rateLimiter;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    public static JiraHttpClientService getInstance() {
+        return ApplicationManager.getApplication().getService(JiraHttpClientService.class);
+    }
+
+    /**
+     * Returns the shared client, creating it from the current settings on first use.
+     */
+    public synchronized HttpClient getHttpClient() {
+        if (httpClient == null) {
+            XrayCucumberSettingsState settings = XrayCucumberSettingsState.getInstance();
+            int maxConnections = settings != null && settings.maxConnections > 0 ? settings.maxConnections : DEFAULT_MAX_CONNECTIONS;
+            int idleTimeout = settings != null && settings.idleConnectionTimeout > 0 ? settings.idleConnectionTimeout : DEFAULT_IDLE_CONNECTION_TIMEOUT;
+            httpClient = JiraHttpClientFactory.createHttpClient(maxConnections, idleTimeout);
+        }
+        return httpClient;
+    }
+
+    /**
+     * Returns an {@link HttpService} on the shared client and limiters, retrying as configured in the settings.
+     * Its requests run on the pooled application executor and are recorded in the application {@link JiraMetrics}.
+     */
+    public synchronized HttpService createHttpService() {
+        XrayCucumberSettingsState settings = XrayCucumberSettingsState.getInstance();
+        int maxRetries = settings != null ? settings.maxRetries : RetryPolicy.DEFAULT_MAX_RETRIES;
+        return new HttpService(getHttpClient(), new RetryPolicy(maxRetries), getRateLimiter(), getConcurrencyLimiter(), AppExecutorUtil.getAppExecutorService(), JiraMetrics.getInstance());
+    }
+
+    /**
+     * Returns the shared concurrency limiter, creating it on first use. It adapts the number of requests in flight
+     * to the responses of Jira, up to the max concurrent requests of the settings.
+     */
+    public synchronized AdaptiveConcurrencyLimiter getConcurrencyLimiter() {
+        if (concurrencyLimiter == null) {
+            XrayCucumberSettingsState settings = XrayCucumberSettingsState.getInstance();
+            int maxConcurrentRequests = settings != null && settings.maxConcurrentRequests > 0 ? settings.maxConcurrentRequests : JiraServiceParameters.DEFAULT_MAX_CONCURRENT_REQUESTS;
+            concurrencyLimiter = new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimiter.DEFAULT_INITIAL_LIMIT, maxConcurrentRequests);
+        }
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Returns the shared rate limiter, creating it from the current settings on first use.
+     */
+    public synchronized TokenBucketRateLimiter getRateLimiter() {
+        if (rateLimiter == null) {
+            XrayCucumberSettingsState settings = XrayCucumberSettingsState.getInstance();
+            int maxRequestsPerSecond = settings != null ? settings.maxRequestsPerSecond : DEFAULT_MAX_REQUESTS_PER_SECOND;
+            rateLimiter = new TokenBucketRateLimiter(maxRequestsPerSecond);
+        }
+        return rateLimiter;
+    }
+
+    /**
+     * Closes the current client so that the next call to {@link #getHttpClient()} picks up new pool settings,
+     * and drops the limiters so that the next ones pick up the new limits.
+     */
+    public synchronized void reset() {
+        close();
+        rateLimiter = null;
+        concurrencyLimiter = null;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        close();
+    }
+
+    private void close() {
+        if (httpClient != null) {
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                LOG.warn("Unable to close the Jira HTTP client", e);
+            }
+            httpClient = null;
+        }
+    }
+}
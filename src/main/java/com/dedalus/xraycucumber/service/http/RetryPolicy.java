@@ -0,0 +1,117 @@
+package com.dedalus.xraycucumber.service.http;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.DateUtils;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Decides whether a throttled or temporarily failing Jira response is retried, and how long to wait before.
+ * <p>
+ * Idempotent methods are retried on 429, 502, 503 and 504. Other methods, such as the feature import, are only
+ * retried when Jira tells the request was not processed: on 429, or on 503 with a {@code Retry-After} header; and
+ * never when their body can't be sent again. The wait honors {@code Retry-After}, otherwise it is an exponential
+ * backoff with full jitter. A {@code Retry-After} longer than {@link #MAX_RETRY_AFTER_MILLIS} is not waited for.
+ */
+public class RetryPolicy {
+
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final long DEFAULT_BASE_DELAY_MILLIS = 500;
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 30_000;
+    public static final long MAX_RETRY_AFTER_MILLIS = 60_000;
+
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+
+    private final int maxRetries;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final DoubleSupplier random;
+    private final LongSupplier clock;
+
+    public RetryPolicy(int maxRetries) {
+        this(maxRetries, DEFAULT_BASE_DELAY_MILLIS, DEFAULT_MAX_DELAY_MILLIS, () -> ThreadLocalRandom.current().nextDouble(), System::currentTimeMillis);
+    }
+
+    public RetryPolicy(int maxRetries, long baseDelayMillis, long maxDelayMillis, DoubleSupplier random, LongSupplier clock) {
+        this.maxRetries = Math.max(0, maxRetries);
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.random = random;
+        this.clock = clock;
+    }
+
+    public static RetryPolicy none() {
+        return new RetryPolicy(0);
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @param retryCount the number of retries already made for this request.
+     * @param retryAfter the {@code Retry-After} header of the response, null if it has none.
+     */
+    public boolean shouldRetry(HttpUriRequest request, int statusCode, @Nullable String retryAfter, int retryCount) {
+        if (retryCount >= maxRetries || request.isAborted() || !isRepeatable(request)) {
+            return false;
+        }
+        long retryAfterMillis = parseRetryAfterMillis(retryAfter);
+        if (retryAfterMillis > MAX_RETRY_AFTER_MILLIS) {
+            return false;
+        }
+
+        if (IDEMPOTENT_METHODS.contains(request.getMethod())) {
+            return statusCode == SC_TOO_MANY_REQUESTS || statusCode == HttpStatus.SC_BAD_GATEWAY
+                    || statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE || statusCode == HttpStatus.SC_GATEWAY_TIMEOUT;
+        }
+        return statusCode == SC_TOO_MANY_REQUESTS || (statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE && retryAfterMillis >= 0);
+    }
+
+    /**
+     * @param retryCount the number of retries already made for this request.
+     * @param retryAfter the {@code Retry-After} header of the response, null if it has none.
+     * @return the time to wait before the next attempt, in milliseconds.
+     */
+    public long delayMillis(int retryCount, @Nullable String retryAfter) {
+        long retryAfterMillis = parseRetryAfterMillis(retryAfter);
+        if (retryAfterMillis >= 0) {
+            return retryAfterMillis;
+        }
+        long exponentialDelay = Math.min(maxDelayMillis, baseDelayMillis << Math.min(retryCount, 20));
+        return (long) (random.getAsDouble() * exponentialDelay);
+    }
+
+    /**
+     * @return the wait asked by a {@code Retry-After} header given in seconds or as an HTTP date, -1 if there is none.
+     */
+    long parseRetryAfterMillis(@Nullable String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return -1;
+        }
+        String value = retryAfter.trim();
+        try {
+            return Math.max(0, Long.parseLong(value) * 1000);
+        } catch (NumberFormatException e) {
+            Date retryDate = DateUtils.parseDate(value);
+            return retryDate != null ? Math.max(0, retryDate.getTime() - clock.getAsLong()) : -1;
+        }
+    }
+
+    private boolean isRepeatable(HttpUriRequest request) {
+        if (request instanceof HttpEntityEnclosingRequest entityEnclosingRequest) {
+            HttpEntity entity = entityEnclosingRequest.getEntity();
+            return entity == null || entity.isRepeatable();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,79 @@
+package com.dedalus.xraycucumber.service.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Client side limit of the request rate to Jira, shared by every request of the plugin.
+ * <p>
+ * The bucket holds up to one second of permits, so that short bursts go through at once while the sustained rate
+ * stays at {@code permitsPerSecond}. A rate of 0 or less disables the limit.
+ */
+public class TokenBucketRateLimiter {
+
+    public static final int DEFAULT_PERMITS_PER_SECOND = 20;
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LongSupplier nanoClock;
+    private double permitsPerSecond;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucketRateLimiter(double permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    public TokenBucketRateLimiter(double permitsPerSecond, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.permitsPerSecond = permitsPerSecond;
+        this.tokens = getCapacity();
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    public static TokenBucketRateLimiter unlimited() {
+        return new TokenBucketRateLimiter(0);
+    }
+
+    /**
+     * Takes a permit if one is available.
+     *
+     * @return 0 if a permit was taken, otherwise the time until the next permit, in nanoseconds.
+     */
+    public synchronized long tryAcquire() {
+        if (permitsPerSecond <= 0) {
+            return 0;
+        }
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) * NANOS_PER_SECOND / permitsPerSecond));
+    }
+
+    public synchronized double getPermitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * Changes the rate; the permits already in the bucket are kept, up to the new capacity.
+     */
+    public synchronized void setPermitsPerSecond(double permitsPerSecond) {
+        refill();
+        this.permitsPerSecond = permitsPerSecond;
+        tokens = Math.min(tokens, getCapacity());
+    }
+
+    private void refill() {
+        long now = nanoClock.getAsLong();
+        if (permitsPerSecond > 0) {
+            tokens = Math.min(getCapacity(), tokens + (now - lastRefill) / NANOS_PER_SECOND * permitsPerSecond);
+        }
+        lastRefill = now;
+    }
+
+    private double getCapacity() {
+        return Math.max(1, permitsPerSecond);
+    }
+}
@@ -0,0 +1,46 @@
+package com.dedalus.xraycucumber.service.metrics;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+
+/**
+ * The kinds of Jira requests the plugin sends, under which their metrics are recorded.
+ */
+public enum JiraEndpoint {
+    IMPORT("import"),
+    ISSUE("issue"),
+    SEARCH("search"),
+    TRANSITIONS("transitions"),
+    CLOSE_TRANSITION("close transition"),
+    OTHER("other");
+
+    private final String label;
+
+    JiraEndpoint(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static JiraEndpoint of(HttpUriRequest request) {
+        String path = request.getURI() != null ? request.getURI().getPath() : null;
+        if (path == null) {
+            return OTHER;
+        }
+        if (path.endsWith("/import/feature")) {
+            return IMPORT;
+        }
+        if (path.endsWith("/transitions")) {
+            return HttpGet.METHOD_NAME.equals(request.getMethod()) ? TRANSITIONS : CLOSE_TRANSITION;
+        }
+        if (path.endsWith("/search")) {
+            return SEARCH;
+        }
+        if (path.contains("/issue/")) {
+            return ISSUE;
+        }
+        return OTHER;
+    }
+}
@@ -0,0 +1,109 @@
+package com.dedalus.xraycucumber.service.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.stream.JsonWriter;
+import com.intellij.openapi.application.ApplicationManager;
+
+/**
+ * Application level metrics of the Jira requests, by {@link JiraEndpoint}, and of the stages of the synchronization,
+ * such as parsing the feature file or updating its tags.
+ * They are kept in memory until the IDE is closed or they are reset, shown in the Xray Metrics tool window and
+ * exported as JSON.
+ */
+public class JiraMetrics {
+
+    public static final String SYNC_PARSE = "sync: parse";
+    public static final String SYNC_TAG_UPDATE = "sync: tag update";
+    public static final String SYNC_REFORMAT = "sync: reformat";
+
+    private static final String PARSING_SUFFIX = " parsing";
+
+    private final Map<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    public static JiraMetrics getInstance() {
+        return ApplicationManager.getApplication().getService(JiraMetrics.class);
+    }
+
+    public OperationMetrics operation(String name) {
+        return operations.computeIfAbsent(name, OperationMetrics::new);
+    }
+
+    public OperationMetrics endpoint(JiraEndpoint endpoint) {
+        return operation(endpoint.getLabel());
+    }
+
+    /**
+     * The time spent reading the response of an endpoint, apart from waiting for it.
+     */
+    public OperationMetrics parsing(JiraEndpoint endpoint) {
+        return operation(endpoint.getLabel() + PARSING_SUFFIX);
+    }
+
+    /**
+     * Records the duration of an operation started at {@code startNanos}, a value of {@link System#nanoTime()}.
+     */
+    public void recordSince(String name, long startNanos) {
+        operation(name).recordLatency(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return the counters of every operation recorded so far, by name.
+     */
+    public List<OperationMetrics.Snapshot> snapshot() {
+        List<OperationMetrics.Snapshot> snapshots = new ArrayList<>();
+        for (OperationMetrics operationMetrics : operations.values()) {
+            snapshots.add(operationMetrics.snapshot());
+        }
+        snapshots.sort(Comparator.comparing(OperationMetrics.Snapshot::name));
+        return snapshots;
+    }
+
+    public void reset() {
+        operations.values().forEach(OperationMetrics::reset);
+    }
+
+    /**
+     * Writes the current counters as a JSON document; durations are in milliseconds.
+     */
+    public void writeJson(Writer writer) throws IOException {
+        try (JsonWriter jsonWriter = new JsonWriter(writer)) {
+            jsonWriter.setIndent("  ");
+            jsonWriter.beginObject();
+            jsonWriter.name("exportedAt").value(Instant.now().toString());
+            jsonWriter.name("operations").beginArray();
+            for (OperationMetrics.Snapshot snapshot : snapshot()) {
+                jsonWriter.beginObject();
+                jsonWriter.name("name").value(snapshot.name());
+                jsonWriter.name("count").value(snapshot.count());
+                jsonWriter.name("failures").value(snapshot.failures());
+                jsonWriter.name("retries").value(snapshot.retries());
+                jsonWriter.name("bytesIn").value(snapshot.bytesIn());
+                jsonWriter.name("bytesOut").value(snapshot.bytesOut());
+                jsonWriter.name("waitMillis").value(toMillis(snapshot.waitNanos()));
+                jsonWriter.name("latencyMillis").beginObject();
+                jsonWriter.name("mean").value(toMillis(snapshot.meanNanos()));
+                jsonWriter.name("p50").value(toMillis(snapshot.p50Nanos()));
+                jsonWriter.name("p95").value(toMillis(snapshot.p95Nanos()));
+                jsonWriter.name("p99").value(toMillis(snapshot.p99Nanos()));
+                jsonWriter.name("max").value(toMillis(snapshot.maxNanos()));
+                jsonWriter.endObject();
+                jsonWriter.endObject();
+            }
+            jsonWriter.endArray();
+            jsonWriter.endObject();
+        }
+    }
+
+    public static double toMillis(long nanos) {
+        return Math.round(nanos / (double) TimeUnit.MILLISECONDS.toNanos(1) * 1000) / 1000.0;
+    }
+}
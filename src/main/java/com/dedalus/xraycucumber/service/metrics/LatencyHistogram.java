@@ -0,0 +1,107 @@
+package com.dedalus.xraycucumber.service.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations, precise to 12.5% from a microsecond to hours.
+ * <p>
+ * Each power of two of microseconds is split into 8 buckets, so that recording is a couple of bit operations and an
+ * atomic increment, and percentiles are read from the bucket counts without keeping the samples.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    public void record(long durationNanos) {
+        long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(durationNanos));
+        buckets.incrementAndGet(bucketIndex(micros));
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return TimeUnit.MICROSECONDS.toNanos(totalMicros.sum());
+    }
+
+    public long getMaxNanos() {
+        return TimeUnit.MICROSECONDS.toNanos(maxMicros.get());
+    }
+
+    /**
+     * @param quantile between 0 and 1, e.g. 0.95 for the 95th percentile.
+     * @return the upper bound of the bucket holding the quantile, at most the max recorded; 0 if nothing is recorded.
+     */
+    public long getPercentileNanos(double quantile) {
+        long total = 0;
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long cumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulated += counts[i];
+            if (cumulated >= rank) {
+                return TimeUnit.MICROSECONDS.toNanos(Math.min(upperBoundMicros(i), maxMicros.get()));
+            }
+        }
+        return getMaxNanos();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundMicros(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKETS) {
+            return bucketIndex;
+        }
+        if (bucketIndex == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        return lowerBoundMicros(bucketIndex + 1) - 1;
+    }
+
+    private static long lowerBoundMicros(int bucketIndex) {
+        if (bucketIndex < SUB_BUCKETS) {
+            return bucketIndex;
+        }
+        int exponent = (bucketIndex - SUB_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS;
+        int subBucket = (bucketIndex - SUB_BUCKETS) % SUB_BUCKETS;
+        return (long) (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+}
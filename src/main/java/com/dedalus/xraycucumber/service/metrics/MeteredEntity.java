@@ -0,0 +1,79 @@
+package com.dedalus.xraycucumber.service.metrics;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * Response entity counting the bytes read from it into the {@link OperationMetrics} of its endpoint.
+ * Its content still releases or aborts the connection like the content it wraps.
+ */
+public class MeteredEntity extends HttpEntityWrapper {
+
+    private final OperationMetrics operationMetrics;
+
+    public MeteredEntity(HttpEntity wrappedEntity, OperationMetrics operationMetrics) {
+        super(wrappedEntity);
+        this.operationMetrics = operationMetrics;
+    }
+
+    @Override
+    public InputStream getContent() throws IOException {
+        InputStream content = super.getContent();
+        return content != null ? new MeteredInputStream(content) : null;
+    }
+
+    private class MeteredInputStream extends FilterInputStream implements ConnectionReleaseTrigger {
+
+        MeteredInputStream(InputStream content) {
+            super(content);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                operationMetrics.recordBytesIn(1);
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                operationMetrics.recordBytesIn(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long count) throws IOException {
+            long skipped = super.skip(count);
+            operationMetrics.recordBytesIn(skipped);
+            return skipped;
+        }
+
+        @Override
+        public void releaseConnection() throws IOException {
+            if (in instanceof ConnectionReleaseTrigger connectionReleaseTrigger) {
+                connectionReleaseTrigger.releaseConnection();
+            } else {
+                close();
+            }
+        }
+
+        @Override
+        public void abortConnection() throws IOException {
+            if (in instanceof ConnectionReleaseTrigger connectionReleaseTrigger) {
+                connectionReleaseTrigger.abortConnection();
+            } else {
+                close();
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.dedalus.xraycucumber.service.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of one kind of operation, such as the requests to an endpoint of Jira or a stage of the synchronization.
+ * Every counter is updated without locking, so that recording costs nothing noticeable on the request path.
+ */
+public class OperationMetrics {
+
+    private final String name;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public OperationMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void recordLatency(long durationNanos) {
+        latencies.record(durationNanos);
+    }
+
+    public void recordFailure() {
+        failures.increment();
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    public void recordBytesIn(long bytes) {
+        bytesIn.add(bytes);
+    }
+
+    public void recordBytesOut(long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    /**
+     * Records the time a request waited for the rate limit and for a free slot of the concurrency limit.
+     */
+    public void recordWait(long durationNanos) {
+        waitNanos.add(Math.max(0, durationNanos));
+    }
+
+    public Snapshot snapshot() {
+        long count = latencies.getCount();
+        return new Snapshot(name, count, failures.sum(), retries.sum(), bytesIn.sum(), bytesOut.sum(), waitNanos.sum(),
+                count > 0 ? latencies.getTotalNanos() / count : 0,
+                latencies.getPercentileNanos(0.50), latencies.getPercentileNanos(0.95), latencies.getPercentileNanos(0.99),
+                latencies.getMaxNanos());
+    }
+
+    public void reset() {
+        latencies.reset();
+        failures.reset();
+        retries.reset();
+        bytesIn.reset();
+        bytesOut.reset();
+        waitNanos.reset();
+    }
+
+    /**
+     * The counters of an operation at a point in time; durations are in nanoseconds.
+     */
+    public record Snapshot(String name, long count, long failures, long retries, long bytesIn, long bytesOut,
+                           long waitNanos, long meanNanos, long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+    }
+}
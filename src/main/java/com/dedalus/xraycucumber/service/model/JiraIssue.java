@@ -0,0 +1,81 @@
+package com.dedalus.xraycucumber.service.model;
+
+import java.util.Objects;
+
+/**
+ * The few fields of a Jira issue the plugin works with. Anything else returned by Jira is skipped while reading.
+ */
+public final class JiraIssue {
+
+    private final String key;
+    private final String self;
+    private final String summary;
+    private final String status;
+    private final String issueType;
+
+    public JiraIssue(String key, String self, String summary, String status) {
+        this(key, self, summary, status, null);
+    }
+
+    public JiraIssue(String key, String self, String summary, String status, String issueType) {
+        this.key = key;
+        this.self = self;
+        this.summary = summary;
+        this.status = status;
+        this.issueType = issueType;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getSelf() {
+        return self;
+    }
+
+    public String getSummary() {
+        return summary;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the name of the issue type, such as {@code Test}, null if it was not requested.
+     */
+    public String getIssueType() {
+        return issueType;
+    }
+
+    /**
+     * Returns a copy of this issue with the summary, status and issue type read from another representation of the same issue.
+     */
+    public JiraIssue withFields(String summary, String status, String issueType) {
+        return new JiraIssue(key, self, summary, status != null ? status : this.status, issueType != null ? issueType : this.issueType);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+
+        JiraIssue other = (JiraIssue) obj;
+
+        return Objects.equals(key, other.key) &&
+                Objects.equals(self, other.self) &&
+                Objects.equals(summary, other.summary) &&
+                Objects.equals(status, other.status) &&
+                Objects.equals(issueType, other.issueType);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(key, self, summary, status, issueType);
+    }
+
+    @Override
+    public String toString() {
+        return key != null ? key : String.valueOf(self);
+    }
+}
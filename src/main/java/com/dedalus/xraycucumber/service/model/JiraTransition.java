@@ -0,0 +1,11 @@
+package com.dedalus.xraycucumber.service.model;
+
+/**
+ * A workflow transition available on a Jira issue.
+ *
+ * @param id       the transition id to post to {@code /transitions}.
+ * @param name     the name of the transition, such as {@code Close Issue}.
+ * @param toStatus the name of the status the issue moves to, null if Jira did not return it.
+ */
+public record JiraTransition(String id, String name, String toStatus) {
+}
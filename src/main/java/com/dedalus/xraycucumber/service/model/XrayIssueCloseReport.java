@@ -0,0 +1,42 @@
+package com.dedalus.xraycucumber.service.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of closing several Xray issues: the issues closed, the ones left as they were because they were not
+ * open, and the ones that could not be closed with the reason why.
+ */
+public final class XrayIssueCloseReport {
+
+    private final List<String> closedIssueKeys;
+    private final Map<String, String> skippedIssueStatuses;
+    private final Map<String, String> failures;
+
+    public XrayIssueCloseReport(List<String> closedIssueKeys, Map<String, String> skippedIssueStatuses, Map<String, String> failures) {
+        this.closedIssueKeys = List.copyOf(closedIssueKeys);
+        // the maps keep the order of the issue keys, as the closed issues do
+        this.skippedIssueStatuses = Collections.unmodifiableMap(new LinkedHashMap<>(skippedIssueStatuses));
+        this.failures = Collections.unmodifiableMap(new LinkedHashMap<>(failures));
+    }
+
+    public List<String> getClosedIssueKeys() {
+        return closedIssueKeys;
+    }
+
+    /**
+     * @return the status of every issue that was not open, by issue key, in the order of the keys.
+     */
+    public Map<String, String> getSkippedIssueStatuses() {
+        return skippedIssueStatuses;
+    }
+
+    /**
+     * @return the error of every issue that could not be closed, by issue key, in the order of the keys.
+     */
+    public Map<String, String> getFailures() {
+        return failures;
+    }
+}
@@ -2,6 +2,7 @@ package com.dedalus.xraycucumber.service.request;
 
 import java.net.URISyntaxException;
 
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.utils.URIBuilder;
@@ -20,14 +21,24 @@ public class CloseXrayIssueRequestBuilder {
         this.serviceParameters = serviceParameters;
     }
 
-    public HttpUriRequest build(String xrayIssueId) throws URISyntaxException {
-        URIBuilder uriBuilder = new URIBuilder(serviceParameters.getUrl() + REST_ENDPOINT_CLOSE_ISSUE + xrayIssueId + "/transitions").addParameter("expand", "transitions.fields");
-        HttpPost request = new HttpPost(uriBuilder.build());
+    /**
+     * Builds the request listing the transitions available on an issue, to discover the one that closes it.
+     */
+    public HttpUriRequest buildTransitionsRequest(String xrayIssueId) throws URISyntaxException {
+        return new HttpGet(new URIBuilder(buildTransitionsUrl(xrayIssueId)).build());
+    }
+
+    public HttpUriRequest build(String xrayIssueId, String transitionId) throws URISyntaxException {
+        HttpPost request = new HttpPost(new URIBuilder(buildTransitionsUrl(xrayIssueId)).build());
 
         String requestBody = "{\n" + "  \"update\": {\n" + "    \"comment\": [\n" + "      {\n" + "        \"add\": {\n" + "          \"body\": \"Close this issue from IntelliJ.\"\n" + "        }\n" + "      }\n" + "    ]\n" + "  },\n"
-                + "  \"transition\": {\n" + "    \"id\": \"51\"\n" + "  }\n" + "}";
+                + "  \"transition\": {\n" + "    \"id\": \"" + transitionId + "\"\n" + "  }\n" + "}";
         request.setEntity(new StringEntity(requestBody, ContentType.APPLICATION_JSON));
 
         return request;
     }
+
+    private String buildTransitionsUrl(String xrayIssueId) {
+        return serviceParameters.getUrl() + REST_ENDPOINT_CLOSE_ISSUE + xrayIssueId + "/transitions";
+    }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.dedalus.xraycucumber.service.request;
 
 import java.io.IOException;
+import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.util.Optional;
 
@@ -18,6 +21,8 @@ import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
 public class FeatureUploadRequestBuilder {
 
     private static final String REST_ENDPOINT_IMPORT_FEATURE = "/rest/raven/1.0/import/feature";
+    // feature files are UTF-8 text, whatever the platform encoding
+    private static final ContentType FEATURE_CONTENT_TYPE = ContentType.create("text/plain", StandardCharsets.UTF_8);
 
     private final JiraServiceParameters serviceParameters;
 
@@ -25,13 +30,36 @@ public class FeatureUploadRequestBuilder {
         this.serviceParameters = serviceParameters;
     }
 
+    /**
+     * Builds the import of a feature file. The file is read when the request is sent, and again if it is retried;
+     * every read opens and closes its own stream.
+     *
+     * @throws NoSuchFileException if the file can't be read.
+     */
     public HttpUriRequest build(Path featureFile) throws URISyntaxException, IOException {
-        String projectKey = Optional.of(serviceParameters.getProjectKey()).orElseThrow(() -> new IllegalArgumentException("projectKey is required to download cucumber tests"));
-        URIBuilder uriBuilder = new URIBuilder(serviceParameters.getUrl() + REST_ENDPOINT_IMPORT_FEATURE).addParameter("projectKey", projectKey);
-        HttpPost request = new HttpPost(uriBuilder.build());
+        if (!Files.isRegularFile(featureFile) || !Files.isReadable(featureFile)) {
+            throw new NoSuchFileException(featureFile.toString());
+        }
+        HttpPost request = new HttpPost(buildUri());
 
-        HttpEntity entity = MultipartEntityBuilder.create().addBinaryBody("file", Files.newInputStream(featureFile), ContentType.APPLICATION_JSON, featureFile.getFileName().toString()).build();
+        HttpEntity entity = MultipartEntityBuilder.create().addBinaryBody("file", featureFile.toFile(), FEATURE_CONTENT_TYPE, featureFile.getFileName().toString()).build();
         request.setEntity(entity);
         return request;
     }
+
+    /**
+     * Builds the import of a feature held in memory, such as a feature synthesized from the changed scenarios of a file.
+     */
+    public HttpUriRequest build(String featureFileName, byte[] featureContent) throws URISyntaxException {
+        HttpPost request = new HttpPost(buildUri());
+
+        HttpEntity entity = MultipartEntityBuilder.create().addBinaryBody("file", featureContent, FEATURE_CONTENT_TYPE, featureFileName).build();
+        request.setEntity(entity);
+        return request;
+    }
+
+    private URI buildUri() throws URISyntaxException {
+        String projectKey = Optional.of(serviceParameters.getProjectKey()).orElseThrow(() -> new IllegalArgumentException("projectKey is required to download cucumber tests"));
+        return new URIBuilder(serviceParameters.getUrl() + REST_ENDPOINT_IMPORT_FEATURE).addParameter("projectKey", projectKey).build();
+    }
 }
@@ -0,0 +1,18 @@
+package com.dedalus.xraycucumber.service.request;
+
+import org.apache.http.client.utils.URIBuilder;
+
+final class IssueFieldsProjection {
+
+    private IssueFieldsProjection() {
+    }
+
+    static void apply(URIBuilder uriBuilder, String[] fields, String[] expand) {
+        if (fields.length > 0) {
+            uriBuilder.setParameter("fields", String.join(",", fields));
+        }
+        if (expand.length > 0) {
+            uriBuilder.setParameter("expand", String.join(",", expand));
+        }
+    }
+}
@@ -11,13 +11,32 @@ import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
 public class JiraIssueRequestBuilder {
     private static final String REST_ENDPOINT = "/rest/api/2/issue/";
     private final JiraServiceParameters serviceParameters;
+    private String[] fields = new String[0];
+    private String[] expand = new String[0];
 
     public JiraIssueRequestBuilder(final JiraServiceParameters serviceParameters) {
         this.serviceParameters = serviceParameters;
     }
 
+    /**
+     * Restricts the response to the given issue fields, e.g. {@code status}. All fields are returned when none is given.
+     */
+    public JiraIssueRequestBuilder fields(String... fields) {
+        this.fields = fields;
+        return this;
+    }
+
+    /**
+     * Adds the given entities to the response, e.g. {@code transitions}. Nothing is expanded when none is given.
+     */
+    public JiraIssueRequestBuilder expand(String... expand) {
+        this.expand = expand;
+        return this;
+    }
+
     public HttpUriRequest build(String issueId) throws URISyntaxException {
         URIBuilder uriBuilder = new URIBuilder(serviceParameters.getUrl() + REST_ENDPOINT + issueId);
+        IssueFieldsProjection.apply(uriBuilder, fields, expand);
         return new HttpGet(uriBuilder.build());
     }
 
@@ -0,0 +1,89 @@
+package com.dedalus.xraycucumber.service.request;
+
+import java.net.URISyntaxException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.utils.URIBuilder;
+
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
+
+public class JiraSearchRequestBuilder {
+
+    private static final String REST_ENDPOINT_SEARCH = "/rest/api/2/search";
+    private static final String SEARCH_FIELDS = "summary,status,issuetype";
+    private static final int MAX_URL_LENGTH = 2000;
+    private static final int MAX_KEYS_PER_SEARCH = 100;
+    private static final String UPDATED_CLAUSE = " AND updated >= -%dm";
+    private static final String LONGEST_UPDATED_CLAUSE = UPDATED_CLAUSE.formatted(Long.MAX_VALUE);
+
+    private final JiraServiceParameters serviceParameters;
+
+    public JiraSearchRequestBuilder(final JiraServiceParameters serviceParameters) {
+        this.serviceParameters = serviceParameters;
+    }
+
+    /**
+     * Builds a JQL search returning the summary, status and issue type of the given issues.
+     *
+     * @param issueKeys the keys to look up, as returned by {@link #partition(List)} so that the URL stays short enough.
+     */
+    public HttpUriRequest build(List<String> issueKeys) throws URISyntaxException {
+        return build("key in (" + String.join(",", issueKeys) + ")", issueKeys.size());
+    }
+
+    /**
+     * Builds a JQL search returning the summary, status and issue type of the given issues that were updated in the last minutes,
+     * used to revalidate cached issues: an issue the search does not return is unchanged.
+     *
+     * @param issueKeys            the keys to look up, as returned by {@link #partition(List)}.
+     * @param updatedWithinMinutes how far back to look for updates, relative to the Jira server clock.
+     */
+    public HttpUriRequest build(List<String> issueKeys, long updatedWithinMinutes) throws URISyntaxException {
+        return build("key in (" + String.join(",", issueKeys) + ")" + UPDATED_CLAUSE.formatted(updatedWithinMinutes), issueKeys.size());
+    }
+
+    private HttpUriRequest build(String jql, int maxResults) throws URISyntaxException {
+        URIBuilder uriBuilder = new URIBuilder(serviceParameters.getUrl() + REST_ENDPOINT_SEARCH)
+                .addParameter("jql", jql)
+                .addParameter("fields", SEARCH_FIELDS)
+                .addParameter("maxResults", String.valueOf(maxResults));
+        return new HttpGet(uriBuilder.build());
+    }
+
+    /**
+     * Splits the keys into chunks whose search URL stays under the usual proxy and server URL length limits.
+     */
+    public List<List<String>> partition(List<String> issueKeys) {
+        int baseLength = (serviceParameters.getUrl() + REST_ENDPOINT_SEARCH).length()
+                + encodedLength("?jql=key in ()" + LONGEST_UPDATED_CLAUSE + "&fields=" + SEARCH_FIELDS + "&maxResults=" + MAX_KEYS_PER_SEARCH);
+
+        List<List<String>> chunks = new ArrayList<>();
+        List<String> chunk = new ArrayList<>();
+        int length = baseLength;
+
+        for (String issueKey : issueKeys) {
+            int keyLength = encodedLength("," + issueKey);
+            if (!chunk.isEmpty() && (length + keyLength > MAX_URL_LENGTH || chunk.size() == MAX_KEYS_PER_SEARCH)) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+                length = baseLength;
+            }
+            chunk.add(issueKey);
+            length += keyLength;
+        }
+
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    private int encodedLength(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).length();
+    }
+}
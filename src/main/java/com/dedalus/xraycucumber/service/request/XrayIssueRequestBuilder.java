@@ -7,8 +7,28 @@ import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.client.utils.URIBuilder;
 
 public class XrayIssueRequestBuilder {
+    private String[] fields = new String[0];
+    private String[] expand = new String[0];
+
+    /**
+     * Restricts the response to the given issue fields, e.g. {@code summary}. All fields are returned when none is given.
+     */
+    public XrayIssueRequestBuilder fields(String... fields) {
+        this.fields = fields;
+        return this;
+    }
+
+    /**
+     * Adds the given entities to the response. Nothing is expanded when none is given.
+     */
+    public XrayIssueRequestBuilder expand(String... expand) {
+        this.expand = expand;
+        return this;
+    }
+
     public HttpUriRequest build(String issueUrl) throws URISyntaxException {
         URIBuilder uriBuilder = new URIBuilder(issueUrl);
+        IssueFieldsProjection.apply(uriBuilder, fields, expand);
         return new HttpGet(uriBuilder.build());
     }
 
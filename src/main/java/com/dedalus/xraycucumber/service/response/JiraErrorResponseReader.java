@@ -0,0 +1,119 @@
+package com.dedalus.xraycucumber.service.response;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.http.entity.ContentType;
+import org.jetbrains.annotations.Nullable;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Turns the body of a Jira error response into a short message for notifications and logs: the messages of a Jira
+ * JSON error, the title of an HTML error page, or the start of any other text, at most {@link #MAX_SUMMARY_LENGTH}
+ * characters.
+ */
+public class JiraErrorResponseReader {
+
+    public static final int MAX_SUMMARY_LENGTH = 300;
+    // enough for any Jira JSON error; an error page is only read for its title
+    public static final int MAX_ERROR_BYTES = 16 * 1024;
+
+    private static final String FIELD_ERROR_MESSAGES = "errorMessages";
+    private static final String FIELD_ERRORS = "errors";
+    private static final String FIELD_ERROR = "error";
+    private static final String FIELD_MESSAGE = "message";
+
+    private static final Pattern HTML_TITLE = Pattern.compile("<title[^>]*>(.*?)</title>", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern HTML_SCRIPT_OR_STYLE = Pattern.compile("<(script|style)[^>]*>.*?(</\\1>|$)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]*>?");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    /**
+     * @param body        the start of the response body, possibly cut in the middle.
+     * @param contentType the content type of the response, null if unknown.
+     * @return the summary, null if the body has no text.
+     */
+    public @Nullable String readErrorSummary(byte[] body, @Nullable ContentType contentType) {
+        Charset charset = contentType != null && contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        String text = new String(body, charset).trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+
+        String summary = null;
+        if (text.startsWith("{")) {
+            summary = readJsonMessages(text);
+        } else if (text.startsWith("<")) {
+            summary = readHtmlText(text);
+        }
+        if (summary == null || summary.isBlank()) {
+            summary = text;
+        }
+        return truncate(WHITESPACES.matcher(summary).replaceAll(" ").trim());
+    }
+
+    private @Nullable String readJsonMessages(String json) {
+        List<String> messages = new ArrayList<>();
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (name.equals(FIELD_ERROR_MESSAGES) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        addString(reader, messages, null);
+                    }
+                    reader.endArray();
+                } else if (name.equals(FIELD_ERRORS) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        addString(reader, messages, reader.nextName());
+                    }
+                    reader.endObject();
+                } else if (name.equals(FIELD_ERROR) || name.equals(FIELD_MESSAGE)) {
+                    addString(reader, messages, null);
+                } else {
+                    reader.skipValue();
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            // a cut or unexpected body, the messages read so far are kept
+        }
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+
+    private void addString(JsonReader reader, List<String> messages, @Nullable String field) throws IOException {
+        if (reader.peek() != JsonToken.STRING) {
+            reader.skipValue();
+            return;
+        }
+        String message = reader.nextString();
+        if (!message.isBlank()) {
+            messages.add(field != null ? field + ": " + message : message);
+        }
+    }
+
+    private String readHtmlText(String html) {
+        Matcher titleMatcher = HTML_TITLE.matcher(html);
+        if (titleMatcher.find() && !titleMatcher.group(1).isBlank()) {
+            return titleMatcher.group(1);
+        }
+        String withoutScripts = HTML_SCRIPT_OR_STYLE.matcher(html).replaceAll(" ");
+        return HTML_TAG.matcher(withoutScripts).replaceAll(" ");
+    }
+
+    private String truncate(String summary) {
+        if (summary.length() <= MAX_SUMMARY_LENGTH) {
+            return summary;
+        }
+        return summary.substring(0, MAX_SUMMARY_LENGTH - 3) + "...";
+    }
+}
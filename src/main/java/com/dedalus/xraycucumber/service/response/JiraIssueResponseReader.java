@@ -0,0 +1,212 @@
+package com.dedalus.xraycucumber.service.response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dedalus.xraycucumber.service.model.JiraIssue;
+import com.dedalus.xraycucumber.service.model.JiraTransition;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Streams Jira JSON responses and keeps only {@code key}, {@code self}, {@code summary}, {@code status.name} and
+ * {@code issuetype.name} of each issue, so that large payloads are never held in memory as a String or a JSON tree.
+ */
+public class JiraIssueResponseReader {
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_SELF = "self";
+    private static final String FIELD_SUMMARY = "summary";
+    private static final String FIELD_STATUS = "status";
+    private static final String FIELD_ISSUE_TYPE = "issuetype";
+    private static final String FIELD_NAME = "name";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TO = "to";
+    private static final String FIELD_TRANSITIONS = "transitions";
+    private static final String FIELD_FIELDS = "fields";
+    private static final String FIELD_ISSUES = "issues";
+
+    /**
+     * Reads the array of issues returned by the Xray feature import.
+     */
+    public List<JiraIssue> readIssueList(InputStream content) throws IOException {
+        try (JsonReader reader = createReader(content)) {
+            return readIssueArray(reader);
+        }
+    }
+
+    /**
+     * Reads a single issue, as returned by {@code /rest/api/2/issue/{key}}.
+     */
+    public JiraIssue readIssue(InputStream content) throws IOException {
+        try (JsonReader reader = createReader(content)) {
+            return readIssueObject(reader);
+        }
+    }
+
+    /**
+     * Reads the issues of a JQL search result, as returned by {@code /rest/api/2/search}.
+     */
+    public List<JiraIssue> readSearchResult(InputStream content) throws IOException {
+        try (JsonReader reader = createReader(content)) {
+            List<JiraIssue> issues = new ArrayList<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals(FIELD_ISSUES) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    issues.addAll(readIssueArray(reader));
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return issues;
+        }
+    }
+
+    /**
+     * Reads the transitions available on an issue, as returned by {@code /rest/api/2/issue/{key}/transitions}.
+     */
+    public List<JiraTransition> readTransitions(InputStream content) throws IOException {
+        try (JsonReader reader = createReader(content)) {
+            List<JiraTransition> transitions = new ArrayList<>();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (reader.nextName().equals(FIELD_TRANSITIONS) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        transitions.add(readTransitionObject(reader));
+                    }
+                    reader.endArray();
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return transitions;
+        }
+    }
+
+    private JiraTransition readTransitionObject(JsonReader reader) throws IOException {
+        String id = null;
+        String name = null;
+        String toStatus = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case FIELD_ID -> id = nextStringOrNull(reader);
+                case FIELD_NAME -> name = nextStringOrNull(reader);
+                case FIELD_TO -> toStatus = readName(reader);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new JiraTransition(id, name, toStatus);
+    }
+
+    private JsonReader createReader(InputStream content) {
+        return new JsonReader(new InputStreamReader(content, StandardCharsets.UTF_8));
+    }
+
+    private List<JiraIssue> readIssueArray(JsonReader reader) throws IOException {
+        List<JiraIssue> issues = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            issues.add(readIssueObject(reader));
+        }
+        reader.endArray();
+        return issues;
+    }
+
+    private JiraIssue readIssueObject(JsonReader reader) throws IOException {
+        String key = null;
+        String self = null;
+        String summary = null;
+        String status = null;
+        String issueType = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case FIELD_KEY -> key = nextStringOrNull(reader);
+                case FIELD_SELF -> self = nextStringOrNull(reader);
+                case FIELD_SUMMARY -> summary = nextStringOrNull(reader);
+                case FIELD_FIELDS -> {
+                    String[] fields = readFields(reader);
+                    summary = fields[0] != null ? fields[0] : summary;
+                    status = fields[1];
+                    issueType = fields[2];
+                }
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new JiraIssue(key, self, summary, status, issueType);
+    }
+
+    /**
+     * @return the summary, the status name and the issue type name found in a {@code fields} object, any of them possibly null.
+     */
+    private String[] readFields(JsonReader reader) throws IOException {
+        String[] fields = new String[3];
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return fields;
+        }
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (name.equals(FIELD_SUMMARY)) {
+                fields[0] = nextStringOrNull(reader);
+            } else if (name.equals(FIELD_STATUS)) {
+                fields[1] = readName(reader);
+            } else if (name.equals(FIELD_ISSUE_TYPE)) {
+                fields[2] = readName(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return fields;
+    }
+
+    /**
+     * @return the {@code name} of a named object such as a status or an issue type, null if it has none.
+     */
+    private String readName(JsonReader reader) throws IOException {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String name = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals(FIELD_NAME)) {
+                name = nextStringOrNull(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return name;
+    }
+
+    private String nextStringOrNull(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+        if (reader.peek() == JsonToken.BEGIN_OBJECT || reader.peek() == JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return null;
+        }
+        return reader.nextString();
+    }
+}
@@ -12,6 +12,8 @@ import org.jetbrains.annotations.NotNull;
  */
 public class JiraServiceParameters {
 
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+
     @Nonnull private final URL url;
     private String username;
     private String password;
@@ -19,6 +21,9 @@ public class JiraServiceParameters {
     private final String bearerToken;
     private final boolean tokenAuthenticationEnabled;
     private final boolean saveFeatureBeforeUpdate;
+    private final boolean deltaUpload;
+    private final boolean reformatAfterSync;
+    private final int maxConcurrentRequests;
 
     private JiraServiceParameters(Builder builder) {
         this.url = builder.url;
@@ -28,6 +33,9 @@ public class JiraServiceParameters {
         this.bearerToken = builder.bearerToken;
         this.tokenAuthenticationEnabled = builder.tokenAuthenticationEnabled;
         this.saveFeatureBeforeUpdate = builder.saveFeatureBeforeUpdate;
+        this.deltaUpload = builder.deltaUpload;
+        this.reformatAfterSync = builder.reformatAfterSync;
+        this.maxConcurrentRequests = builder.maxConcurrentRequests;
     }
 
     public @NotNull URL getUrl() {
@@ -64,6 +72,14 @@ public class JiraServiceParameters {
 
     public boolean isSaveFeatureBeforeUpdate() { return saveFeatureBeforeUpdate; }
 
+    public boolean isDeltaUpload() { return deltaUpload; }
+
+    public boolean isReformatAfterSync() { return reformatAfterSync; }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
@@ -77,12 +93,15 @@ public class JiraServiceParameters {
                 Objects.equals(projectKey, other.projectKey) &&
                 Objects.equals(bearerToken, other.bearerToken) &&
                 tokenAuthenticationEnabled == other.tokenAuthenticationEnabled &&
-                saveFeatureBeforeUpdate == other.saveFeatureBeforeUpdate;
+                saveFeatureBeforeUpdate == other.saveFeatureBeforeUpdate &&
+                deltaUpload == other.deltaUpload &&
+                reformatAfterSync == other.reformatAfterSync &&
+                maxConcurrentRequests == other.maxConcurrentRequests;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(url, username, password, projectKey, bearerToken, tokenAuthenticationEnabled, saveFeatureBeforeUpdate);
+        return Objects.hash(url, username, password, projectKey, bearerToken, tokenAuthenticationEnabled, saveFeatureBeforeUpdate, deltaUpload, reformatAfterSync, maxConcurrentRequests);
     }
 
     public static class Builder {
@@ -95,6 +114,9 @@ public class JiraServiceParameters {
         private String bearerToken;
         private boolean tokenAuthenticationEnabled;
         private boolean saveFeatureBeforeUpdate;
+        private boolean deltaUpload;
+        private boolean reformatAfterSync = true;
+        private int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
 
         public Builder url(URL url) {
             this.url = url;
@@ -131,6 +153,21 @@ public class JiraServiceParameters {
             return this;
         }
 
+        public Builder deltaUploadEnabled(boolean deltaUpload) {
+            this.deltaUpload = deltaUpload;
+            return this;
+        }
+
+        public Builder reformatAfterSyncEnabled(boolean reformatAfterSync) {
+            this.reformatAfterSync = reformatAfterSync;
+            return this;
+        }
+
+        public Builder maxConcurrentRequests(int maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
         public JiraServiceParameters build() {
             return new JiraServiceParameters(this);
         }
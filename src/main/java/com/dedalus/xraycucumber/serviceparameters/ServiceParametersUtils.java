@@ -8,6 +8,11 @@ import java.util.concurrent.atomic.AtomicReference;
 import org.codehaus.plexus.util.StringUtils;
 
 import com.dedalus.xraycucumber.service.JiraService;
+import com.dedalus.xraycucumber.service.cache.JiraIssueCache;
+import com.dedalus.xraycucumber.service.cache.JiraTransitionCache;
+import com.dedalus.xraycucumber.service.http.HttpService;
+import com.dedalus.xraycucumber.service.http.JiraHttpClientService;
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
 import com.dedalus.xraycucumber.settings.XrayCucumberSettingsState;
 import com.intellij.credentialStore.Credentials;
 import com.intellij.openapi.application.ApplicationManager;
@@ -30,6 +35,9 @@ public class ServiceParametersUtils {
         String bearerToken = xrayCucumberSettingsState.bearerToken;
         boolean tokenAuthentication = xrayCucumberSettingsState.tokenAuthentication;
         boolean saveFeatureBeforeUpdate = xrayCucumberSettingsState.saveFeatureBeforeUpd;
+        boolean deltaUpload = xrayCucumberSettingsState.deltaUpload;
+        boolean reformatAfterSync = xrayCucumberSettingsState.reformatAfterSync;
+        int maxConcurrentRequests = xrayCucumberSettingsState.maxConcurrentRequests;
 
         if (tokenAuthentication) {
             if (StringUtils.isEmpty(bearerToken)) {
@@ -46,6 +54,9 @@ public class ServiceParametersUtils {
                     .tokenAuthenticationEnabled(tokenAuthentication)
                     .bearerToken(bearerToken)
                     .saveFeatureBeforeUpdateEnabled(saveFeatureBeforeUpdate)
+                    .deltaUploadEnabled(deltaUpload)
+                    .reformatAfterSyncEnabled(reformatAfterSync)
+                    .maxConcurrentRequests(maxConcurrentRequests)
                     .build();
         }
     }
@@ -64,13 +75,19 @@ public class ServiceParametersUtils {
         }
     }
 
+    /**
+     * Creates a Jira service sharing the HTTP client, the caches and the metrics of the IDE application.
+     */
     public JiraService getJiraService(JiraServiceParameters jiraServiceParameters) {
+        HttpService httpService = JiraHttpClientService.getInstance().createHttpService();
         JiraService jiraService;
         if (jiraServiceParameters.isTokenAuthenticationEnabled()) {
-            jiraService = new JiraService(jiraServiceParameters);
+            jiraService = new JiraService(jiraServiceParameters, httpService, JiraIssueCache.getInstance(), JiraTransitionCache.getInstance(), JiraMetrics.getInstance());
         } else {
             Credentials credentials = getUserCredentials(project, jiraServiceParameters);
-            jiraService = new JiraService(jiraServiceParameters, credentials);
+            String userName = credentials != null ? credentials.getUserName() : null;
+            String password = credentials != null ? credentials.getPasswordAsString() : null;
+            jiraService = new JiraService(jiraServiceParameters, userName, password, httpService, JiraIssueCache.getInstance(), JiraTransitionCache.getInstance(), JiraMetrics.getInstance());
         }
         return jiraService;
     }
@@ -5,6 +5,9 @@ import javax.swing.*;
 import org.jetbrains.annotations.Nls;
 import org.jetbrains.annotations.Nullable;
 
+import com.dedalus.xraycucumber.service.cache.JiraIssueCache;
+import com.dedalus.xraycucumber.service.cache.JiraTransitionCache;
+import com.dedalus.xraycucumber.service.http.JiraHttpClientService;
 import com.dedalus.xraycucumber.ui.XrayCucumberPluginSettingsComponent;
 import com.intellij.openapi.options.*;
 
@@ -38,6 +41,13 @@ public class XrayCucumberSettingsConfigurable implements Configurable {
         modified |= !xrayCucumberPluginSettingsComponent.getBearerTokenField().equals(settings.bearerToken);
         modified |= !xrayCucumberPluginSettingsComponent.isTokenAuthenticationCheckBoxSelected() == settings.tokenAuthentication;
         modified |= !xrayCucumberPluginSettingsComponent.isSaveFeatureBeforeUpdCheckBoxSelected() == settings.saveFeatureBeforeUpd;
+        modified |= !xrayCucumberPluginSettingsComponent.isDeltaUploadCheckBoxSelected() == settings.deltaUpload;
+        modified |= !xrayCucumberPluginSettingsComponent.isReformatAfterSyncCheckBoxSelected() == settings.reformatAfterSync;
+        modified |= xrayCucumberPluginSettingsComponent.getMaxConnectionsField() != settings.maxConnections;
+        modified |= xrayCucumberPluginSettingsComponent.getIdleConnectionTimeoutField() != settings.idleConnectionTimeout;
+        modified |= xrayCucumberPluginSettingsComponent.getMaxConcurrentRequestsField() != settings.maxConcurrentRequests;
+        modified |= xrayCucumberPluginSettingsComponent.getMaxRequestsPerSecondField() != settings.maxRequestsPerSecond;
+        modified |= xrayCucumberPluginSettingsComponent.getMaxRetriesField() != settings.maxRetries;
         return modified && isValid();
     }
 
@@ -46,11 +56,31 @@ public class XrayCucumberSettingsConfigurable implements Configurable {
         XrayCucumberSettingsState settings = XrayCucumberSettingsState.getInstance();
         assert settings != null;
         if(isValid()) {
+            if (!xrayCucumberPluginSettingsComponent.getJiraUrlField().equals(settings.jiraUrl)) {
+                // cached issues and workflows belong to the previous Jira instance
+                JiraIssueCache.getInstance().clear();
+                JiraTransitionCache.getInstance().clear();
+            }
             settings.jiraUrl = xrayCucumberPluginSettingsComponent.getJiraUrlField();
             settings.xrayTestProjectName = xrayCucumberPluginSettingsComponent.getXrayTestProjectField();
             settings.bearerToken = xrayCucumberPluginSettingsComponent.getBearerTokenField();
             settings.tokenAuthentication = xrayCucumberPluginSettingsComponent.isTokenAuthenticationCheckBoxSelected();
             settings.saveFeatureBeforeUpd = xrayCucumberPluginSettingsComponent.isSaveFeatureBeforeUpdCheckBoxSelected();
+            settings.deltaUpload = xrayCucumberPluginSettingsComponent.isDeltaUploadCheckBoxSelected();
+            settings.reformatAfterSync = xrayCucumberPluginSettingsComponent.isReformatAfterSyncCheckBoxSelected();
+            settings.maxRetries = xrayCucumberPluginSettingsComponent.getMaxRetriesField();
+
+            boolean httpClientModified = xrayCucumberPluginSettingsComponent.getMaxConnectionsField() != settings.maxConnections
+                    || xrayCucumberPluginSettingsComponent.getIdleConnectionTimeoutField() != settings.idleConnectionTimeout
+                    || xrayCucumberPluginSettingsComponent.getMaxRequestsPerSecondField() != settings.maxRequestsPerSecond
+                    || xrayCucumberPluginSettingsComponent.getMaxConcurrentRequestsField() != settings.maxConcurrentRequests;
+            settings.maxConcurrentRequests = xrayCucumberPluginSettingsComponent.getMaxConcurrentRequestsField();
+            settings.maxConnections = xrayCucumberPluginSettingsComponent.getMaxConnectionsField();
+            settings.idleConnectionTimeout = xrayCucumberPluginSettingsComponent.getIdleConnectionTimeoutField();
+            settings.maxRequestsPerSecond = xrayCucumberPluginSettingsComponent.getMaxRequestsPerSecondField();
+            if (httpClientModified) {
+                JiraHttpClientService.getInstance().reset();
+            }
         }
     }
 
@@ -63,6 +93,13 @@ public class XrayCucumberSettingsConfigurable implements Configurable {
         xrayCucumberPluginSettingsComponent.setBearerTokenField(settings.bearerToken);
         xrayCucumberPluginSettingsComponent.setTokenAuthenticationCheckBoxSelected(settings.tokenAuthentication);
         xrayCucumberPluginSettingsComponent.setSaveFeatureBeforeUpdCheckBoxSelected(settings.saveFeatureBeforeUpd);
+        xrayCucumberPluginSettingsComponent.setDeltaUploadCheckBoxSelected(settings.deltaUpload);
+        xrayCucumberPluginSettingsComponent.setReformatAfterSyncCheckBoxSelected(settings.reformatAfterSync);
+        xrayCucumberPluginSettingsComponent.setMaxConnectionsField(settings.maxConnections);
+        xrayCucumberPluginSettingsComponent.setIdleConnectionTimeoutField(settings.idleConnectionTimeout);
+        xrayCucumberPluginSettingsComponent.setMaxConcurrentRequestsField(settings.maxConcurrentRequests);
+        xrayCucumberPluginSettingsComponent.setMaxRequestsPerSecondField(settings.maxRequestsPerSecond);
+        xrayCucumberPluginSettingsComponent.setMaxRetriesField(settings.maxRetries);
     }
 
     @Override
@@ -3,6 +3,9 @@ package com.dedalus.xraycucumber.settings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.dedalus.xraycucumber.service.http.JiraHttpClientService;
+import com.dedalus.xraycucumber.service.http.RetryPolicy;
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.*;
 import com.intellij.util.xmlb.XmlSerializerUtil;
@@ -17,6 +20,13 @@ public class XrayCucumberSettingsState implements PersistentStateComponent<XrayC
     public String bearerToken;
     public boolean tokenAuthentication;
     public boolean saveFeatureBeforeUpd;
+    public boolean deltaUpload;
+    public boolean reformatAfterSync = true;
+    public int maxConnections = JiraHttpClientService.DEFAULT_MAX_CONNECTIONS;
+    public int idleConnectionTimeout = JiraHttpClientService.DEFAULT_IDLE_CONNECTION_TIMEOUT;
+    public int maxConcurrentRequests = JiraServiceParameters.DEFAULT_MAX_CONCURRENT_REQUESTS;
+    public int maxRequestsPerSecond = JiraHttpClientService.DEFAULT_MAX_REQUESTS_PER_SECOND;
+    public int maxRetries = RetryPolicy.DEFAULT_MAX_RETRIES;
 
     @Nullable @Override public XrayCucumberSettingsState getState() {
         return this;
@@ -0,0 +1,101 @@
+package com.dedalus.xraycucumber.settings;
+
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.project.Project;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+
+/**
+ * Per project record of the last successful synchronization of each feature file, used to skip unchanged files.
+ * The records belong to the Jira instance and the Xray project they were made with.
+ */
+@State(
+        name = "com.dedalus.xraycucumber.configuration.XraySyncIndexState",
+        storages = {@Storage(StoragePathMacros.WORKSPACE_FILE)}
+)
+public class XraySyncIndexState implements PersistentStateComponent<XraySyncIndexState> {
+
+    public String jiraUrl;
+    public String projectKey;
+    public Map<String, SyncedFeature> syncedFeatures = new HashMap<>();
+
+    @Nullable @Override public XraySyncIndexState getState() {
+        return this;
+    }
+
+    @Override public void loadState(@NotNull final XraySyncIndexState state) {
+        XmlSerializerUtil.copyBean(state, this);
+    }
+
+    public static XraySyncIndexState getInstance(Project project) {
+        return project.getService(XraySyncIndexState.class);
+    }
+
+    /**
+     * @return true if the feature file was synchronized with this content hash, see {@link com.dedalus.xraycucumber.gherkin.FeatureFingerprint#getContentHash()}.
+     */
+    public synchronized boolean isUnchanged(String featureFilePath, String contentHash) {
+        SyncedFeature syncedFeature = syncedFeatures.get(featureFilePath);
+        return syncedFeature != null && contentHash.equals(syncedFeature.contentHash);
+    }
+
+    public synchronized @Nullable SyncedFeature getSyncedFeature(String featureFilePath) {
+        return syncedFeatures.get(featureFilePath);
+    }
+
+    public synchronized void recordSync(String featureFilePath, SyncedFeature syncedFeature) {
+        syncedFeatures.put(featureFilePath, syncedFeature);
+    }
+
+    public synchronized void forget(String featureFilePath) {
+        syncedFeatures.remove(featureFilePath);
+    }
+
+    /**
+     * Binds the index to the Jira instance and the Xray project of the coming synchronization. The records made with
+     * another instance or project are dropped: their tests don't exist there, the feature files have to be uploaded.
+     */
+    public synchronized void bindTo(String jiraUrl, String projectKey) {
+        if (!Objects.equals(this.jiraUrl, jiraUrl) || !Objects.equals(this.projectKey, projectKey)) {
+            syncedFeatures.clear();
+            this.jiraUrl = jiraUrl;
+            this.projectKey = projectKey;
+        }
+    }
+
+    /**
+     * Drops the records of the feature files deleted or renamed since their synchronization.
+     */
+    public synchronized void forgetMissingFeatures() {
+        syncedFeatures.keySet().removeIf(featureFilePath -> !exists(featureFilePath));
+    }
+
+    private static boolean exists(String featureFilePath) {
+        try {
+            return Files.exists(Path.of(featureFilePath));
+        } catch (InvalidPathException e) {
+            return false;
+        }
+    }
+
+    public static class SyncedFeature {
+        public String contentHash;
+        public List<String> issueKeys = new ArrayList<>();
+        public String sharedFingerprint;
+        public Map<String, String> scenarioFingerprints = new HashMap<>();
+    }
+}
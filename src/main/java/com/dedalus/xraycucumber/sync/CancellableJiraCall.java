@@ -0,0 +1,80 @@
+package com.dedalus.xraycucumber.sync;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.naming.AuthenticationException;
+
+import com.dedalus.xraycucumber.service.JiraService;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.ProgressIndicator;
+
+/**
+ * Runs a blocking Jira call on a pooled thread while the calling thread keeps checking its progress indicator.
+ * When the user cancels, the requests in flight are aborted so that the call returns at once instead of waiting
+ * for Jira to answer.
+ */
+public final class CancellableJiraCall {
+
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private CancellableJiraCall() {
+    }
+
+    @FunctionalInterface
+    public interface JiraCall<T> {
+        T call() throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException;
+    }
+
+    /**
+     * @throws com.intellij.openapi.progress.ProcessCanceledException if the user cancelled the call.
+     */
+    public static <T> T run(ProgressIndicator progressIndicator, JiraService jiraService, JiraCall<T> jiraCall) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        Future<T> future = ApplicationManager.getApplication().executeOnPooledThread(jiraCall::call);
+        try {
+            while (true) {
+                try {
+                    return future.get(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    if (progressIndicator.isCanceled()) {
+                        jiraService.abortRequests();
+                        future.cancel(true);
+                        progressIndicator.checkCanceled();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            jiraService.abortRequests();
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for Jira", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static IOException unwrap(Throwable cause) throws URISyntaxException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        if (cause instanceof IOException ioException) {
+            return ioException;
+        }
+        if (cause instanceof URISyntaxException uriSyntaxException) {
+            throw uriSyntaxException;
+        }
+        if (cause instanceof AuthenticationException authenticationException) {
+            throw authenticationException;
+        }
+        if (cause instanceof org.apache.http.auth.AuthenticationException authenticationException) {
+            throw authenticationException;
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IOException(cause);
+    }
+}
@@ -0,0 +1,50 @@
+package com.dedalus.xraycucumber.sync;
+
+import java.io.IOException;
+
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.vfs.VirtualFile;
+
+/**
+ * The parsed text of a feature document at a given modification stamp. The text of the document is parsed once
+ * and the model is reused to write the Xray tags, unless the document was edited in the meantime.
+ *
+ * @param featureModel      the parsed document text.
+ * @param modificationStamp the modification stamp of the document when it was read, -1 if it had no document.
+ */
+public record FeatureSnapshot(FeatureModel featureModel, long modificationStamp) {
+
+    /**
+     * Reads and parses the in-memory text of a feature file, or its content on disk if it has no document.
+     *
+     * @throws com.dedalus.xraycucumber.exceptions.GherkinParseException if the feature is not correctly formatted.
+     */
+    public static FeatureSnapshot read(VirtualFile featureFile, GherkinFileParser gherkinFileParser) throws IOException {
+        DocumentText documentText = ReadAction.compute(() -> {
+            Document document = FileDocumentManager.getInstance().getDocument(featureFile);
+            if (document == null) {
+                return new DocumentText(new String(featureFile.contentsToByteArray(), featureFile.getCharset()), -1L);
+            }
+            return new DocumentText(document.getText(), document.getModificationStamp());
+        });
+        FeatureModel featureModel = gherkinFileParser.parseFeature(featureFile.getPath(), documentText.text());
+        return new FeatureSnapshot(featureModel, documentText.modificationStamp());
+    }
+
+    /**
+     * @return the model of the document, parsed again only if the document was edited since this snapshot.
+     */
+    public FeatureModel currentModel(Document document, GherkinFileParser gherkinFileParser) {
+        if (document.getModificationStamp() == modificationStamp) {
+            return featureModel;
+        }
+        return gherkinFileParser.parseFeature(featureModel.getUri(), document.getText());
+    }
+
+    private record DocumentText(String text, long modificationStamp) {
+    }
+}
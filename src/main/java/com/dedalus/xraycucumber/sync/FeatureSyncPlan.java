@@ -0,0 +1,52 @@
+package com.dedalus.xraycucumber.sync;
+
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * What to upload for a feature file: nothing, the whole file, or a synthesized feature holding only the changed scenarios.
+ */
+public final class FeatureSyncPlan {
+
+    public enum Mode { SKIP, FULL, DELTA }
+
+    private static final FeatureSyncPlan SKIP = new FeatureSyncPlan(Mode.SKIP, null, Collections.emptySet());
+    private static final FeatureSyncPlan FULL = new FeatureSyncPlan(Mode.FULL, null, Collections.emptySet());
+
+    private final Mode mode;
+    private final String deltaContent;
+    private final Set<String> deltaScenarioNames;
+
+    private FeatureSyncPlan(Mode mode, String deltaContent, Set<String> deltaScenarioNames) {
+        this.mode = mode;
+        this.deltaContent = deltaContent;
+        this.deltaScenarioNames = deltaScenarioNames;
+    }
+
+    public static FeatureSyncPlan skip() {
+        return SKIP;
+    }
+
+    public static FeatureSyncPlan full() {
+        return FULL;
+    }
+
+    public static FeatureSyncPlan delta(String deltaContent, Set<String> deltaScenarioNames) {
+        return new FeatureSyncPlan(Mode.DELTA, deltaContent, Collections.unmodifiableSet(deltaScenarioNames));
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * @return the content of the feature to upload in {@link Mode#DELTA}, null otherwise.
+     */
+    public String getDeltaContent() {
+        return deltaContent;
+    }
+
+    public Set<String> getDeltaScenarioNames() {
+        return deltaScenarioNames;
+    }
+}
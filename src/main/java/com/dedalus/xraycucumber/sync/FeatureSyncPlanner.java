@@ -0,0 +1,115 @@
+package com.dedalus.xraycucumber.sync;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.dedalus.xraycucumber.gherkin.FeatureFingerprint;
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinDeltaFeatureBuilder;
+import com.dedalus.xraycucumber.settings.XraySyncIndexState;
+import com.dedalus.xraycucumber.settings.XraySyncIndexState.SyncedFeature;
+
+/**
+ * Decides what to upload for each feature file from the {@link XraySyncIndexState} of the project,
+ * and records what was synchronized once the Xray tags are written.
+ */
+public class FeatureSyncPlanner {
+
+    private final XraySyncIndexState xraySyncIndexState;
+    private final boolean forceUpload;
+    private final boolean deltaUpload;
+
+    /**
+     * Binds the index to the given Jira instance and Xray project, and drops the records of the feature files that
+     * no longer exist, see {@link XraySyncIndexState#bindTo(String, String)}.
+     *
+     * @param jiraUrl    the url of the Jira instance the feature files are uploaded to.
+     * @param projectKey the key of the Xray test project.
+     */
+    public FeatureSyncPlanner(XraySyncIndexState xraySyncIndexState, String jiraUrl, String projectKey, boolean forceUpload, boolean deltaUpload) {
+        this.xraySyncIndexState = xraySyncIndexState;
+        this.forceUpload = forceUpload;
+        this.deltaUpload = deltaUpload;
+        xraySyncIndexState.bindTo(jiraUrl, projectKey);
+        xraySyncIndexState.forgetMissingFeatures();
+    }
+
+    /**
+     * @param featureFilePath the path of the feature file, the key of the index.
+     * @param featureModel    the parsed current content of the feature file.
+     * @return {@link FeatureSyncPlan#skip()} if the file is unchanged since its last synchronization,
+     * a delta plan if only some scenarios changed and delta upload is enabled, {@link FeatureSyncPlan#full()} otherwise.
+     */
+    public FeatureSyncPlan plan(String featureFilePath, FeatureModel featureModel) {
+        if (forceUpload) {
+            return FeatureSyncPlan.full();
+        }
+        FeatureFingerprint featureFingerprint = featureModel.getFingerprint();
+        if (xraySyncIndexState.isUnchanged(featureFilePath, featureFingerprint.getContentHash())) {
+            return FeatureSyncPlan.skip();
+        }
+
+        SyncedFeature syncedFeature = xraySyncIndexState.getSyncedFeature(featureFilePath);
+        if (!deltaUpload || syncedFeature == null || syncedFeature.scenarioFingerprints.isEmpty()) {
+            return FeatureSyncPlan.full();
+        }
+
+        if (featureFingerprint.containsRules() || !Objects.equals(featureFingerprint.getSharedFingerprint(), syncedFeature.sharedFingerprint)) {
+            return FeatureSyncPlan.full();
+        }
+
+        Set<String> changedScenarioNames = new LinkedHashSet<>();
+        for (Map.Entry<String, String> scenarioFingerprint : featureFingerprint.getScenarioFingerprints().entrySet()) {
+            if (!scenarioFingerprint.getValue().equals(syncedFeature.scenarioFingerprints.get(scenarioFingerprint.getKey()))) {
+                changedScenarioNames.add(scenarioFingerprint.getKey());
+            }
+        }
+
+        // nothing Xray cares about changed in a single scenario, or everything did: upload the whole file to stay safe
+        if (changedScenarioNames.isEmpty() || changedScenarioNames.size() == featureFingerprint.getScenarioFingerprints().size()) {
+            return FeatureSyncPlan.full();
+        }
+
+        String deltaContent = new GherkinDeltaFeatureBuilder().build(featureModel, changedScenarioNames);
+        return FeatureSyncPlan.delta(deltaContent, changedScenarioNames);
+    }
+
+    /**
+     * Records a successful synchronization.
+     *
+     * @param featureFilePath    the path of the feature file, the key of the index.
+     * @param issueKeys          the Jira keys returned by the upload.
+     * @param featureSyncPlan    the plan that was uploaded; keys of a delta upload are added to the ones already known.
+     * @param updatedFingerprint the fingerprint of the feature file once the Xray tags are written,
+     *                           see {@link FeatureModel#getFingerprintWithXrayTags(Map)}.
+     */
+    public void recordSync(String featureFilePath, Collection<String> issueKeys, FeatureSyncPlan featureSyncPlan, FeatureFingerprint updatedFingerprint) {
+        SyncedFeature syncedFeature = new SyncedFeature();
+        syncedFeature.contentHash = updatedFingerprint.getContentHash();
+
+        SyncedFeature previousSyncedFeature = xraySyncIndexState.getSyncedFeature(featureFilePath);
+        if (featureSyncPlan.getMode() == FeatureSyncPlan.Mode.DELTA && previousSyncedFeature != null) {
+            Set<String> allIssueKeys = new LinkedHashSet<>(previousSyncedFeature.issueKeys);
+            allIssueKeys.addAll(issueKeys);
+            syncedFeature.issueKeys.addAll(allIssueKeys);
+        } else {
+            syncedFeature.issueKeys.addAll(issueKeys);
+        }
+
+        syncedFeature.sharedFingerprint = updatedFingerprint.getSharedFingerprint();
+        syncedFeature.scenarioFingerprints.putAll(updatedFingerprint.getScenarioFingerprints());
+
+        xraySyncIndexState.recordSync(featureFilePath, syncedFeature);
+    }
+
+    /**
+     * Forgets the last synchronization of a feature file whose upload failed or was rejected, so that the next
+     * synchronization uploads it whole.
+     */
+    public void forget(String featureFilePath) {
+        xraySyncIndexState.forget(featureFilePath);
+    }
+}
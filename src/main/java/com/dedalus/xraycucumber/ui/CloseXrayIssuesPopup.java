@@ -0,0 +1,51 @@
+package com.dedalus.xraycucumber.ui;
+
+import java.awt.*;
+import java.util.List;
+
+import javax.swing.*;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+
+public class CloseXrayIssuesPopup extends DialogWrapper {
+    private volatile boolean canceled = false;
+    String title = "Close Xray issues";
+    private final String message;
+
+    public CloseXrayIssuesPopup(final Project project, List<String> xrayIssueKeys) {
+        super(project);
+        this.message = """
+                %d Xray issues are tagged in the selection:
+                %s
+                The open ones will be closed in Jira, the others will be left as they are
+                """.formatted(xrayIssueKeys.size(), String.join(", ", xrayIssueKeys));
+        setTitle(title);
+        init();
+    }
+
+    public boolean isCanceled() {
+        return canceled;
+    }
+
+    @Override protected @Nullable JComponent createCenterPanel() {
+        JPanel dialogPanel = new JPanel(new BorderLayout());
+
+        JTextArea textArea = new JTextArea(message);
+        textArea.setLineWrap(true);
+        textArea.setWrapStyleWord(true);
+        textArea.setEditable(false);
+
+        dialogPanel.add(new JScrollPane(textArea), BorderLayout.CENTER);
+        dialogPanel.setPreferredSize(new Dimension(400, 150));
+
+        return dialogPanel;
+    }
+
+    @Override public void doCancelAction() {
+        canceled = true;
+        super.doCancelAction();
+    }
+}
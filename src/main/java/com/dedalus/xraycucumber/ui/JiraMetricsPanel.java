@@ -0,0 +1,144 @@
+package com.dedalus.xraycucumber.ui;
+
+import java.awt.*;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+import com.dedalus.xraycucumber.service.metrics.OperationMetrics;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFileWrapper;
+
+/**
+ * Content of the Xray Metrics tool window: the {@link JiraMetrics} of every Jira endpoint and synchronization stage,
+ * refreshed every few seconds while the window is shown, with actions to reset them and export them as JSON.
+ */
+public class JiraMetricsPanel extends JPanel {
+
+    private static final int REFRESH_INTERVAL_MILLIS = 2000;
+    private static final String[] COLUMNS = {"Operation", "Count", "Failures", "Retries", "Mean (ms)", "p50 (ms)", "p95 (ms)", "p99 (ms)",
+            "Max (ms)", "Wait (ms)", "Bytes in", "Bytes out"};
+
+    private final Project project;
+    private final JiraMetrics jiraMetrics;
+    private final MetricsTableModel tableModel = new MetricsTableModel();
+    private final Timer refreshTimer = new Timer(REFRESH_INTERVAL_MILLIS, event -> refresh());
+
+    public JiraMetricsPanel(Project project, JiraMetrics jiraMetrics) {
+        super(new BorderLayout());
+        this.project = project;
+        this.jiraMetrics = jiraMetrics;
+
+        JButton refreshButton = new JButton("Refresh");
+        refreshButton.addActionListener(event -> refresh());
+        JButton resetButton = new JButton("Reset");
+        resetButton.addActionListener(event -> {
+            jiraMetrics.reset();
+            refresh();
+        });
+        JButton exportButton = new JButton("Export JSON...");
+        exportButton.addActionListener(event -> exportJson());
+
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        buttonPanel.add(refreshButton);
+        buttonPanel.add(resetButton);
+        buttonPanel.add(exportButton);
+
+        JTable table = new JTable(tableModel);
+        table.setAutoCreateRowSorter(true);
+
+        add(buttonPanel, BorderLayout.NORTH);
+        add(new JScrollPane(table), BorderLayout.CENTER);
+        refresh();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        refreshTimer.start();
+    }
+
+    @Override
+    public void removeNotify() {
+        refreshTimer.stop();
+        super.removeNotify();
+    }
+
+    private void refresh() {
+        tableModel.setSnapshots(jiraMetrics.snapshot());
+    }
+
+    private void exportJson() {
+        FileSaverDescriptor descriptor = new FileSaverDescriptor("Export Xray Metrics", "Save the Jira metrics as JSON", "json");
+        VirtualFileWrapper fileWrapper = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project).save("xray-metrics.json");
+        if (fileWrapper == null) {
+            return;
+        }
+
+        NotificationUtils notificationUtils = new NotificationUtils(project);
+        try (Writer writer = Files.newBufferedWriter(fileWrapper.getFile().toPath(), StandardCharsets.UTF_8)) {
+            jiraMetrics.writeJson(writer);
+            notificationUtils.notifySuccess("Jira metrics exported to " + fileWrapper.getFile());
+        } catch (IOException e) {
+            notificationUtils.notifyError(String.valueOf(e));
+        }
+    }
+
+    private static class MetricsTableModel extends AbstractTableModel {
+
+        private List<OperationMetrics.Snapshot> snapshots = List.of();
+
+        void setSnapshots(List<OperationMetrics.Snapshot> snapshots) {
+            this.snapshots = snapshots;
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return snapshots.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 0 ? String.class : Number.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            OperationMetrics.Snapshot snapshot = snapshots.get(row);
+            return switch (column) {
+                case 0 -> snapshot.name();
+                case 1 -> snapshot.count();
+                case 2 -> snapshot.failures();
+                case 3 -> snapshot.retries();
+                case 4 -> JiraMetrics.toMillis(snapshot.meanNanos());
+                case 5 -> JiraMetrics.toMillis(snapshot.p50Nanos());
+                case 6 -> JiraMetrics.toMillis(snapshot.p95Nanos());
+                case 7 -> JiraMetrics.toMillis(snapshot.p99Nanos());
+                case 8 -> JiraMetrics.toMillis(snapshot.maxNanos());
+                case 9 -> JiraMetrics.toMillis(snapshot.waitNanos());
+                case 10 -> snapshot.bytesIn();
+                case 11 -> snapshot.bytesOut();
+                default -> null;
+            };
+        }
+    }
+}
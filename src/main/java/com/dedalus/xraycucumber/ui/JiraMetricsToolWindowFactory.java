@@ -0,0 +1,20 @@
+package com.dedalus.xraycucumber.ui;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ToolWindowFactory;
+import com.intellij.ui.content.Content;
+import com.intellij.ui.content.ContentFactory;
+
+public class JiraMetricsToolWindowFactory implements ToolWindowFactory, DumbAware {
+
+    @Override
+    public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
+        Content content = ContentFactory.getInstance().createContent(new JiraMetricsPanel(project, JiraMetrics.getInstance()), "", false);
+        toolWindow.getContentManager().addContent(content);
+    }
+}
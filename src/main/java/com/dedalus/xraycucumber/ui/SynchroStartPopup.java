@@ -12,9 +12,28 @@ import com.intellij.openapi.ui.DialogWrapper;
 public class SynchroStartPopup extends DialogWrapper {
     private volatile boolean canceled = false;
     String title = "Xray feature synchronization";
+    private final String message;
+    private final JCheckBox forceUploadCheckBox = new JCheckBox("Upload again the feature files unchanged since their last synchronization");
 
     public SynchroStartPopup(final Project project) {
+        this(project, """
+                This feature will be uploaded to Jira Xray:
+                Each scenario in this feature will be converted into a Xray Test Case
+                Xray Test Case Id will be added to the corresponding scenario as a tag
+                """);
+    }
+
+    public SynchroStartPopup(final Project project, int featureFileCount) {
+        this(project, """
+                %d feature files will be uploaded to Jira Xray:
+                Each scenario in these features will be converted into a Xray Test Case
+                Xray Test Case Id will be added to the corresponding scenario as a tag
+                """.formatted(featureFileCount));
+    }
+
+    private SynchroStartPopup(final Project project, String message) {
         super(project);
+        this.message = message;
         setTitle(title);
         init();
     }
@@ -23,17 +42,18 @@ public class SynchroStartPopup extends DialogWrapper {
         return canceled;
     }
 
+    public boolean isForceUpload() {
+        return forceUploadCheckBox.isSelected();
+    }
+
     @Override protected @Nullable JComponent createCenterPanel() {
         JPanel dialogPanel = new JPanel(new BorderLayout());
 
-        JTextArea textArea = new JTextArea("""
-                This feature will be uploaded to Jira Xray:
-                Each scenario in this feature will be converted into a Xray Test Case
-                Xray Test Case Id will be added to the corresponding scenario as a tag
-                """);
+        JTextArea textArea = new JTextArea(message);
 
         textArea.setPreferredSize(new Dimension(100, 100));
         dialogPanel.add(textArea, BorderLayout.CENTER);
+        dialogPanel.add(forceUploadCheckBox, BorderLayout.SOUTH);
 
         return dialogPanel;
     }
@@ -6,6 +6,10 @@ import javax.swing.event.DocumentListener;
 
 import org.jetbrains.annotations.NotNull;
 
+import com.dedalus.xraycucumber.service.http.JiraHttpClientService;
+import com.dedalus.xraycucumber.service.http.RetryPolicy;
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
+import com.intellij.ui.JBIntSpinner;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.JBTextField;
 import com.intellij.util.ui.FormBuilder;
@@ -17,6 +21,13 @@ public class XrayCucumberPluginSettingsComponent {
     private final JBTextField bearerTokenField = new JBTextField();
     private final JCheckBox tokenAuthenticationCheckBox = new JCheckBox("Token Authentication");
     private final JCheckBox saveFeatureBeforeUpdCheckBox = new JCheckBox("Save feature file before update");
+    private final JCheckBox deltaUploadCheckBox = new JCheckBox("Upload only the scenarios changed since the last synchronization");
+    private final JCheckBox reformatAfterSyncCheckBox = new JCheckBox("Reformat the added Xray tags after synchronization");
+    private final JBIntSpinner maxConnectionsField = new JBIntSpinner(JiraHttpClientService.DEFAULT_MAX_CONNECTIONS, 1, 200);
+    private final JBIntSpinner idleConnectionTimeoutField = new JBIntSpinner(JiraHttpClientService.DEFAULT_IDLE_CONNECTION_TIMEOUT, 1, 3600);
+    private final JBIntSpinner maxConcurrentRequestsField = new JBIntSpinner(JiraServiceParameters.DEFAULT_MAX_CONCURRENT_REQUESTS, 1, 64);
+    private final JBIntSpinner maxRequestsPerSecondField = new JBIntSpinner(JiraHttpClientService.DEFAULT_MAX_REQUESTS_PER_SECOND, 0, 1000);
+    private final JBIntSpinner maxRetriesField = new JBIntSpinner(RetryPolicy.DEFAULT_MAX_RETRIES, 0, 10);
 
     private final JPanel mainPanel;
 
@@ -27,6 +38,13 @@ public class XrayCucumberPluginSettingsComponent {
                 .addLabeledComponent(new JBLabel("Bearer token: "), bearerTokenField, 1, false)
                 .addComponent(tokenAuthenticationCheckBox)
                 .addComponent(saveFeatureBeforeUpdCheckBox)
+                .addComponent(deltaUploadCheckBox)
+                .addComponent(reformatAfterSyncCheckBox)
+                .addLabeledComponent(new JBLabel("Max HTTP connections: "), maxConnectionsField, 1, false)
+                .addLabeledComponent(new JBLabel("Idle connection timeout (s): "), idleConnectionTimeoutField, 1, false)
+                .addLabeledComponent(new JBLabel("Max concurrent Jira requests: "), maxConcurrentRequestsField, 1, false)
+                .addLabeledComponent(new JBLabel("Max Jira requests per second (0 for no limit): "), maxRequestsPerSecondField, 1, false)
+                .addLabeledComponent(new JBLabel("Retries of throttled Jira requests: "), maxRetriesField, 1, false)
                 .addComponentFillVertically(new JPanel(), 0).getPanel();
 
         jiraUrlField.getDocument().addDocumentListener(new DocumentListener() {
@@ -94,4 +112,60 @@ public class XrayCucumberPluginSettingsComponent {
     public void setSaveFeatureBeforeUpdCheckBoxSelected(boolean selected) {
         this.saveFeatureBeforeUpdCheckBox.setSelected(selected);
     }
+
+    public boolean isDeltaUploadCheckBoxSelected() {
+        return deltaUploadCheckBox.isSelected();
+    }
+
+    public void setDeltaUploadCheckBoxSelected(boolean selected) {
+        this.deltaUploadCheckBox.setSelected(selected);
+    }
+
+    public boolean isReformatAfterSyncCheckBoxSelected() {
+        return reformatAfterSyncCheckBox.isSelected();
+    }
+
+    public void setReformatAfterSyncCheckBoxSelected(boolean selected) {
+        this.reformatAfterSyncCheckBox.setSelected(selected);
+    }
+
+    public int getMaxConnectionsField() {
+        return maxConnectionsField.getNumber();
+    }
+
+    public void setMaxConnectionsField(int maxConnections) {
+        this.maxConnectionsField.setNumber(maxConnections);
+    }
+
+    public int getIdleConnectionTimeoutField() {
+        return idleConnectionTimeoutField.getNumber();
+    }
+
+    public void setIdleConnectionTimeoutField(int idleConnectionTimeout) {
+        this.idleConnectionTimeoutField.setNumber(idleConnectionTimeout);
+    }
+
+    public int getMaxConcurrentRequestsField() {
+        return maxConcurrentRequestsField.getNumber();
+    }
+
+    public void setMaxConcurrentRequestsField(int maxConcurrentRequests) {
+        this.maxConcurrentRequestsField.setNumber(maxConcurrentRequests);
+    }
+
+    public int getMaxRequestsPerSecondField() {
+        return maxRequestsPerSecondField.getNumber();
+    }
+
+    public void setMaxRequestsPerSecondField(int maxRequestsPerSecond) {
+        this.maxRequestsPerSecondField.setNumber(maxRequestsPerSecond);
+    }
+
+    public int getMaxRetriesField() {
+        return maxRetriesField.getNumber();
+    }
+
+    public void setMaxRetriesField(int maxRetries) {
+        this.maxRetriesField.setNumber(maxRetries);
+    }
 }
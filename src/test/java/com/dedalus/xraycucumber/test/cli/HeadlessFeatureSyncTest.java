@@ -0,0 +1,151 @@
+package com.dedalus.xraycucumber.test.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.dedalus.xraycucumber.cli.HeadlessFeatureSync;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.gherkin.ScenarioModel;
+import com.dedalus.xraycucumber.test.standin.JiraLoadHarness;
+import com.dedalus.xraycucumber.test.standin.JiraStandInServer;
+
+public class HeadlessFeatureSyncTest {
+
+    private static final String FEATURE_CONTENT = "Feature: Dummy feature\n  Scenario: Scenario1\n    Given a condition\n\n  Scenario: Scenario2\n    Given a condition\n";
+
+    @TempDir
+    Path featureRoot;
+
+    @Test
+    public void collectFeatureFiles_ShouldFindTheFeatureFilesOfTheTree() throws Exception {
+        // Arrange
+        Path first = write("a/first.feature", FEATURE_CONTENT);
+        Path second = write("a/b/second.feature", FEATURE_CONTENT);
+        write("a/readme.md", "Not a feature");
+
+        // Act
+        List<Path> featureFiles = HeadlessFeatureSync.collectFeatureFiles(List.of(featureRoot, first));
+
+        // Assert
+        assertEquals(List.of(second.toAbsolutePath(), first.toAbsolutePath()), featureFiles);
+    }
+
+    @Test
+    public void sync_ShouldWriteTheXrayTagsToEveryFeatureFile() throws Exception {
+        // Arrange
+        try (JiraStandInServer server = JiraStandInServer.builder().throttleEvery(5, 0).start();
+             JiraLoadHarness harness = new JiraLoadHarness(server, 1, 4)) {
+            for (int i = 0; i < 6; i++) {
+                write("features/dir" + (i % 2) + "/feature" + i + ".feature", JiraLoadHarness.generateFeature(i, 5, 2));
+            }
+            HeadlessFeatureSync headlessFeatureSync = new HeadlessFeatureSync(harness.getJiraService(), harness.getMetrics(), 3);
+
+            // Act
+            HeadlessFeatureSync.Report report = headlessFeatureSync.sync(HeadlessFeatureSync.collectFeatureFiles(List.of(featureRoot)));
+
+            // Assert
+            assertTrue(report.failures().isEmpty(), String.valueOf(report.failures()));
+            assertEquals(6, report.results().size());
+            assertEquals(30, report.getAddedTagCount());
+            for (HeadlessFeatureSync.FeatureSyncResult result : report.results()) {
+                String taggedContent = Files.readString(result.featureFile(), StandardCharsets.UTF_8);
+                for (ScenarioModel scenario : new GherkinFileParser().parseFeature("tagged.feature", taggedContent).getScenarios()) {
+                    assertEquals(1, scenario.getTags().size(), scenario.getName());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void sync_ShouldLeaveTheFilesAsTheyAre_WhenTheyAreAlreadyTagged() throws Exception {
+        // Arrange
+        try (JiraStandInServer server = JiraStandInServer.builder().start();
+             JiraLoadHarness harness = new JiraLoadHarness(server, 1, 4)) {
+            Path featureFile = write("dummy.feature", FEATURE_CONTENT);
+            HeadlessFeatureSync headlessFeatureSync = new HeadlessFeatureSync(harness.getJiraService(), harness.getMetrics(), 2);
+            headlessFeatureSync.sync(List.of(featureFile));
+            String taggedContent = Files.readString(featureFile, StandardCharsets.UTF_8);
+
+            // Act
+            HeadlessFeatureSync.Report report = headlessFeatureSync.sync(List.of(featureFile));
+
+            // Assert
+            assertEquals(0, report.getAddedTagCount());
+            assertEquals(taggedContent, Files.readString(featureFile, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void sync_ShouldKeepTheWindowsLineBreaks() throws Exception {
+        // Arrange
+        try (JiraStandInServer server = JiraStandInServer.builder().start();
+             JiraLoadHarness harness = new JiraLoadHarness(server, 1, 4)) {
+            Path featureFile = write("windows.feature", FEATURE_CONTENT.replace("\n", "\r\n"));
+
+            // Act
+            new HeadlessFeatureSync(harness.getJiraService(), harness.getMetrics(), 1).sync(List.of(featureFile));
+
+            // Assert
+            String taggedContent = Files.readString(featureFile, StandardCharsets.UTF_8);
+            assertTrue(taggedContent.contains("\r\n  @" + JiraLoadHarness.PROJECT_KEY + "-"), taggedContent);
+            assertEquals(-1, taggedContent.replace("\r\n", "").indexOf('\n'), taggedContent);
+        }
+    }
+
+    @Test
+    public void sync_ShouldKeepThePermissionsOfTheFile() throws Exception {
+        // Arrange
+        assumeTrue(Files.getFileStore(featureRoot).supportsFileAttributeView(PosixFileAttributeView.class), "POSIX permissions are not supported");
+        try (JiraStandInServer server = JiraStandInServer.builder().start();
+             JiraLoadHarness harness = new JiraLoadHarness(server, 1, 4)) {
+            Path featureFile = write("shared.feature", FEATURE_CONTENT);
+            Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-rw-r--");
+            Files.setPosixFilePermissions(featureFile, permissions);
+
+            // Act
+            HeadlessFeatureSync.Report report = new HeadlessFeatureSync(harness.getJiraService(), harness.getMetrics(), 1).sync(List.of(featureFile));
+
+            // Assert
+            assertEquals(2, report.getAddedTagCount());
+            assertEquals(permissions, Files.getPosixFilePermissions(featureFile));
+        }
+    }
+
+    @Test
+    public void sync_ShouldReportTheFailedFileAndSynchronizeTheOthers() throws Exception {
+        // Arrange
+        try (JiraStandInServer server = JiraStandInServer.builder().start();
+             JiraLoadHarness harness = new JiraLoadHarness(server, 1, 4)) {
+            Path validFile = write("valid.feature", FEATURE_CONTENT);
+            Path invalidFile = write("invalid.feature", "Not a feature\n");
+
+            // Act
+            HeadlessFeatureSync.Report report = new HeadlessFeatureSync(harness.getJiraService(), harness.getMetrics(), 2).sync(List.of(validFile, invalidFile));
+
+            // Assert
+            assertEquals(1, report.results().size());
+            assertEquals(2, report.getAddedTagCount());
+            assertEquals(List.of(invalidFile), List.copyOf(report.failures().keySet()));
+            assertEquals("Not a feature\n", Files.readString(invalidFile, StandardCharsets.UTF_8));
+        }
+    }
+
+    private Path write(String relativePath, String content) throws Exception {
+        Path file = featureRoot.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,127 @@
+package com.dedalus.xraycucumber.test.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.dedalus.xraycucumber.cli.XrayCucumberCli;
+import com.dedalus.xraycucumber.service.metrics.JiraEndpoint;
+import com.dedalus.xraycucumber.test.standin.JiraStandInServer;
+
+public class XrayCucumberCliTest {
+
+    // the jar built by the cliJar task, holding the command line sync and its libraries only
+    private static final String CLI_JAR_PROPERTY = "xray.cli.jar";
+    private static final String FEATURE_CONTENT = "Feature: Dummy feature\n  Scenario: Scenario1\n    Given a condition\n";
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+
+    @TempDir
+    Path featureRoot;
+
+    @Test
+    public void run_ShouldTagTheFeatureFilesAndWriteTheMetrics() throws Exception {
+        // Arrange
+        try (JiraStandInServer server = JiraStandInServer.builder().start()) {
+            Path featureFile = Files.writeString(featureRoot.resolve("dummy.feature"), FEATURE_CONTENT, StandardCharsets.UTF_8);
+            Path metricsFile = featureRoot.resolve("metrics.json");
+            XrayCucumberCli cli = cli(Map.of("XRAY_JIRA_TOKEN", "token"));
+
+            // Act
+            int exitCode = cli.run(new String[] {"--url", server.getUrl() + "/", "--project", "CLI", "--metrics", metricsFile.toString(), featureRoot.toString()});
+
+            // Assert
+            assertEquals(XrayCucumberCli.EXIT_OK, exitCode, err.toString(StandardCharsets.UTF_8));
+            assertTrue(Files.readString(featureFile, StandardCharsets.UTF_8).contains("  @CLI-"));
+            assertEquals(1, server.getRequestCount(JiraEndpoint.IMPORT));
+            assertTrue(out.toString(StandardCharsets.UTF_8).contains("1 feature files synchronized with Xray, 1 tags added, 0 failed"));
+            assertTrue(Files.readString(metricsFile, StandardCharsets.UTF_8).contains("sync: parse"));
+        }
+    }
+
+    @Test
+    public void run_ShouldFail_WhenAFeatureFileCantBeSynchronized() throws Exception {
+        // Arrange
+        try (JiraStandInServer server = JiraStandInServer.builder().start()) {
+            Files.writeString(featureRoot.resolve("invalid.feature"), "Not a feature\n", StandardCharsets.UTF_8);
+            Path tokenFile = Files.writeString(featureRoot.resolve("token"), "token\n", StandardCharsets.UTF_8);
+            XrayCucumberCli cli = cli(Map.of("XRAY_JIRA_URL", server.getUrl().toString(), "XRAY_PROJECT_KEY", "CLI"));
+
+            // Act
+            int exitCode = cli.run(new String[] {"--token-file", tokenFile.toString(), featureRoot.toString()});
+
+            // Assert
+            assertEquals(XrayCucumberCli.EXIT_FAILURES, exitCode);
+            assertTrue(err.toString(StandardCharsets.UTF_8).contains("invalid.feature"));
+        }
+    }
+
+    @Test
+    public void run_ShouldPrintTheUsage_WhenTheTokenIsMissing() {
+        // Arrange
+        XrayCucumberCli cli = cli(Map.of());
+
+        // Act
+        int exitCode = cli.run(new String[] {"--url", "http://localhost", "--project", "CLI", featureRoot.toString()});
+
+        // Assert
+        assertEquals(XrayCucumberCli.EXIT_USAGE, exitCode);
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("The Jira personal access token is required"));
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("Usage:"));
+    }
+
+    @Test
+    public void run_ShouldPrintTheUsage_WhenAnOptionIsInvalid() {
+        // Arrange
+        XrayCucumberCli cli = cli(Map.of("XRAY_JIRA_TOKEN", "token"));
+
+        // Act
+        int exitCode = cli.run(new String[] {"--url", "http://localhost", "--project", "CLI", "--parallel", "0", featureRoot.toString()});
+
+        // Assert
+        assertEquals(XrayCucumberCli.EXIT_USAGE, exitCode);
+        assertTrue(err.toString(StandardCharsets.UTF_8).contains("--parallel must be greater than 0"));
+    }
+
+    @Test
+    public void main_ShouldRunOnTheCliJarClasspath_WithoutTheIde() throws Exception {
+        // Arrange
+        String cliJar = System.getProperty(CLI_JAR_PROPERTY);
+        assumeTrue(cliJar != null, "The path of the cliJar output is given by the Gradle build");
+        try (JarFile jarFile = new JarFile(cliJar)) {
+            assertTrue(jarFile.stream().noneMatch(entry -> entry.getName().startsWith("com/intellij/")), "The cliJar should not bundle IntelliJ classes");
+        }
+        try (JiraStandInServer server = JiraStandInServer.builder().start()) {
+            Path featureFile = Files.writeString(featureRoot.resolve("dummy.feature"), FEATURE_CONTENT, StandardCharsets.UTF_8);
+            ProcessBuilder processBuilder = new ProcessBuilder(Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-cp", cliJar,
+                    XrayCucumberCli.class.getName(), "--url", server.getUrl().toString(), "--project", "CLI", featureRoot.toString()).redirectErrorStream(true);
+            processBuilder.environment().put("XRAY_JIRA_TOKEN", "token");
+
+            // Act
+            Process process = processBuilder.start();
+            String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+
+            // Assert
+            assertTrue(process.waitFor(1, TimeUnit.MINUTES), output);
+            assertEquals(XrayCucumberCli.EXIT_OK, process.exitValue(), output);
+            assertTrue(Files.readString(featureFile, StandardCharsets.UTF_8).contains("  @CLI-"), output);
+        }
+    }
+
+    private XrayCucumberCli cli(Map<String, String> environment) {
+        return new XrayCucumberCli(new PrintStream(out, true, StandardCharsets.UTF_8), new PrintStream(err, true, StandardCharsets.UTF_8), environment);
+    }
+}
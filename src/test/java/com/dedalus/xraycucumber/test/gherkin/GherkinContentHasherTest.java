@@ -0,0 +1,88 @@
+package com.dedalus.xraycucumber.test.gherkin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+
+public class GherkinContentHasherTest {
+
+    private static final String DOC_STRING_FEATURE = "Feature: Dummy feature\n  Scenario: Test scenario 1\n    Given the configuration\n"
+            + "      \"\"\"yaml\n      # the server\n      server:\n        port: 8080\n      \"\"\"\n";
+
+    private final GherkinFileParser parser = new GherkinFileParser();
+
+    @Test
+    public void hash_ShouldIgnoreFormattingAndComments() {
+        // Arrange
+        String original = "Feature: Dummy feature\n  @tag1\n  Scenario: Test scenario 1\n    Given a condition\n    | a | b |\n";
+        String reformatted = "# a comment\nFeature: Dummy feature\n\n    @tag1\n    Scenario:   Test scenario 1\n      Given a condition   \n      | a   | b   |\n\n";
+
+        // Act & Assert
+        assertEquals(contentHash(original), contentHash(reformatted));
+    }
+
+    @Test
+    public void hash_ShouldChange_WhenStepChanges() {
+        // Arrange
+        String original = "Feature: Dummy feature\n  Scenario: Test scenario 1\n    Given a condition\n";
+        String modified = "Feature: Dummy feature\n  Scenario: Test scenario 1\n    Given another condition\n";
+
+        // Act & Assert
+        assertNotEquals(contentHash(original), contentHash(modified));
+    }
+
+    @Test
+    public void hash_ShouldChange_WhenTagIsAdded() {
+        // Arrange
+        String original = "Feature: Dummy feature\n  Scenario: Test scenario 1\n    Given a condition\n";
+        String tagged = "Feature: Dummy feature\n  @XRAY-1\n  Scenario: Test scenario 1\n    Given a condition\n";
+
+        // Act & Assert
+        assertNotEquals(contentHash(original), contentHash(tagged));
+    }
+
+    @Test
+    public void hash_ShouldKeepLanguageDirective() {
+        // Arrange
+        String english = "# language: en\nFeature: Dummy feature\n  Scenario: Test scenario 1\n    Given a condition\n";
+        String french = "# language: fr\nFonctionnalit\u00e9: Dummy feature\n  Sc\u00e9nario: Test scenario 1\n    Soit a condition\n";
+
+        // Act & Assert
+        assertNotEquals(contentHash(english), contentHash(french));
+    }
+
+    @Test
+    public void hash_ShouldChange_WhenACommentLineOfADocStringChanges() {
+        // Arrange
+        String modified = DOC_STRING_FEATURE.replace("# the server", "# the proxy");
+
+        // Act & Assert
+        assertNotEquals(contentHash(DOC_STRING_FEATURE), contentHash(modified));
+    }
+
+    @Test
+    public void hash_ShouldChange_WhenTheIndentationInsideADocStringChanges() {
+        // Arrange
+        String modified = DOC_STRING_FEATURE.replace("        port: 8080", "      port: 8080");
+
+        // Act & Assert
+        assertNotEquals(contentHash(DOC_STRING_FEATURE), contentHash(modified));
+    }
+
+    @Test
+    public void hash_ShouldChange_WhenAScenarioOfARuleChanges() {
+        // Arrange
+        String original = "Feature: Dummy feature\n  Scenario: Test scenario 1\n    Given a condition\n  Rule: A rule\n    Scenario: Test scenario 2\n      Given a condition\n";
+        String modified = original.replace("      Given a condition", "      Given another condition");
+
+        // Act & Assert
+        assertNotEquals(contentHash(original), contentHash(modified));
+    }
+
+    private String contentHash(String featureContent) {
+        return parser.parseFeature("dummy.feature", featureContent).getFingerprint().getContentHash();
+    }
+}
@@ -1,6 +1,7 @@
 package com.dedalus.xraycucumber.test.gherkin;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -14,7 +15,9 @@ import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 import com.dedalus.xraycucumber.exceptions.GherkinParseException;
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
 import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.gherkin.ScenarioModel;
 import com.intellij.openapi.vfs.VirtualFile;
 
 public class GherkinFileParserTest {
@@ -112,4 +115,45 @@ public class GherkinFileParserTest {
         assertThrows(GherkinParseException.class, () -> parser.getScenariosAndTags(featureFilePath),
                 "Expected IllegalStateException to be thrown for scenario less feature file");
     }
+
+    @Test
+    public void testParseFeature_ScenarioLinesAndOffsets() {
+        // Arrange
+        GherkinFileParser parser = new GherkinFileParser();
+        String featureContent = "Feature: Dummy feature\n  @tag1\n  Scenario: Test scenario 1\n    Given a condition\n  Scenario: Test scenario 2\n    Given another condition\n";
+
+        // Act
+        FeatureModel featureModel = parser.parseFeature("dummy.feature", featureContent);
+
+        // Assert
+        ScenarioModel scenario1 = featureModel.getScenario("Test scenario 1");
+        assertEquals(1, scenario1.getFirstLine(), "Scenario 1 should start at its tag line");
+        assertEquals(2, scenario1.getKeywordLine());
+        assertEquals(featureContent.indexOf("  Scenario: Test scenario 1"), scenario1.getKeywordLineOffset());
+        assertEquals("  ", scenario1.getIndent());
+        assertTrue(scenario1.hasTag("TAG1"), "Tag lookup should ignore case");
+
+        ScenarioModel scenario2 = featureModel.getScenario("Test scenario 2");
+        assertEquals(4, scenario2.getFirstLine());
+        assertTrue(scenario2.getTags().isEmpty());
+        assertEquals(List.of("Test scenario 1", "Test scenario 2"), featureModel.getScenarios().stream().map(ScenarioModel::getName).toList());
+    }
+
+    @Test
+    public void testParseFeature_DocStringChangesAreFingerprinted() {
+        // Arrange
+        GherkinFileParser parser = new GherkinFileParser();
+        String featureContent = "Feature: Dummy feature\n  Scenario: Test scenario 1\n    Given the script\n      \"\"\"shell\n      # install\n      make install\n      \"\"\"\n";
+        String commentChanged = featureContent.replace("# install", "# build and install");
+        String indentationChanged = featureContent.replace("      make install", "        make install");
+        String reformatted = featureContent.replace("\n  ", "\n    ").replace("\n      ", "\n        ") + "\n";
+
+        // Act
+        String fingerprint = parser.parseFeature("dummy.feature", featureContent).getFingerprint().getScenarioFingerprints().get("Test scenario 1");
+
+        // Assert
+        assertNotEquals(fingerprint, parser.parseFeature("dummy.feature", commentChanged).getFingerprint().getScenarioFingerprints().get("Test scenario 1"));
+        assertNotEquals(fingerprint, parser.parseFeature("dummy.feature", indentationChanged).getFingerprint().getScenarioFingerprints().get("Test scenario 1"));
+        assertEquals(fingerprint, parser.parseFeature("dummy.feature", reformatted).getFingerprint().getScenarioFingerprints().get("Test scenario 1"));
+    }
 }
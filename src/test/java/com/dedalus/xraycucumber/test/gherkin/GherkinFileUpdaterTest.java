@@ -1,14 +1,26 @@
 package com.dedalus.xraycucumber.test.gherkin;
 
-import java.util.Collections;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
 import com.dedalus.xraycucumber.gherkin.GherkinFileUpdater;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.util.TextRange;
 
 public class GherkinFileUpdaterTest {
 
@@ -20,13 +32,10 @@ public class GherkinFileUpdaterTest {
         Map<String, String> jiraXrayIssueMap = new HashMap<>();
         jiraXrayIssueMap.put("Scenario1", "JIRA-123");
 
-        Map<String, List<String>> cucumberFeatureIssueMap = new HashMap<>();
-        cucumberFeatureIssueMap.put("Scenario1", Collections.singletonList(""));
-
         // Act & Assert
         try {
             // Act
-            updater.addXrayIssueIdTagsOnScenario(null, jiraXrayIssueMap, cucumberFeatureIssueMap);
+            updater.addXrayIssueIdTagsOnScenario(null, jiraXrayIssueMap, null);
 
             // Si aucune exception n'est levée, le test échouera
             Assertions.fail("Expected IllegalArgumentException to be thrown for null feature file");
@@ -37,35 +46,37 @@ public class GherkinFileUpdaterTest {
         }
     }
 
-    @Test void testIsJiraIdAbsent_JiraIdIsAbsent() {
-        // Arrange
-        GherkinFileUpdater updater = new GherkinFileUpdater();
-
-        String scenarioName = "Scenario1";
-        String jiraId = "JIRA-123";
-        Map<String, List<String>> cucumberFeatureIssueMap = new HashMap<>();
-        cucumberFeatureIssueMap.put(scenarioName, Collections.singletonList("@SOME-OTHER-ID"));
-
-        // Act
-        boolean result = updater.isJiraIdTagAbsentOnScenario(cucumberFeatureIssueMap, scenarioName, jiraId);
-
-        // Assert
-        Assertions.assertTrue(result);
-    }
-
-    @Test void testIsJiraIdAbsent_JiraIdIsPresent() {
+    @Test void testAddTagsOnScenario_InsertsMissingTagsFromTheEnd() {
         // Arrange
         GherkinFileUpdater updater = new GherkinFileUpdater();
+        String featureContent = "Feature: Dummy feature\n  Scenario: Scenario1\n    Given a condition\n"
+                + "  @JIRA-2\n  Scenario: Scenario2\n    Given a condition\n"
+                + "  Scenario: Scenario3\n    Given another condition\n";
+        FeatureModel featureModel = new GherkinFileParser().parseFeature("dummy.feature", featureContent);
+        Document document = mock(Document.class);
+        when(document.getTextLength()).thenReturn(featureContent.length());
 
-        String scenarioName = "Scenario1";
-        String jiraId = "JIRA-123";
-        Map<String, List<String>> cucumberFeatureIssueMap = new HashMap<>();
-        cucumberFeatureIssueMap.put(scenarioName, Collections.singletonList("@" + jiraId));
+        Map<String, String> jiraXrayIssueMap = new HashMap<>();
+        jiraXrayIssueMap.put("Scenario1", "JIRA-1");
+        jiraXrayIssueMap.put("Scenario2", "JIRA-2");
+        jiraXrayIssueMap.put("Scenario3", "JIRA-3");
 
         // Act
-        boolean result = updater.isJiraIdTagAbsentOnScenario(cucumberFeatureIssueMap, scenarioName, jiraId);
+        List<TextRange> tagRanges = updater.addXrayIssueIdTagsOnScenario(document, jiraXrayIssueMap, featureModel);
 
         // Assert
-        Assertions.assertFalse(result);
+        InOrder insertions = inOrder(document);
+        insertions.verify(document).insertString(featureContent.indexOf("  Scenario: Scenario3"), "  @JIRA-3\n");
+        insertions.verify(document).insertString(featureContent.indexOf("  Scenario: Scenario1"), "  @JIRA-1\n");
+        verify(document, never()).insertString(eq(featureContent.indexOf("  Scenario: Scenario2")), anyString());
+
+        // ranges of the tag lines in the updated document, the second one shifted by the first insertion
+        int scenario1Offset = featureContent.indexOf("  Scenario: Scenario1");
+        int scenario3Offset = featureContent.indexOf("  Scenario: Scenario3");
+        Assertions.assertEquals(2, tagRanges.size());
+        Assertions.assertEquals(scenario1Offset, tagRanges.get(0).getStartOffset());
+        Assertions.assertEquals(scenario1Offset + 10, tagRanges.get(0).getEndOffset());
+        Assertions.assertEquals(scenario3Offset + 10, tagRanges.get(1).getStartOffset());
+        Assertions.assertEquals(scenario3Offset + 20, tagRanges.get(1).getEndOffset());
     }
 }
@@ -0,0 +1,58 @@
+package com.dedalus.xraycucumber.test.gherkin;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.gherkin.XrayIssueTagInserter;
+
+public class XrayIssueTagInserterTest {
+
+    private static final String FEATURE_CONTENT = "Feature: Dummy feature\n  Scenario: Scenario1\n    Given a condition\n"
+            + "  @JIRA-2\n  Scenario: Scenario2\n    Given a condition\n"
+            + "  Scenario Outline: Scenario3\n    Given <value>\n    Examples:\n      | value |\n      | 1     |\n";
+
+    @Test void planInsertions_ShouldSkipTheScenariosAlreadyTaggedOrWithoutIssue() {
+        // Arrange
+        XrayIssueTagInserter inserter = new XrayIssueTagInserter();
+        FeatureModel featureModel = new GherkinFileParser().parseFeature("dummy.feature", FEATURE_CONTENT);
+
+        // Act
+        List<XrayIssueTagInserter.TagInsertion> insertions = inserter.planInsertions(Map.of("Scenario2", "JIRA-2", "Scenario3", "JIRA-3"), featureModel);
+
+        // Assert
+        Assertions.assertEquals(List.of(new XrayIssueTagInserter.TagInsertion(FEATURE_CONTENT.indexOf("  Scenario Outline: Scenario3"), "  @JIRA-3\n")), insertions);
+    }
+
+    @Test void apply_ShouldInsertEachTagLineAboveItsScenario() {
+        // Arrange
+        XrayIssueTagInserter inserter = new XrayIssueTagInserter();
+        FeatureModel featureModel = new GherkinFileParser().parseFeature("dummy.feature", FEATURE_CONTENT);
+        List<XrayIssueTagInserter.TagInsertion> insertions = inserter.planInsertions(Map.of("Scenario1", "JIRA-1", "Scenario3", "JIRA-3"), featureModel);
+
+        // Act
+        String taggedContent = inserter.apply(FEATURE_CONTENT, insertions);
+
+        // Assert
+        Assertions.assertEquals("Feature: Dummy feature\n  @JIRA-1\n  Scenario: Scenario1\n    Given a condition\n"
+                + "  @JIRA-2\n  Scenario: Scenario2\n    Given a condition\n"
+                + "  @JIRA-3\n  Scenario Outline: Scenario3\n    Given <value>\n    Examples:\n      | value |\n      | 1     |\n", taggedContent);
+        Assertions.assertEquals(Map.of("Scenario1", List.of("@JIRA-1"), "Scenario2", List.of("@JIRA-2"), "Scenario3", List.of("@JIRA-3")),
+                new GherkinFileParser().parseFeature("dummy.feature", taggedContent).getScenariosAndTags());
+    }
+
+    @Test void apply_ShouldReturnTheContentWhenNothingIsInserted() {
+        // Arrange
+        XrayIssueTagInserter inserter = new XrayIssueTagInserter();
+
+        // Act
+        String taggedContent = inserter.apply(FEATURE_CONTENT, List.of());
+
+        // Assert
+        Assertions.assertSame(FEATURE_CONTENT, taggedContent);
+    }
+}
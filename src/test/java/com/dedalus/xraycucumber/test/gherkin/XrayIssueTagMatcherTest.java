@@ -0,0 +1,87 @@
+package com.dedalus.xraycucumber.test.gherkin;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.gherkin.XrayIssueTagMatcher;
+
+public class XrayIssueTagMatcherTest {
+
+    @Test void testIsXrayIssueTag_MatchesTagOfTheProject() {
+        // Arrange
+        XrayIssueTagMatcher matcher = new XrayIssueTagMatcher();
+
+        // Act / Assert
+        Assertions.assertTrue(matcher.isXrayIssueTag(" @PROJ-123 ", "PROJ"));
+        Assertions.assertFalse(matcher.isXrayIssueTag("PROJ-123", "PROJ"));
+        Assertions.assertFalse(matcher.isXrayIssueTag("@OTHER-123", "PROJ"));
+        Assertions.assertFalse(matcher.isXrayIssueTag("@PROJ-12a", "PROJ"));
+        Assertions.assertFalse(matcher.isXrayIssueTag(null, "PROJ"));
+        Assertions.assertFalse(matcher.isXrayIssueTag("@PROJ-123", null));
+    }
+
+    @Test void testIsXrayIssueTag_QuotesRegexMetacharactersOfTheKey() {
+        // Arrange
+        XrayIssueTagMatcher matcher = new XrayIssueTagMatcher();
+
+        // Act / Assert
+        Assertions.assertTrue(matcher.isXrayIssueTag("@P.J-1", "P.J"));
+        Assertions.assertFalse(matcher.isXrayIssueTag("@PXJ-1", "P.J"));
+    }
+
+    @Test void testIsXrayIssueTag_FollowsProjectKeyChanges() {
+        // Arrange
+        XrayIssueTagMatcher matcher = new XrayIssueTagMatcher();
+        Assertions.assertTrue(matcher.isXrayIssueTag("@PROJ-1", "PROJ"));
+
+        // Act / Assert
+        Assertions.assertFalse(matcher.isXrayIssueTag("@PROJ-1", "NEW"));
+        Assertions.assertTrue(matcher.isXrayIssueTag("@NEW-1", "NEW"));
+    }
+
+    @Test void testFindXrayIssueKeys_FindsEveryTagOnce() {
+        // Arrange
+        XrayIssueTagMatcher matcher = new XrayIssueTagMatcher();
+        String featureContent = "@PROJ-1 @smoke\nFeature: Dummy\n  @PROJ-2 @OTHER-3\n  Scenario: One\n    Given a mail@PROJ-4 address\n"
+                + "  @PROJ-2\n  Scenario: Two\n    Given a condition\n";
+        FeatureModel featureModel = new GherkinFileParser().parseFeature("dummy.feature", featureContent);
+
+        // Act
+        List<String> xrayIssueKeys = matcher.findXrayIssueKeys(featureModel, "PROJ");
+
+        // Assert
+        Assertions.assertEquals(List.of("PROJ-1", "PROJ-2"), xrayIssueKeys);
+    }
+
+    @Test void testFindXrayIssueKeys_IgnoresKeysThatAreNotTags() {
+        // Arrange
+        XrayIssueTagMatcher matcher = new XrayIssueTagMatcher();
+        String featureContent = "Feature: Dummy\n  Described with @PROJ-7\n\n  # replaced @PROJ-12\n  @PROJ-1\n  Scenario: One\n"
+                + "    Given a step about @PROJ-8\n    And a payload\n      \"\"\"\n      @PROJ-5\n      \"\"\"\n";
+        FeatureModel featureModel = new GherkinFileParser().parseFeature("dummy.feature", featureContent);
+
+        // Act
+        List<String> xrayIssueKeys = matcher.findXrayIssueKeys(featureModel, "PROJ");
+
+        // Assert
+        Assertions.assertEquals(List.of("PROJ-1"), xrayIssueKeys);
+    }
+
+    @Test void testFindXrayIssueKeys_OnlyFindsTagsOfTheSelectedLines() {
+        // Arrange
+        XrayIssueTagMatcher matcher = new XrayIssueTagMatcher();
+        String featureContent = "@PROJ-1\nFeature: Dummy\n  @PROJ-2\n  Scenario: One\n    Given a condition\n"
+                + "  @PROJ-3\n  Scenario: Two\n    Given a condition\n";
+        FeatureModel featureModel = new GherkinFileParser().parseFeature("dummy.feature", featureContent);
+
+        // Act
+        List<String> xrayIssueKeys = matcher.findXrayIssueKeys(featureModel, "PROJ", 2, 4);
+
+        // Assert
+        Assertions.assertEquals(List.of("PROJ-2"), xrayIssueKeys);
+    }
+}
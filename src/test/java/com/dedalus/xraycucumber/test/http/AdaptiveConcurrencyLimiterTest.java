@@ -0,0 +1,128 @@
+package com.dedalus.xraycucumber.test.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.service.http.AdaptiveConcurrencyLimiter;
+import com.dedalus.xraycucumber.service.http.AdaptiveConcurrencyLimiter.Outcome;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long LATENCY = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    public void tryAcquire_ShouldStopAtTheLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 10);
+
+        // Act / Assert
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.release(Outcome.DROPPED, -1);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    public void acquireAsync_ShouldGrantTheReleasedSlotsInOrder() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1);
+        assertTrue(limiter.acquireAsync().isDone());
+
+        // Act
+        CompletableFuture<Void> first = limiter.acquireAsync();
+        CompletableFuture<Void> second = limiter.acquireAsync();
+
+        // Assert
+        assertFalse(first.isDone());
+        assertFalse(limiter.tryAcquire(), "A waiting request should not be overtaken");
+        limiter.release(Outcome.DROPPED, -1);
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        limiter.release(Outcome.DROPPED, -1);
+        assertTrue(second.isDone());
+        assertEquals(1, limiter.getInFlight());
+    }
+
+    @Test
+    public void release_ShouldRaiseTheLimitByOnePerRoundOfSuccesses() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 10);
+
+        // Act
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+            limiter.release(Outcome.SUCCESS, LATENCY);
+        }
+
+        // Assert
+        assertEquals(4, limiter.getLimit(), "Four successes at a limit of 4 should not quite reach 5 yet");
+        limiter.tryAcquire();
+        limiter.release(Outcome.SUCCESS, LATENCY);
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    public void release_ShouldHalveTheLimitOncePerLatencyWhenThrottled() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 10, now::get);
+        limiter.tryAcquire();
+        limiter.release(Outcome.SUCCESS, LATENCY);
+        now.addAndGet(LATENCY);
+
+        // Act
+        limiter.tryAcquire();
+        limiter.release(Outcome.THROTTLED, -1);
+        limiter.tryAcquire();
+        limiter.release(Outcome.THROTTLED, -1);
+
+        // Assert
+        assertEquals(4, limiter.getLimit(), "Responses to requests sent before the decrease should not lower the limit again");
+    }
+
+    @Test
+    public void release_ShouldNotGoBelowOneOrAboveTheMaximum() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 3, now::get);
+
+        // Act / Assert
+        for (int i = 0; i < 10; i++) {
+            now.addAndGet(LATENCY);
+            limiter.tryAcquire();
+            limiter.release(Outcome.THROTTLED, -1);
+        }
+        assertEquals(1, limiter.getLimit());
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+            limiter.release(Outcome.SUCCESS, LATENCY);
+        }
+        assertEquals(3, limiter.getLimit());
+    }
+
+    @Test
+    public void release_ShouldLowerTheLimitOnSlowResponses() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 10, now::get);
+        limiter.tryAcquire();
+        limiter.release(Outcome.SUCCESS, LATENCY);
+        now.addAndGet(LATENCY * 10);
+
+        // Act
+        limiter.tryAcquire();
+        limiter.release(Outcome.SUCCESS, LATENCY * 5);
+
+        // Assert
+        assertEquals(9, limiter.getLimit());
+    }
+}
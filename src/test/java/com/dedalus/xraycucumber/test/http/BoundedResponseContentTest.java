@@ -0,0 +1,87 @@
+package com.dedalus.xraycucumber.test.http;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.http.entity.InputStreamEntity;
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.service.http.BoundedResponseContent;
+
+public class BoundedResponseContentTest {
+
+    @Test
+    public void open_ShouldReadAResponseWithinTheLimit() throws Exception {
+        // Arrange
+        byte[] body = "{\"key\":\"XRAY-1\"}".getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        byte[] read;
+        try (InputStream content = BoundedResponseContent.open(entity(body, -1, new AtomicBoolean()), body.length)) {
+            read = content.readAllBytes();
+        }
+
+        // Assert
+        assertArrayEquals(body, read);
+    }
+
+    @Test
+    public void open_ShouldFailOnceTheLimitIsExceeded() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStreamEntity entity = entity(new byte[100], -1, closed);
+
+        // Act
+        IOException exception;
+        try (InputStream content = BoundedResponseContent.open(entity, 10)) {
+            exception = assertThrows(IOException.class, content::readAllBytes);
+        }
+
+        // Assert
+        assertTrue(exception.getMessage().contains("10 bytes"));
+        assertTrue(closed.get(), "The content should be released");
+    }
+
+    @Test
+    public void open_ShouldRejectAnAnnouncedLengthAboveTheLimit() {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStreamEntity entity = entity(new byte[100], 100, closed);
+
+        // Act & Assert
+        assertThrows(IOException.class, () -> BoundedResponseContent.open(entity, 10));
+        assertTrue(closed.get(), "The content should be released");
+    }
+
+    @Test
+    public void readPrefix_ShouldReadOnlyTheStartAndReleaseTheRest() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        byte[] body = "0123456789".repeat(10).getBytes(StandardCharsets.UTF_8);
+
+        // Act
+        byte[] prefix = BoundedResponseContent.readPrefix(entity(body, -1, closed), 5);
+
+        // Assert
+        assertEquals("01234", new String(prefix, StandardCharsets.UTF_8));
+        assertTrue(closed.get(), "The content should be released");
+    }
+
+    private static InputStreamEntity entity(byte[] body, long contentLength, AtomicBoolean closed) {
+        return new InputStreamEntity(new ByteArrayInputStream(body) {
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        }, contentLength);
+    }
+}
@@ -0,0 +1,44 @@
+package com.dedalus.xraycucumber.test.http;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.http.client.methods.HttpGet;
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.service.http.HttpRequestCanceller;
+
+public class HttpRequestCancellerTest {
+
+    private final HttpRequestCanceller httpRequestCanceller = new HttpRequestCanceller();
+
+    @Test
+    public void cancel_ShouldAbortRequestsInFlight() {
+        // Arrange
+        HttpGet inFlightRequest = new HttpGet("http://jira.test/rest/api/2/issue/XRAY-1");
+        HttpGet releasedRequest = new HttpGet("http://jira.test/rest/api/2/issue/XRAY-2");
+        httpRequestCanceller.register(inFlightRequest);
+        httpRequestCanceller.register(releasedRequest);
+        httpRequestCanceller.release(releasedRequest);
+
+        // Act
+        httpRequestCanceller.cancel();
+
+        // Assert
+        assertTrue(inFlightRequest.isAborted());
+        assertFalse(releasedRequest.isAborted());
+    }
+
+    @Test
+    public void register_ShouldAbortRequest_WhenAlreadyCancelled() {
+        // Arrange
+        HttpGet request = new HttpGet("http://jira.test/rest/api/2/issue/XRAY-1");
+        httpRequestCanceller.cancel();
+
+        // Act
+        httpRequestCanceller.register(request);
+
+        // Assert
+        assertTrue(request.isAborted());
+    }
+}
@@ -2,18 +2,43 @@ package com.dedalus.xraycucumber.test.http;
 
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+
 import org.apache.http.auth.AuthenticationException;
 import org.apache.http.auth.UsernamePasswordCredentials;
 import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.auth.BasicScheme;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.util.EntityUtils;
 import org.junit.jupiter.api.Test;
 
+import com.dedalus.xraycucumber.exceptions.HttpStatusException;
+import com.dedalus.xraycucumber.service.http.AdaptiveConcurrencyLimiter;
 import com.dedalus.xraycucumber.service.http.HttpService;
+import com.dedalus.xraycucumber.service.http.RetryPolicy;
+import com.dedalus.xraycucumber.service.http.TokenBucketRateLimiter;
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
 import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
 
 public class HttpServiceTest {
@@ -42,4 +67,84 @@ public class HttpServiceTest {
         verify(mockServiceParameters).getPassword();
         verify(mockBasicScheme).authenticate(any(UsernamePasswordCredentials.class), eq(mockRequest), eq(null));
     }*/
+
+    @Test
+    public void executeRequest_ShouldRetryThrottledRequestsAfterRetryAfter() throws Exception {
+        // Arrange
+        HttpClient httpClient = mock(HttpClient.class);
+        HttpResponse throttled = response(429, "2");
+        HttpResponse ok = response(200, null);
+        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(throttled, ok);
+        List<Long> pauses = new ArrayList<>();
+        HttpService httpService = new HttpService(httpClient, new RetryPolicy(3), TokenBucketRateLimiter.unlimited()) {
+
+            @Override
+            protected Executor delayedExecutor(long delay, TimeUnit unit) {
+                pauses.add(unit.toMillis(delay));
+                return Runnable::run;
+            }
+        };
+
+        // Act
+        HttpEntity httpEntity = httpService.executeRequest(new HttpGet("http://jira.test/rest/api/2/issue/XRAY-1"), "token");
+
+        // Assert
+        assertEquals("{}", EntityUtils.toString(httpEntity));
+        assertEquals(List.of(2000L), pauses);
+        verify(httpClient, times(2)).execute(any(HttpUriRequest.class));
+    }
+
+    @Test
+    public void executeRequest_ShouldFailOnceRetriesAreExhausted() throws Exception {
+        // Arrange
+        HttpClient httpClient = mock(HttpClient.class);
+        HttpResponse unavailable = response(503, null);
+        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(unavailable);
+        HttpService httpService = new HttpService(httpClient, new RetryPolicy(2), TokenBucketRateLimiter.unlimited()) {
+
+            @Override
+            protected Executor delayedExecutor(long delay, TimeUnit unit) {
+                return Runnable::run;
+            }
+        };
+
+        // Act
+        HttpStatusException exception = assertThrows(HttpStatusException.class,
+                () -> httpService.executeRequest(new HttpGet("http://jira.test/rest/api/2/issue/XRAY-1"), "token"));
+
+        // Assert
+        assertEquals(503, exception.getStatusCode());
+        verify(httpClient, times(3)).execute(any(HttpUriRequest.class));
+    }
+
+    @Test
+    public void executeRequestAsync_ShouldWaitForAFreeSlotWithoutBlocking() throws Exception {
+        // Arrange
+        HttpClient httpClient = mock(HttpClient.class);
+        HttpResponse ok = response(200, null);
+        when(httpClient.execute(any(HttpUriRequest.class))).thenReturn(ok);
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(1, 1);
+        concurrencyLimiter.tryAcquire();
+        HttpService httpService = new HttpService(httpClient, RetryPolicy.none(), TokenBucketRateLimiter.unlimited(), concurrencyLimiter, Runnable::run, new JiraMetrics());
+
+        // Act
+        CompletableFuture<HttpEntity> entityFuture = httpService.executeRequestAsync(new HttpGet("http://jira.test/rest/api/2/issue/XRAY-1"), "token");
+
+        // Assert
+        assertFalse(entityFuture.isDone(), "The request should wait for the slot in use");
+        verify(httpClient, times(0)).execute(any(HttpUriRequest.class));
+
+        concurrencyLimiter.release(AdaptiveConcurrencyLimiter.Outcome.DROPPED, -1);
+        assertEquals("{}", EntityUtils.toString(entityFuture.get()));
+        assertEquals(0, concurrencyLimiter.getInFlight());
+    }
+
+    private static HttpResponse response(int statusCode, String retryAfter) {
+        HttpResponse response = new BasicHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, statusCode, null));
+        response.setEntity(new StringEntity("{}", ContentType.APPLICATION_JSON));
+        if (retryAfter != null) {
+            response.addHeader("Retry-After", retryAfter);
+        }
+        return response;
+    }
 }
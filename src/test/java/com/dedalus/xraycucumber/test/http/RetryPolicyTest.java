@@ -0,0 +1,70 @@
+package com.dedalus.xraycucumber.test.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.entity.InputStreamEntity;
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.service.http.RetryPolicy;
+
+public class RetryPolicyTest {
+
+    private final RetryPolicy retryPolicy = new RetryPolicy(3, 500, 30_000, () -> 1.0, () -> 0L);
+
+    @Test
+    public void shouldRetry_ShouldRetryIdempotentRequestsOnTransientStatuses() {
+        // Arrange
+        HttpGet request = new HttpGet("http://jira.test/rest/api/2/issue/XRAY-1");
+
+        // Act / Assert
+        assertTrue(retryPolicy.shouldRetry(request, 429, null, 0));
+        assertTrue(retryPolicy.shouldRetry(request, 502, null, 0));
+        assertTrue(retryPolicy.shouldRetry(request, 503, null, 2));
+        assertFalse(retryPolicy.shouldRetry(request, 503, null, 3), "Retries should stop at the maximum");
+        assertFalse(retryPolicy.shouldRetry(request, 500, null, 0));
+        assertFalse(retryPolicy.shouldRetry(request, 404, null, 0));
+    }
+
+    @Test
+    public void shouldRetry_ShouldRetryPostOnlyWhenTheRequestWasNotProcessed() {
+        // Arrange
+        HttpPost request = new HttpPost("http://jira.test/rest/raven/1.0/import/feature");
+        request.setEntity(new ByteArrayEntity(new byte[] {1}));
+
+        // Act / Assert
+        assertTrue(retryPolicy.shouldRetry(request, 429, null, 0));
+        assertTrue(retryPolicy.shouldRetry(request, 503, "5", 0));
+        assertFalse(retryPolicy.shouldRetry(request, 503, null, 0));
+        assertFalse(retryPolicy.shouldRetry(request, 504, null, 0));
+    }
+
+    @Test
+    public void shouldRetry_ShouldNotRetryBodiesThatCannotBeSentAgain() {
+        // Arrange
+        HttpPost request = new HttpPost("http://jira.test/rest/raven/1.0/import/feature");
+        request.setEntity(new InputStreamEntity(new java.io.ByteArrayInputStream(new byte[] {1})));
+
+        // Act / Assert
+        assertFalse(retryPolicy.shouldRetry(request, 429, null, 0));
+    }
+
+    @Test
+    public void shouldRetry_ShouldNotWaitForALongRetryAfter() {
+        // Act / Assert
+        assertFalse(retryPolicy.shouldRetry(new HttpGet("http://jira.test"), 429, "3600", 0));
+    }
+
+    @Test
+    public void delayMillis_ShouldHonorRetryAfterOtherwiseBackOffExponentially() {
+        // Act / Assert
+        assertEquals(7000, retryPolicy.delayMillis(0, "7"));
+        assertEquals(500, retryPolicy.delayMillis(0, null));
+        assertEquals(2000, retryPolicy.delayMillis(2, null));
+        assertEquals(30_000, retryPolicy.delayMillis(10, null), "The backoff should be capped");
+    }
+}
@@ -0,0 +1,56 @@
+package com.dedalus.xraycucumber.test.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.service.http.TokenBucketRateLimiter;
+
+public class TokenBucketRateLimiterTest {
+
+    @Test
+    public void tryAcquire_ShouldAllowABurstThenTheSustainedRate() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(2, now::get);
+
+        // Act / Assert
+        assertEquals(0, rateLimiter.tryAcquire());
+        assertEquals(0, rateLimiter.tryAcquire());
+        long waitNanos = rateLimiter.tryAcquire();
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(500), waitNanos);
+
+        now.addAndGet(waitNanos);
+        assertEquals(0, rateLimiter.tryAcquire());
+    }
+
+    @Test
+    public void tryAcquire_ShouldNeverWaitWhenUnlimited() {
+        // Arrange
+        TokenBucketRateLimiter rateLimiter = TokenBucketRateLimiter.unlimited();
+
+        // Act / Assert
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(0, rateLimiter.tryAcquire());
+        }
+    }
+
+    @Test
+    public void setPermitsPerSecond_ShouldApplyToTheNextPermits() {
+        // Arrange
+        AtomicLong now = new AtomicLong();
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(1, now::get);
+        rateLimiter.tryAcquire();
+
+        // Act
+        rateLimiter.setPermitsPerSecond(10);
+
+        // Assert
+        long waitNanos = rateLimiter.tryAcquire();
+        assertTrue(waitNanos > 0 && waitNanos <= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+}
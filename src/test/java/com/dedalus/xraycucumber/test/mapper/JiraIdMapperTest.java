@@ -3,14 +3,15 @@ package com.dedalus.xraycucumber.test.mapper;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
 import com.dedalus.xraycucumber.mapper.JiraXrayIssueMapper;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
+import com.dedalus.xraycucumber.service.model.JiraIssue;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class JiraIdMapperTest {
@@ -18,16 +19,9 @@ public class JiraIdMapperTest {
     @Test
     public void map_ShouldReturnCorrectMapping() {
         // Arrange
-        JsonArray issues = new JsonArray();
-        JsonObject issue1 = new JsonObject();
-        issue1.addProperty("summary", "Scenario 1");
-        issue1.addProperty("key", "JIRA-123");
-        issues.add(issue1);
-
-        JsonObject issue2 = new JsonObject();
-        issue2.addProperty("summary", "Scenario 2");
-        issue2.addProperty("key", "JIRA-124");
-        issues.add(issue2);
+        List<JiraIssue> issues = new ArrayList<>();
+        issues.add(new JiraIssue("JIRA-123", null, "Scenario 1", null));
+        issues.add(new JiraIssue("JIRA-124", null, "Scenario 2", null));
 
         JiraXrayIssueMapper jiraIdMapper = new JiraXrayIssueMapper();
 
@@ -44,17 +38,11 @@ public class JiraIdMapperTest {
     void map_ShouldHandleNullOrMissingDataGracefully() {
         // Given
         JiraXrayIssueMapper mapper = new JiraXrayIssueMapper();
-        JsonArray issues = new JsonArray();
+        List<JiraIssue> issues = new ArrayList<>();
 
-        JsonObject issue1 = new JsonObject();
         // "summary" is omitted here
-        issue1.addProperty("key", "JIRA-123");
-        issues.add(issue1);
-
-        JsonObject issue2 = new JsonObject();
-        issue2.addProperty("summary", (String) null);
-        issue2.addProperty("key", "JIRA-456");
-        issues.add(issue2);
+        issues.add(new JiraIssue("JIRA-123", null, null, null));
+        issues.add(new JiraIssue("JIRA-456", "http://jira/rest/api/2/issue/JIRA-456", null, "Open"));
 
         // When
         Map<String, String> scenarioToJiraIdMap = mapper.map(issues);
@@ -67,7 +55,7 @@ public class JiraIdMapperTest {
     void map_ShouldReturnEmptyMap_WhenNoIssuesProvided() {
         // Given
         JiraXrayIssueMapper mapper = new JiraXrayIssueMapper();
-        JsonArray issues = new JsonArray(); // Empty issues array
+        List<JiraIssue> issues = new ArrayList<>(); // Empty issues array
 
         // When
         Map<String, String> scenarioToJiraIdMap = mapper.map(issues);
@@ -80,17 +68,9 @@ public class JiraIdMapperTest {
     void map_ShouldHandleDuplicateScenariosCorrectly() {
         // Given
         JiraXrayIssueMapper mapper = new JiraXrayIssueMapper();
-        JsonArray issues = new JsonArray();
-
-        JsonObject issue1 = new JsonObject();
-        issue1.addProperty("summary", "Duplicate Scenario");
-        issue1.addProperty("key", "JIRA-123");
-        issues.add(issue1);
-
-        JsonObject issue2 = new JsonObject();
-        issue2.addProperty("summary", "Duplicate Scenario");
-        issue2.addProperty("key", "JIRA-456");
-        issues.add(issue2);
+        List<JiraIssue> issues = new ArrayList<>();
+        issues.add(new JiraIssue("JIRA-123", null, "Duplicate Scenario", null));
+        issues.add(new JiraIssue("JIRA-456", null, "Duplicate Scenario", null));
 
         // When
         Map<String, String> scenarioToJiraIdMap = mapper.map(issues);
@@ -0,0 +1,65 @@
+package com.dedalus.xraycucumber.test.request;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.service.request.FeatureUploadRequestBuilder;
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
+
+public class FeatureUploadRequestBuilderTest {
+
+    private static final Path FEATURE_FILE = Paths.get("src/test/resources/dummy.feature");
+
+    private FeatureUploadRequestBuilder featureUploadRequestBuilder;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        JiraServiceParameters serviceParameters = new JiraServiceParameters.Builder()
+                .url(new URL("http://jira.test"))
+                .projectKey("XRAY")
+                .build();
+        featureUploadRequestBuilder = new FeatureUploadRequestBuilder(serviceParameters);
+    }
+
+    @Test
+    public void build_ShouldSendTheSameFileBodyOnEveryAttempt() throws Exception {
+        // Arrange
+        HttpEntity entity = ((HttpEntityEnclosingRequest) featureUploadRequestBuilder.build(FEATURE_FILE)).getEntity();
+
+        // Act
+        String firstBody = write(entity);
+        String secondBody = write(entity);
+
+        // Assert
+        assertTrue(entity.isRepeatable(), "A retried upload should be able to send its body again");
+        assertEquals(firstBody, secondBody);
+        assertTrue(firstBody.contains(Files.readString(FEATURE_FILE)));
+        assertTrue(firstBody.contains("Content-Type: text/plain; charset=UTF-8"));
+    }
+
+    @Test
+    public void build_ShouldFailAtOnceOnAMissingFile() {
+        // Act & Assert
+        assertThrows(NoSuchFileException.class, () -> featureUploadRequestBuilder.build(Paths.get("src/test/resources/missing.feature")));
+    }
+
+    private static String write(HttpEntity entity) throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        entity.writeTo(outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8);
+    }
+}
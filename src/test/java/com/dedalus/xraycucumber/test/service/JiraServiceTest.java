@@ -0,0 +1,312 @@
+package com.dedalus.xraycucumber.test.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.exceptions.HttpStatusException;
+import com.dedalus.xraycucumber.exceptions.JiraException;
+import com.dedalus.xraycucumber.service.JiraService;
+import com.dedalus.xraycucumber.service.http.HttpService;
+import com.dedalus.xraycucumber.service.model.JiraIssue;
+import com.dedalus.xraycucumber.service.model.XrayIssueCloseReport;
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
+
+public class JiraServiceTest {
+
+    private static final String JIRA_URL = "http://jira.test";
+
+    private HttpService httpService;
+    private JiraService jiraService;
+    private Path featureFile;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        httpService = mock(HttpService.class);
+        JiraServiceParameters serviceParameters = new JiraServiceParameters.Builder()
+                .url(new URL(JIRA_URL))
+                .projectKey("XRAY")
+                .bearerToken("token")
+                .tokenAuthenticationEnabled(true)
+                .maxConcurrentRequests(4)
+                .build();
+        jiraService = new JiraService(serviceParameters, httpService);
+        // the asynchronous calls answer like the synchronous ones stubbed by each test
+        when(httpService.executeRequestAsync(any(HttpUriRequest.class), anyString())).thenAnswer(invocation -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return httpService.executeRequest(invocation.getArgument(0), invocation.<String>getArgument(1));
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }));
+
+        featureFile = Path.of("src/test/resources/dummy.feature");
+    }
+
+    @Test
+    public void uploadFeatureToXray_ShouldKeepImportOrder() throws Exception {
+        // Arrange
+        when(httpService.executeRequest(any(HttpUriRequest.class), anyString())).thenAnswer(invocation -> {
+            HttpUriRequest request = invocation.getArgument(0);
+            String path = request.getURI().getPath();
+            if (path.endsWith("/import/feature")) {
+                return json(importResponse(10));
+            }
+            if (path.endsWith("/search")) {
+                throw new HttpStatusException("Forbidden", 403);
+            }
+            Thread.sleep(ThreadLocalRandom.current().nextInt(20));
+            String key = path.substring(path.lastIndexOf('/') + 1);
+            return json("{\"key\":\"" + key + "\",\"fields\":{\"summary\":\"Scenario " + key + "\"}}");
+        });
+
+        // Act
+        List<JiraIssue> result = jiraService.uploadFeatureToXray(featureFile);
+
+        // Assert
+        assertEquals(10, result.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("XRAY-" + i, result.get(i).getKey());
+            assertEquals("Scenario XRAY-" + i, result.get(i).getSummary());
+        }
+    }
+
+    @Test
+    public void uploadFeatureToXray_ShouldReportEveryFailedIssue() throws Exception {
+        // Arrange
+        when(httpService.executeRequest(any(HttpUriRequest.class), anyString())).thenAnswer(invocation -> {
+            HttpUriRequest request = invocation.getArgument(0);
+            String path = request.getURI().getPath();
+            if (path.endsWith("/import/feature")) {
+                return json(importResponse(4));
+            }
+            if (path.endsWith("/search")) {
+                throw new HttpStatusException("Forbidden", 403);
+            }
+            String key = path.substring(path.lastIndexOf('/') + 1);
+            if (key.equals("XRAY-1") || key.equals("XRAY-3")) {
+                return json("{\"key\":\"" + key + "\",\"fields\":{}}");
+            }
+            return json("{\"key\":\"" + key + "\",\"fields\":{\"summary\":\"Scenario " + key + "\"}}");
+        });
+
+        // Act & Assert
+        JiraException exception = assertThrows(JiraException.class, () -> jiraService.uploadFeatureToXray(featureFile));
+        assertTrue(exception.getMessage().startsWith("2 of 4"), "Expected both failures to be counted");
+        assertTrue(exception.getMessage().contains("XRAY-1") && exception.getMessage().contains("XRAY-3"), "Expected both failed issues to be reported");
+    }
+
+    @Test
+    public void uploadFeatureToXray_ShouldResolveSummariesWithSearch() throws Exception {
+        // Arrange
+        AtomicInteger issueRequestCount = new AtomicInteger();
+        when(httpService.executeRequest(any(HttpUriRequest.class), anyString())).thenAnswer(invocation -> {
+            HttpUriRequest request = invocation.getArgument(0);
+            String path = request.getURI().getPath();
+            if (path.endsWith("/import/feature")) {
+                return json(importResponse(5));
+            }
+            if (path.endsWith("/search")) {
+                return json(searchResponse(request.getURI().getQuery()));
+            }
+            issueRequestCount.incrementAndGet();
+            return json("{}");
+        });
+
+        // Act
+        List<JiraIssue> result = jiraService.uploadFeatureToXray(featureFile);
+
+        // Assert
+        assertEquals(5, result.size());
+        assertEquals("Scenario XRAY-3", result.get(3).getSummary());
+        assertEquals("Open", result.get(3).getStatus());
+        assertEquals(0, issueRequestCount.get(), "No issue should be read one by one when the search returns them all");
+    }
+
+    @Test
+    public void uploadFeatureToXray_ShouldReadIssuesMissingFromSearch() throws Exception {
+        // Arrange
+        AtomicInteger issueRequestCount = new AtomicInteger();
+        when(httpService.executeRequest(any(HttpUriRequest.class), anyString())).thenAnswer(invocation -> {
+            HttpUriRequest request = invocation.getArgument(0);
+            String path = request.getURI().getPath();
+            if (path.endsWith("/import/feature")) {
+                return json(importResponse(3));
+            }
+            if (path.endsWith("/search")) {
+                return json("{\"issues\":[{\"key\":\"XRAY-0\",\"fields\":{\"summary\":\"Scenario XRAY-0\"}}]}");
+            }
+            issueRequestCount.incrementAndGet();
+            String key = path.substring(path.lastIndexOf('/') + 1);
+            return json("{\"key\":\"" + key + "\",\"fields\":{\"summary\":\"Scenario " + key + "\"}}");
+        });
+
+        // Act
+        List<JiraIssue> result = jiraService.uploadFeatureToXray(featureFile);
+
+        // Assert
+        assertEquals(3, result.size());
+        assertEquals("Scenario XRAY-2", result.get(2).getSummary());
+        assertEquals(2, issueRequestCount.get(), "Only the issues missing from the search should be read one by one");
+    }
+
+    @Test
+    public void uploadFeatureToXray_ShouldReuseCachedSummaries() throws Exception {
+        // Arrange
+        AtomicInteger searchRequestCount = new AtomicInteger();
+        when(httpService.executeRequest(any(HttpUriRequest.class), anyString())).thenAnswer(invocation -> {
+            HttpUriRequest request = invocation.getArgument(0);
+            String path = request.getURI().getPath();
+            if (path.endsWith("/import/feature")) {
+                return json(importResponse(3));
+            }
+            if (path.endsWith("/search")) {
+                searchRequestCount.incrementAndGet();
+                return json(searchResponse(request.getURI().getQuery()));
+            }
+            return json("{}");
+        });
+        jiraService.uploadFeatureToXray(featureFile);
+
+        // Act
+        List<JiraIssue> result = jiraService.uploadFeatureToXray(featureFile);
+
+        // Assert
+        assertEquals("Scenario XRAY-2", result.get(2).getSummary());
+        assertEquals(1, searchRequestCount.get(), "Summaries read by the first upload should come from the cache");
+    }
+
+    @Test
+    public void closeXrayIssues_ShouldReadStatusesWithOneSearchAndCloseOnlyOpenIssues() throws Exception {
+        // Arrange
+        AtomicInteger searchRequestCount = new AtomicInteger();
+        List<String> transitionedIssueKeys = Collections.synchronizedList(new ArrayList<>());
+        when(httpService.executeRequest(any(HttpUriRequest.class), anyString())).thenAnswer(invocation -> {
+            HttpUriRequest request = invocation.getArgument(0);
+            String path = request.getURI().getPath();
+            if (path.endsWith("/search")) {
+                searchRequestCount.incrementAndGet();
+                return json("{\"issues\":[{\"key\":\"XRAY-0\",\"fields\":{\"summary\":\"Scenario 0\",\"status\":{\"name\":\"Open\"}}},"
+                        + "{\"key\":\"XRAY-1\",\"fields\":{\"summary\":\"Scenario 1\",\"status\":{\"name\":\"Closed\"}}},"
+                        + "{\"key\":\"XRAY-3\",\"fields\":{\"summary\":\"Scenario 3\",\"status\":{\"name\":\"Open\"}}}]}");
+            }
+            if (path.endsWith("/transitions") && request.getMethod().equals("GET")) {
+                return json(transitionsResponse());
+            }
+            if (path.endsWith("/transitions")) {
+                String key = path.substring(path.indexOf("/issue/") + "/issue/".length(), path.lastIndexOf('/'));
+                transitionedIssueKeys.add(key);
+                return json("");
+            }
+            return json("{}");
+        });
+
+        // Act
+        XrayIssueCloseReport report = jiraService.closeXrayIssues(List.of("XRAY-0", "XRAY-1", "XRAY-2", "XRAY-3"));
+
+        // Assert
+        assertEquals(1, searchRequestCount.get(), "Statuses should be read with a single search");
+        assertEquals(List.of("XRAY-0", "XRAY-3"), report.getClosedIssueKeys());
+        assertEquals(2, transitionedIssueKeys.size());
+        assertEquals("Closed", report.getSkippedIssueStatuses().get("XRAY-1"));
+        assertTrue(report.getFailures().containsKey("XRAY-2"), "An issue missing from the search should be reported");
+    }
+
+    @Test
+    public void closeXrayIssues_ShouldReportTheFailuresInTheOrderOfTheKeys() throws Exception {
+        // Arrange
+        when(httpService.executeRequest(any(HttpUriRequest.class), anyString())).thenReturn(json("{\"issues\":[]}"));
+        List<String> xrayIssueKeys = List.of("XRAY-7", "XRAY-2", "XRAY-9", "XRAY-1", "XRAY-5", "XRAY-3", "XRAY-8", "XRAY-4");
+
+        // Act
+        XrayIssueCloseReport report = jiraService.closeXrayIssues(xrayIssueKeys);
+
+        // Assert
+        assertEquals(xrayIssueKeys, List.copyOf(report.getFailures().keySet()));
+    }
+
+    @Test
+    public void closeXrayIssue_ShouldDiscoverTheCloseTransitionOncePerWorkflow() throws Exception {
+        // Arrange
+        AtomicInteger discoveryCount = new AtomicInteger();
+        List<String> postedBodies = new ArrayList<>();
+        when(httpService.executeRequest(any(HttpUriRequest.class), anyString())).thenAnswer(invocation -> {
+            HttpUriRequest request = invocation.getArgument(0);
+            String path = request.getURI().getPath();
+            if (path.endsWith("/transitions") && request.getMethod().equals("GET")) {
+                discoveryCount.incrementAndGet();
+                return json(transitionsResponse());
+            }
+            if (path.endsWith("/transitions")) {
+                postedBodies.add(EntityUtils.toString(((HttpEntityEnclosingRequest) request).getEntity()));
+                return json("");
+            }
+            String key = path.substring(path.lastIndexOf('/') + 1);
+            return json("{\"key\":\"" + key + "\",\"fields\":{\"summary\":\"Scenario " + key + "\",\"status\":{\"name\":\"Open\"},\"issuetype\":{\"name\":\"Test\"}}}");
+        });
+
+        // Act
+        jiraService.closeXrayIssue("XRAY-1");
+        jiraService.closeXrayIssue("XRAY-2");
+
+        // Assert
+        assertEquals(1, discoveryCount.get(), "The close transition should be discovered once for the workflow");
+        assertEquals(2, postedBodies.size());
+        assertTrue(postedBodies.get(1).contains("\"id\": \"61\""), "The discovered transition should be posted");
+    }
+
+    private static String transitionsResponse() {
+        return "{\"transitions\":[{\"id\":\"11\",\"name\":\"Start\",\"to\":{\"name\":\"In Progress\"}},"
+                + "{\"id\":\"61\",\"name\":\"Close Issue\",\"to\":{\"name\":\"Closed\"}}]}";
+    }
+
+    private static String searchResponse(String query) {
+        String keys = query.substring(query.indexOf('(') + 1, query.indexOf(')'));
+        StringBuilder response = new StringBuilder("{\"issues\":[");
+        String separator = "";
+        for (String key : keys.split(",")) {
+            response.append(separator).append("{\"key\":\"").append(key)
+                    .append("\",\"fields\":{\"summary\":\"Scenario ").append(key).append("\",\"status\":{\"name\":\"Open\"}}}");
+            separator = ",";
+        }
+        return response.append("]}").toString();
+    }
+
+    private static String importResponse(int issueCount) {
+        StringBuilder response = new StringBuilder("[");
+        for (int i = 0; i < issueCount; i++) {
+            if (i > 0) {
+                response.append(',');
+            }
+            response.append("{\"id\":\"").append(1000 + i).append("\",\"key\":\"XRAY-").append(i)
+                    .append("\",\"self\":\"").append(JIRA_URL).append("/rest/api/2/issue/XRAY-").append(i).append("\"}");
+        }
+        return response.append(']').toString();
+    }
+
+    private static StringEntity json(String body) {
+        return new StringEntity(body, ContentType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,85 @@
+package com.dedalus.xraycucumber.test.service.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.service.cache.JiraIssueCache;
+import com.dedalus.xraycucumber.service.model.JiraIssue;
+
+public class JiraIssueCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final JiraIssueCache jiraIssueCache = new JiraIssueCache(2, Duration.ofMinutes(5), Duration.ofMinutes(60), clock::get);
+
+    @Test
+    public void getIfFresh_ShouldCountHitsAndMisses() {
+        // Arrange
+        jiraIssueCache.put(new JiraIssue("XRAY-1", null, "Scenario 1", "Open"));
+
+        // Act
+        JiraIssue hit = jiraIssueCache.getIfFresh("XRAY-1");
+        JiraIssue miss = jiraIssueCache.getIfFresh("XRAY-2");
+
+        // Assert
+        assertEquals("Scenario 1", hit.getSummary());
+        assertNull(miss);
+        assertEquals(1, jiraIssueCache.getHitCount());
+        assertEquals(1, jiraIssueCache.getMissCount());
+    }
+
+    @Test
+    public void getIfFresh_ShouldMiss_WhenTimeToLiveIsOver() {
+        // Arrange
+        jiraIssueCache.put(new JiraIssue("XRAY-1", null, "Scenario 1", "Open"));
+        clock.addAndGet(Duration.ofMinutes(6).toMillis());
+
+        // Act & Assert
+        assertNull(jiraIssueCache.getIfFresh("XRAY-1"));
+        assertNotNull(jiraIssueCache.getStale("XRAY-1"));
+    }
+
+    @Test
+    public void revalidate_ShouldMakeStaleIssueFresh() {
+        // Arrange
+        jiraIssueCache.put(new JiraIssue("XRAY-1", null, "Scenario 1", "Open"));
+        clock.addAndGet(Duration.ofMinutes(6).toMillis());
+
+        // Act
+        jiraIssueCache.revalidate("XRAY-1");
+
+        // Assert
+        assertNotNull(jiraIssueCache.getIfFresh("XRAY-1"));
+    }
+
+    @Test
+    public void getStale_ShouldReturnNull_AfterRevalidationWindow() {
+        // Arrange
+        jiraIssueCache.put(new JiraIssue("XRAY-1", null, "Scenario 1", "Open"));
+        clock.addAndGet(Duration.ofMinutes(70).toMillis());
+
+        // Act & Assert
+        assertNull(jiraIssueCache.getStale("XRAY-1"));
+    }
+
+    @Test
+    public void put_ShouldEvictLeastRecentlyUsedIssue_WhenFull() {
+        // Arrange
+        jiraIssueCache.put(new JiraIssue("XRAY-1", null, "Scenario 1", "Open"));
+        jiraIssueCache.put(new JiraIssue("XRAY-2", null, "Scenario 2", "Open"));
+        jiraIssueCache.getIfFresh("XRAY-1");
+
+        // Act
+        jiraIssueCache.put(new JiraIssue("XRAY-3", null, "Scenario 3", "Open"));
+
+        // Assert
+        assertEquals(2, jiraIssueCache.size());
+        assertNotNull(jiraIssueCache.getIfFresh("XRAY-1"));
+        assertNull(jiraIssueCache.getIfFresh("XRAY-2"));
+    }
+}
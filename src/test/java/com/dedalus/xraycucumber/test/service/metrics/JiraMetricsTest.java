@@ -0,0 +1,78 @@
+package com.dedalus.xraycucumber.test.service.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.service.metrics.JiraEndpoint;
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+import com.dedalus.xraycucumber.service.metrics.LatencyHistogram;
+import com.dedalus.xraycucumber.service.metrics.OperationMetrics;
+
+public class JiraMetricsTest {
+
+    @Test
+    public void latencyHistogram_ShouldReadPercentilesWithinTheBucketPrecision() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        for (int millis = 1; millis <= 100; millis++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(millis));
+        }
+
+        // Assert
+        assertEquals(100, histogram.getCount());
+        assertWithinPrecision(50, histogram.getPercentileNanos(0.50));
+        assertWithinPrecision(95, histogram.getPercentileNanos(0.95));
+        assertWithinPrecision(99, histogram.getPercentileNanos(0.99));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), histogram.getMaxNanos());
+    }
+
+    @Test
+    public void jiraEndpoint_ShouldClassifyTheRequestsOfThePlugin() {
+        // Act & Assert
+        assertEquals(JiraEndpoint.IMPORT, JiraEndpoint.of(new HttpPost(URI.create("http://jira.test/rest/raven/1.0/import/feature?projectKey=XRAY"))));
+        assertEquals(JiraEndpoint.ISSUE, JiraEndpoint.of(new HttpGet(URI.create("http://jira.test/rest/api/2/issue/XRAY-1"))));
+        assertEquals(JiraEndpoint.SEARCH, JiraEndpoint.of(new HttpGet(URI.create("http://jira.test/rest/api/2/search?jql=key"))));
+        assertEquals(JiraEndpoint.TRANSITIONS, JiraEndpoint.of(new HttpGet(URI.create("http://jira.test/rest/api/2/issue/XRAY-1/transitions"))));
+        assertEquals(JiraEndpoint.CLOSE_TRANSITION, JiraEndpoint.of(new HttpPost(URI.create("http://jira.test/rest/api/2/issue/XRAY-1/transitions"))));
+    }
+
+    @Test
+    public void writeJson_ShouldExportEveryOperation() throws Exception {
+        // Arrange
+        JiraMetrics jiraMetrics = new JiraMetrics();
+        OperationMetrics issueMetrics = jiraMetrics.endpoint(JiraEndpoint.ISSUE);
+        issueMetrics.recordLatency(TimeUnit.MILLISECONDS.toNanos(20));
+        issueMetrics.recordRetry();
+        issueMetrics.recordBytesIn(512);
+        jiraMetrics.operation(JiraMetrics.SYNC_PARSE).recordLatency(TimeUnit.MILLISECONDS.toNanos(3));
+
+        // Act
+        StringWriter writer = new StringWriter();
+        jiraMetrics.writeJson(writer);
+
+        // Assert
+        List<OperationMetrics.Snapshot> snapshots = jiraMetrics.snapshot();
+        assertEquals(List.of("issue", JiraMetrics.SYNC_PARSE), snapshots.stream().map(OperationMetrics.Snapshot::name).toList());
+        String json = writer.toString();
+        assertTrue(json.contains("\"name\": \"issue\""));
+        assertTrue(json.contains("\"retries\": 1"));
+        assertTrue(json.contains("\"bytesIn\": 512"));
+        assertTrue(json.contains("\"max\": 20.0"));
+    }
+
+    private static void assertWithinPrecision(long expectedMillis, long actualNanos) {
+        double actualMillis = actualNanos / 1e6;
+        assertTrue(actualMillis >= expectedMillis && actualMillis <= expectedMillis * 1.125, "Expected about " + expectedMillis + " ms but was " + actualMillis);
+    }
+}
@@ -0,0 +1,76 @@
+package com.dedalus.xraycucumber.test.service.response;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.http.entity.ContentType;
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.service.response.JiraErrorResponseReader;
+
+public class JiraErrorResponseReaderTest {
+
+    private final JiraErrorResponseReader errorResponseReader = new JiraErrorResponseReader();
+
+    @Test
+    public void readErrorSummary_ShouldJoinTheMessagesOfAJiraError() {
+        // Arrange
+        String body = "{\"errorMessages\":[\"Issue does not exist\"],\"errors\":{\"transition\":\"Invalid transition\"}}";
+
+        // Act
+        String summary = errorResponseReader.readErrorSummary(bytes(body), ContentType.APPLICATION_JSON);
+
+        // Assert
+        assertEquals("Issue does not exist; transition: Invalid transition", summary);
+    }
+
+    @Test
+    public void readErrorSummary_ShouldKeepOnlyTheTitleOfAnErrorPage() {
+        // Arrange
+        String body = "<html><head><title>502 Bad\n Gateway</title><style>body { color: red; }</style></head><body>" + "<p>proxy</p>".repeat(1000) + "</body></html>";
+
+        // Act
+        String summary = errorResponseReader.readErrorSummary(bytes(body), ContentType.TEXT_HTML);
+
+        // Assert
+        assertEquals("502 Bad Gateway", summary);
+    }
+
+    @Test
+    public void readErrorSummary_ShouldTruncateLongTexts() {
+        // Arrange
+        String body = "x".repeat(JiraErrorResponseReader.MAX_SUMMARY_LENGTH * 2);
+
+        // Act
+        String summary = errorResponseReader.readErrorSummary(bytes(body), null);
+
+        // Assert
+        assertEquals(JiraErrorResponseReader.MAX_SUMMARY_LENGTH, summary.length());
+        assertTrue(summary.endsWith("..."));
+    }
+
+    @Test
+    public void readErrorSummary_ShouldKeepTheMessagesReadBeforeACut() {
+        // Arrange
+        String body = "{\"errorMessages\":[\"First\",\"Sec";
+
+        // Act
+        String summary = errorResponseReader.readErrorSummary(bytes(body), ContentType.APPLICATION_JSON);
+
+        // Assert
+        assertEquals("First", summary);
+    }
+
+    @Test
+    public void readErrorSummary_ShouldReturnNullForAnEmptyBody() {
+        // Act & Assert
+        assertNull(errorResponseReader.readErrorSummary(bytes("  "), null));
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,121 @@
+package com.dedalus.xraycucumber.test.service.response;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.service.model.JiraIssue;
+import com.dedalus.xraycucumber.service.model.JiraTransition;
+import com.dedalus.xraycucumber.service.response.JiraIssueResponseReader;
+
+public class JiraIssueResponseReaderTest {
+
+    private final JiraIssueResponseReader reader = new JiraIssueResponseReader();
+
+    @Test
+    public void readIssueList_ShouldKeepKeyAndSelf() throws IOException {
+        // Arrange
+        String response = "[{\"id\":\"10001\",\"key\":\"XRAY-1\",\"self\":\"http://jira/rest/api/2/issue/10001\",\"issueType\":{\"id\":\"1\",\"name\":\"Test\"}},"
+                + "{\"id\":\"10002\",\"key\":\"XRAY-2\",\"self\":\"http://jira/rest/api/2/issue/10002\"}]";
+
+        // Act
+        List<JiraIssue> issues = reader.readIssueList(stream(response));
+
+        // Assert
+        assertEquals(2, issues.size());
+        assertEquals("XRAY-1", issues.get(0).getKey());
+        assertEquals("http://jira/rest/api/2/issue/10002", issues.get(1).getSelf());
+        assertNull(issues.get(0).getSummary());
+    }
+
+    @Test
+    public void readIssue_ShouldReadSummaryAndStatusAndSkipOtherFields() throws IOException {
+        // Arrange
+        String response = "{\"expand\":\"renderedFields\",\"key\":\"XRAY-1\",\"fields\":{"
+                + "\"customfield_10100\":{\"value\":[1,2,{\"summary\":\"nested\"}]},"
+                + "\"summary\":\"Test scenario 1\","
+                + "\"description\":null,"
+                + "\"status\":{\"self\":\"http://jira/status/1\",\"name\":\"Open\",\"statusCategory\":{\"name\":\"To Do\"}}},"
+                + "\"changelog\":{\"histories\":[]}}";
+
+        // Act
+        JiraIssue issue = reader.readIssue(stream(response));
+
+        // Assert
+        assertEquals("XRAY-1", issue.getKey());
+        assertEquals("Test scenario 1", issue.getSummary());
+        assertEquals("Open", issue.getStatus());
+    }
+
+    @Test
+    public void readIssue_ShouldHandleNullSummary() throws IOException {
+        // Act
+        JiraIssue issue = reader.readIssue(stream("{\"key\":\"XRAY-1\",\"fields\":{\"summary\":null,\"status\":null}}"));
+
+        // Assert
+        assertNull(issue.getSummary());
+        assertNull(issue.getStatus());
+    }
+
+    @Test
+    public void readSearchResult_ShouldReadEveryIssue() throws IOException {
+        // Arrange
+        String response = "{\"startAt\":0,\"maxResults\":2,\"total\":2,\"issues\":["
+                + "{\"key\":\"XRAY-1\",\"fields\":{\"summary\":\"Scenario 1\",\"status\":{\"name\":\"Open\"}}},"
+                + "{\"key\":\"XRAY-2\",\"fields\":{\"summary\":\"Scenario 2\",\"status\":{\"name\":\"Closed\"}}}]}";
+
+        // Act
+        List<JiraIssue> issues = reader.readSearchResult(stream(response));
+
+        // Assert
+        assertEquals(2, issues.size());
+        assertEquals("Scenario 2", issues.get(1).getSummary());
+        assertEquals("Closed", issues.get(1).getStatus());
+    }
+
+    @Test
+    public void readSearchResult_ShouldReturnEmptyList_WhenNoIssues() throws IOException {
+        // Act
+        List<JiraIssue> issues = reader.readSearchResult(stream("{\"total\":0,\"issues\":[]}"));
+
+        // Assert
+        assertTrue(issues.isEmpty());
+    }
+
+    @Test
+    public void readTransitions_ShouldReadIdNameAndTargetStatus() throws IOException {
+        // Arrange
+        String response = "{\"expand\":\"transitions\",\"transitions\":["
+                + "{\"id\":\"11\",\"name\":\"Start\",\"to\":{\"name\":\"In Progress\",\"statusCategory\":{\"key\":\"indeterminate\"}}},"
+                + "{\"id\":\"61\",\"name\":\"Close Issue\",\"fields\":{},\"to\":{\"name\":\"Closed\"}}]}";
+
+        // Act
+        List<JiraTransition> transitions = reader.readTransitions(stream(response));
+
+        // Assert
+        assertEquals(2, transitions.size());
+        assertEquals(new JiraTransition("61", "Close Issue", "Closed"), transitions.get(1));
+    }
+
+    @Test
+    public void readSearchResult_ShouldReadIssueType() throws IOException {
+        // Act
+        List<JiraIssue> issues = reader.readSearchResult(stream("{\"issues\":[{\"key\":\"XRAY-1\",\"fields\":{\"summary\":\"S\",\"issuetype\":{\"name\":\"Test\"},\"status\":{\"name\":\"Open\"}}}]}"));
+
+        // Assert
+        assertEquals("Test", issues.get(0).getIssueType());
+        assertEquals("Open", issues.get(0).getStatus());
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,201 @@
+package com.dedalus.xraycucumber.test.standin;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import javax.naming.AuthenticationException;
+
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.gherkin.XrayIssueTagInserter;
+import com.dedalus.xraycucumber.mapper.JiraXrayIssueMapper;
+import com.dedalus.xraycucumber.service.JiraService;
+import com.dedalus.xraycucumber.service.cache.JiraIssueCache;
+import com.dedalus.xraycucumber.service.cache.JiraTransitionCache;
+import com.dedalus.xraycucumber.service.http.AdaptiveConcurrencyLimiter;
+import com.dedalus.xraycucumber.service.http.HttpService;
+import com.dedalus.xraycucumber.service.http.RetryPolicy;
+import com.dedalus.xraycucumber.service.http.TokenBucketRateLimiter;
+import com.dedalus.xraycucumber.service.metrics.JiraMetrics;
+import com.dedalus.xraycucumber.service.metrics.OperationMetrics;
+import com.dedalus.xraycucumber.service.model.JiraIssue;
+import com.dedalus.xraycucumber.service.model.XrayIssueCloseReport;
+import com.dedalus.xraycucumber.serviceparameters.JiraServiceParameters;
+import com.dedalus.xraycucumber.settings.XraySyncIndexState;
+import com.dedalus.xraycucumber.sync.FeatureSyncPlan;
+import com.dedalus.xraycucumber.sync.FeatureSyncPlanner;
+
+/**
+ * Drives {@link JiraService} and the stages of a synchronization against a {@link JiraStandInServer}, several
+ * feature files at a time, and measures the throughput and the latencies of the requests and of whole features.
+ * <p>
+ * The stages are those of the sync action without the editor: parse, plan, import, read the summaries, map the
+ * scenarios to their issues, then write the tags into the feature text and record the synchronization.
+ */
+public final class JiraLoadHarness implements AutoCloseable {
+
+    public static final String FEATURE_SYNC = "load: feature sync";
+    public static final String PROJECT_KEY = "LOAD";
+
+    private final JiraMetrics metrics = new JiraMetrics();
+    private final CloseableHttpClient httpClient;
+    private final JiraService jiraService;
+    private final ExecutorService requestExecutor = Executors.newCachedThreadPool();
+    private final ExecutorService featureExecutor;
+    private final FeatureSyncPlanner featureSyncPlanner = new FeatureSyncPlanner(new XraySyncIndexState(), "http://stand-in", PROJECT_KEY, false, true);
+    private final GherkinFileParser gherkinFileParser = new GherkinFileParser();
+    private final JiraXrayIssueMapper jiraXrayIssueMapper = new JiraXrayIssueMapper();
+    private final XrayIssueTagInserter xrayIssueTagInserter = new XrayIssueTagInserter();
+
+    /**
+     * @param parallelFeatures      the number of feature files synchronized at the same time.
+     * @param maxConcurrentRequests the maximum number of requests in flight, shared by every feature.
+     */
+    public JiraLoadHarness(JiraStandInServer server, int parallelFeatures, int maxConcurrentRequests) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxConcurrentRequests);
+        connectionManager.setDefaultMaxPerRoute(maxConcurrentRequests);
+        this.httpClient = HttpClients.custom().setConnectionManager(connectionManager).build();
+
+        JiraServiceParameters jiraServiceParameters = new JiraServiceParameters.Builder()
+                .url(server.getUrl())
+                .projectKey(PROJECT_KEY)
+                .bearerToken("stand-in")
+                .tokenAuthenticationEnabled(true)
+                .deltaUploadEnabled(true)
+                .maxConcurrentRequests(maxConcurrentRequests)
+                .build();
+        HttpService httpService = new HttpService(httpClient, new RetryPolicy(5, 1, 20, Math::random, System::currentTimeMillis), TokenBucketRateLimiter.unlimited(),
+                new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyLimiter.DEFAULT_INITIAL_LIMIT, maxConcurrentRequests), requestExecutor, metrics);
+        this.jiraService = new JiraService(jiraServiceParameters, httpService, new JiraIssueCache(), new JiraTransitionCache(), metrics);
+        this.featureExecutor = Executors.newFixedThreadPool(parallelFeatures);
+    }
+
+    public JiraService getJiraService() {
+        return jiraService;
+    }
+
+    public JiraMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Generates a feature of uniquely named scenarios, a Scenario Outline with an Examples table every fifth one.
+     */
+    public static String generateFeature(int featureIndex, int scenarioCount, int examplesRows) {
+        StringBuilder feature = new StringBuilder("Feature: Load feature " + featureIndex + "\n\n  Background:\n    Given the stand-in is started\n\n");
+        for (int i = 0; i < scenarioCount; i++) {
+            String scenarioName = "Feature " + featureIndex + " scenario " + i;
+            if (i % 5 == 4) {
+                feature.append("  Scenario Outline: ").append(scenarioName).append("\n    Given the value <value>\n    Then it is accepted\n\n    Examples:\n      | value |\n");
+                for (int row = 0; row < examplesRows; row++) {
+                    feature.append("      | ").append(row).append(" |\n");
+                }
+            } else {
+                feature.append("  Scenario: ").append(scenarioName).append("\n    Given a condition ").append(i).append("\n    Then it holds\n");
+            }
+            feature.append('\n');
+        }
+        return feature.toString();
+    }
+
+    /**
+     * Synchronizes the features concurrently and waits for all of them.
+     *
+     * @param featureContents the content of each feature, by feature file path.
+     * @return the tagged content of each feature, in the order of the given features; the content as it was for a
+     * feature that was skipped because it is unchanged since its last synchronization.
+     */
+    public List<String> syncFeatures(Map<String, String> featureContents) throws IOException {
+        List<Future<String>> syncs = new ArrayList<>();
+        featureContents.forEach((featureFilePath, featureContent) -> syncs.add(featureExecutor.submit(() -> syncFeature(featureFilePath, featureContent))));
+
+        List<String> taggedContents = new ArrayList<>();
+        try {
+            for (Future<String> sync : syncs) {
+                taggedContents.add(sync.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while synchronizing the features", e);
+        } catch (ExecutionException e) {
+            throw new IOException("A feature synchronization failed", e.getCause());
+        }
+        return taggedContents;
+    }
+
+    public XrayIssueCloseReport closeXrayIssues(Collection<String> xrayIssueKeys) throws URISyntaxException, IOException, AuthenticationException, org.apache.http.auth.AuthenticationException {
+        return jiraService.closeXrayIssues(xrayIssueKeys);
+    }
+
+    /**
+     * Prints the throughput of a run and the latencies recorded since the metrics were last reset, and writes them
+     * as JSON in the directory of the {@code xray.load.reportDir} system property when it is set.
+     *
+     * @param runName     the name of the run, used as the name of the JSON report.
+     * @param items       the number of features, scenarios or issues processed by the run.
+     * @param elapsedNanos the duration of the run.
+     */
+    public void report(String runName, int items, long elapsedNanos) throws IOException {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        StringBuilder report = new StringBuilder(String.format("%s: %d in %.2f s, %.1f/s%n", runName, items, seconds, items / seconds));
+        for (OperationMetrics.Snapshot snapshot : metrics.snapshot()) {
+            if (snapshot.count() > 0) {
+                report.append(String.format("  %-28s %6d calls %4d retries %4d failures  p50 %8.2f ms  p95 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n",
+                        snapshot.name(), snapshot.count(), snapshot.retries(), snapshot.failures(), JiraMetrics.toMillis(snapshot.p50Nanos()),
+                        JiraMetrics.toMillis(snapshot.p95Nanos()), JiraMetrics.toMillis(snapshot.p99Nanos()), JiraMetrics.toMillis(snapshot.maxNanos())));
+            }
+        }
+        System.out.print(report);
+
+        String reportDir = System.getProperty("xray.load.reportDir");
+        if (reportDir != null && !reportDir.isBlank()) {
+            Path reportFile = Files.createDirectories(Path.of(reportDir)).resolve(runName + ".json");
+            try (Writer writer = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+                metrics.writeJson(writer);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        featureExecutor.shutdownNow();
+        requestExecutor.shutdownNow();
+        httpClient.close();
+    }
+
+    private String syncFeature(String featureFilePath, String featureContent) throws Exception {
+        long start = System.nanoTime();
+        FeatureModel featureModel = gherkinFileParser.parseFeature(featureFilePath, featureContent);
+        FeatureSyncPlan featureSyncPlan = featureSyncPlanner.plan(featureFilePath, featureModel);
+        if (featureSyncPlan.getMode() == FeatureSyncPlan.Mode.SKIP) {
+            return featureContent;
+        }
+
+        String uploadedContent = featureSyncPlan.getMode() == FeatureSyncPlan.Mode.DELTA ? featureSyncPlan.getDeltaContent() : featureModel.getContent();
+        List<JiraIssue> importedJiraIssues = jiraService.importFeatureToXray(Path.of(featureFilePath).getFileName().toString(), uploadedContent);
+        Map<String, String> jiraXrayIssueMap = jiraXrayIssueMapper.map(jiraService.addSummaryToJiraIssueList(importedJiraIssues));
+
+        String taggedContent = xrayIssueTagInserter.apply(featureContent, xrayIssueTagInserter.planInsertions(jiraXrayIssueMap, featureModel));
+        featureSyncPlanner.recordSync(featureFilePath, jiraXrayIssueMap.values(), featureSyncPlan, featureModel.getFingerprintWithXrayTags(jiraXrayIssueMap));
+        metrics.recordSince(FEATURE_SYNC, start);
+        return taggedContent;
+    }
+}
@@ -0,0 +1,113 @@
+package com.dedalus.xraycucumber.test.standin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.gherkin.ScenarioModel;
+import com.dedalus.xraycucumber.service.metrics.JiraEndpoint;
+import com.dedalus.xraycucumber.service.model.XrayIssueCloseReport;
+
+/**
+ * Synchronizes generated features against the {@link JiraStandInServer}, offline. The default sizes keep the run
+ * short enough for every build; larger runs are set with the {@code xray.load.features},
+ * {@code xray.load.scenarios}, {@code xray.load.examplesRows} and {@code xray.load.latencyMillis} system properties.
+ */
+public class JiraLoadHarnessTest {
+
+    private static final int FEATURES = Integer.getInteger("xray.load.features", 20);
+    private static final int SCENARIOS = Integer.getInteger("xray.load.scenarios", 25);
+    private static final int EXAMPLES_ROWS = Integer.getInteger("xray.load.examplesRows", 20);
+    private static final int LATENCY_MILLIS = Integer.getInteger("xray.load.latencyMillis", 5);
+
+    private final GherkinFileParser gherkinFileParser = new GherkinFileParser();
+
+    @Test
+    public void syncFeatures_ShouldTagEveryScenario_WhenJiraThrottles() throws Exception {
+        // Arrange
+        try (JiraStandInServer server = JiraStandInServer.builder().latency(LATENCY_MILLIS, LATENCY_MILLIS).throttleEvery(7, 0).start();
+             JiraLoadHarness harness = new JiraLoadHarness(server, 8, 16)) {
+            Map<String, String> featureContents = generateFeatures();
+
+            // Act
+            long start = System.nanoTime();
+            List<String> taggedContents = harness.syncFeatures(featureContents);
+            harness.report("sync-throttled", FEATURES * SCENARIOS, System.nanoTime() - start);
+
+            // Assert
+            for (String taggedContent : taggedContents) {
+                for (ScenarioModel scenario : gherkinFileParser.parseFeature("tagged.feature", taggedContent).getScenarios()) {
+                    assertEquals(1, scenario.getTags().size(), scenario.getName());
+                    assertTrue(scenario.getTags().get(0).startsWith("@" + JiraLoadHarness.PROJECT_KEY + "-"), scenario.getName());
+                }
+            }
+            assertEquals(FEATURES * SCENARIOS, server.getIssueCount());
+            assertTrue(server.getThrottledCount() > 0);
+            assertTrue(harness.getMetrics().endpoint(JiraEndpoint.IMPORT).snapshot().retries()
+                    + harness.getMetrics().endpoint(JiraEndpoint.SEARCH).snapshot().retries() > 0);
+        }
+    }
+
+    @Test
+    public void syncFeatures_ShouldSkipTheFeaturesAlreadySynchronized() throws Exception {
+        // Arrange
+        try (JiraStandInServer server = JiraStandInServer.builder().latency(LATENCY_MILLIS, 0).start();
+             JiraLoadHarness harness = new JiraLoadHarness(server, 8, 16)) {
+            Map<String, String> featureContents = generateFeatures();
+            List<String> taggedContents = harness.syncFeatures(featureContents);
+            Map<String, String> taggedFeatureContents = new LinkedHashMap<>();
+            List<String> featureFilePaths = new ArrayList<>(featureContents.keySet());
+            for (int i = 0; i < featureFilePaths.size(); i++) {
+                taggedFeatureContents.put(featureFilePaths.get(i), taggedContents.get(i));
+            }
+            long imports = server.getRequestCount(JiraEndpoint.IMPORT);
+
+            // Act
+            List<String> resyncedContents = harness.syncFeatures(taggedFeatureContents);
+
+            // Assert
+            assertEquals(taggedContents, resyncedContents);
+            assertEquals(imports, server.getRequestCount(JiraEndpoint.IMPORT));
+        }
+    }
+
+    @Test
+    public void closeXrayIssues_ShouldCloseEveryIssue_WhenIssuesAreLarge() throws Exception {
+        // Arrange
+        try (JiraStandInServer server = JiraStandInServer.builder().latency(LATENCY_MILLIS, LATENCY_MILLIS).throttleEvery(11, 0).issuePaddingBytes(32 * 1024).start();
+             JiraLoadHarness harness = new JiraLoadHarness(server, 8, 16)) {
+            List<String> issueKeys = new ArrayList<>();
+            for (String taggedContent : harness.syncFeatures(generateFeatures())) {
+                FeatureModel featureModel = gherkinFileParser.parseFeature("tagged.feature", taggedContent);
+                featureModel.getScenarios().forEach(scenario -> issueKeys.add(scenario.getTags().get(0).substring(1)));
+            }
+            harness.getMetrics().reset();
+
+            // Act
+            long start = System.nanoTime();
+            XrayIssueCloseReport xrayIssueCloseReport = harness.closeXrayIssues(issueKeys);
+            harness.report("close-large-issues", issueKeys.size(), System.nanoTime() - start);
+
+            // Assert
+            assertEquals(Map.of(), xrayIssueCloseReport.getFailures());
+            assertEquals(issueKeys.size(), xrayIssueCloseReport.getClosedIssueKeys().size());
+            issueKeys.forEach(issueKey -> assertEquals("Closed", server.getStatus(issueKey)));
+        }
+    }
+
+    private Map<String, String> generateFeatures() {
+        Map<String, String> featureContents = new LinkedHashMap<>();
+        for (int i = 0; i < FEATURES; i++) {
+            featureContents.put("/features/load_" + i + ".feature", JiraLoadHarness.generateFeature(i, SCENARIOS, EXAMPLES_ROWS));
+        }
+        return featureContents;
+    }
+}
@@ -0,0 +1,439 @@
+package com.dedalus.xraycucumber.test.standin;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.dedalus.xraycucumber.service.metrics.JiraEndpoint;
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * An embedded stand-in for the Jira and Xray endpoints used by the plugin, on the loopback interface of a free port:
+ * <ul>
+ *     <li>{@code POST /rest/raven/1.0/import/feature}, creating one Open test per new scenario name;</li>
+ *     <li>{@code GET /rest/api/2/issue/{key}};</li>
+ *     <li>{@code GET} and {@code POST /rest/api/2/issue/{key}/transitions}, the close transition closing the issue;</li>
+ *     <li>{@code GET /rest/api/2/search} on {@code key in (...)} queries.</li>
+ * </ul>
+ * Each response can be delayed, every n-th request can be throttled with a 429, and the issues can be padded with a
+ * description of a given size to simulate large payloads. Nothing is authenticated.
+ */
+public final class JiraStandInServer implements AutoCloseable {
+
+    public static final String CLOSE_TRANSITION_ID = "31";
+
+    private static final String IMPORT_PATH = "/rest/raven/1.0/import/feature";
+    private static final String ISSUE_PATH = "/rest/api/2/issue/";
+    private static final String SEARCH_PATH = "/rest/api/2/search";
+    private static final String TRANSITIONS_SUFFIX = "/transitions";
+    private static final String STATUS_OPEN = "Open";
+    private static final String STATUS_CLOSED = "Closed";
+    private static final List<String> SCENARIO_KEYWORDS = List.of("Scenario:", "Scenario Outline:", "Scenario Template:", "Example:");
+
+    static {
+        // without it, the headers and the body of a response are held by Nagle's algorithm until the client acks,
+        // adding tens of milliseconds to every response; it is read once, when the first server is created
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final long latencyMillis;
+    private final long latencyJitterMillis;
+    private final int throttleEvery;
+    private final int retryAfterSeconds;
+    private final String description;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private final Map<String, StandInIssue> issuesByKey = new ConcurrentHashMap<>();
+    private final Map<String, StandInIssue> issuesById = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, StandInIssue>> issuesBySummaryByProject = new ConcurrentHashMap<>();
+    private final AtomicInteger nextIssueId = new AtomicInteger(10_000);
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final Map<JiraEndpoint, AtomicLong> requestCounts = new EnumMap<>(JiraEndpoint.class);
+
+    private JiraStandInServer(Builder builder) throws IOException {
+        this.latencyMillis = builder.latencyMillis;
+        this.latencyJitterMillis = builder.latencyJitterMillis;
+        this.throttleEvery = builder.throttleEvery;
+        this.retryAfterSeconds = builder.retryAfterSeconds;
+        this.description = "x".repeat(builder.issuePaddingBytes);
+        for (JiraEndpoint endpoint : JiraEndpoint.values()) {
+            requestCounts.put(endpoint, new AtomicLong());
+        }
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newFixedThreadPool(builder.threads, runnable -> {
+            Thread thread = new Thread(runnable, "jira-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public URL getUrl() {
+        try {
+            return new URL("http", server.getAddress().getHostString(), server.getAddress().getPort(), "");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the number of requests received on an endpoint, throttled ones included.
+     */
+    public long getRequestCount(JiraEndpoint endpoint) {
+        return requestCounts.get(endpoint).get();
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    public int getIssueCount() {
+        return issuesByKey.size();
+    }
+
+    /**
+     * @return the status of an issue, null if it doesn't exist.
+     */
+    public String getStatus(String issueKey) {
+        StandInIssue issue = issuesByKey.get(issueKey);
+        return issue != null ? issue.status : null;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            JiraEndpoint endpoint = endpointOf(path, method);
+            requestCounts.get(endpoint).incrementAndGet();
+            // the request body is always read, the connection stays usable whatever the response
+            byte[] body = readBody(exchange.getRequestBody());
+
+            delay();
+            if (throttleEvery > 0 && requestCount.incrementAndGet() % throttleEvery == 0) {
+                throttledCount.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", String.valueOf(retryAfterSeconds));
+                sendJson(exchange, 429, "{\"errorMessages\":[\"Rate limit exceeded\"],\"errors\":{}}");
+                return;
+            }
+
+            switch (endpoint) {
+                case IMPORT -> importFeature(exchange, new String(body, StandardCharsets.UTF_8));
+                case ISSUE -> getIssue(exchange, path.substring(ISSUE_PATH.length()));
+                case TRANSITIONS -> getTransitions(exchange, issueKeyOfTransitions(path));
+                case CLOSE_TRANSITION -> postTransition(exchange, issueKeyOfTransitions(path), new String(body, StandardCharsets.UTF_8));
+                case SEARCH -> search(exchange);
+                default -> sendError(exchange, 404, "No stand-in for " + method + " " + path);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            sendError(exchange, 500, String.valueOf(e));
+        }
+    }
+
+    private void importFeature(HttpExchange exchange, String multipartBody) throws IOException {
+        String projectKey = queryParameter(exchange.getRequestURI(), "projectKey");
+        if (projectKey == null || projectKey.isBlank()) {
+            sendError(exchange, 400, "projectKey is required");
+            return;
+        }
+
+        Map<String, StandInIssue> issuesBySummary = issuesBySummaryByProject.computeIfAbsent(projectKey, key -> new ConcurrentHashMap<>());
+        StringWriter response = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(response)) {
+            writer.beginArray();
+            for (String scenarioName : scenarioNames(multipartBody)) {
+                StandInIssue issue = issuesBySummary.computeIfAbsent(scenarioName, summary -> createIssue(projectKey, summary));
+                writer.beginObject();
+                writer.name("id").value(issue.id);
+                writer.name("key").value(issue.key);
+                writer.name("self").value(self(issue));
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+        sendJson(exchange, 200, response.toString());
+    }
+
+    private void getIssue(HttpExchange exchange, String issueKeyOrId) throws IOException {
+        StandInIssue issue = findIssue(issueKeyOrId);
+        if (issue == null) {
+            sendError(exchange, 404, "Issue Does Not Exist");
+            return;
+        }
+        StringWriter response = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(response)) {
+            writeIssue(writer, issue);
+        }
+        sendJson(exchange, 200, response.toString());
+    }
+
+    private void getTransitions(HttpExchange exchange, String issueKeyOrId) throws IOException {
+        if (findIssue(issueKeyOrId) == null) {
+            sendError(exchange, 404, "Issue Does Not Exist");
+            return;
+        }
+        sendJson(exchange, 200, "{\"expand\":\"transitions\",\"transitions\":["
+                + "{\"id\":\"11\",\"name\":\"Start Progress\",\"to\":{\"name\":\"In Progress\"}},"
+                + "{\"id\":\"" + CLOSE_TRANSITION_ID + "\",\"name\":\"Close Issue\",\"to\":{\"name\":\"" + STATUS_CLOSED + "\"}}]}");
+    }
+
+    private void postTransition(HttpExchange exchange, String issueKeyOrId, String requestBody) throws IOException {
+        StandInIssue issue = findIssue(issueKeyOrId);
+        if (issue == null) {
+            sendError(exchange, 404, "Issue Does Not Exist");
+            return;
+        }
+        if (!requestBody.replace(" ", "").contains("\"id\":\"" + CLOSE_TRANSITION_ID + "\"")) {
+            sendError(exchange, 400, "It seems that you have tried to perform a workflow operation that is not valid");
+            return;
+        }
+        issue.status = STATUS_CLOSED;
+        exchange.sendResponseHeaders(204, -1);
+    }
+
+    private void search(HttpExchange exchange) throws IOException {
+        String jql = queryParameter(exchange.getRequestURI(), "jql");
+        if (jql == null || !jql.startsWith("key in (") || jql.indexOf(')') < 0) {
+            sendError(exchange, 400, "Unsupported JQL: " + jql);
+            return;
+        }
+        List<StandInIssue> issues = new ArrayList<>();
+        for (String issueKey : jql.substring("key in (".length(), jql.indexOf(')')).split(",")) {
+            StandInIssue issue = issuesByKey.get(issueKey.trim());
+            if (issue == null) {
+                // as Jira does, a key that doesn't exist rejects the whole query
+                sendError(exchange, 400, "An issue with key '" + issueKey.trim() + "' does not exist for field 'key'.");
+                return;
+            }
+            issues.add(issue);
+        }
+
+        StringWriter response = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(response)) {
+            writer.beginObject();
+            writer.name("startAt").value(0);
+            writer.name("maxResults").value(issues.size());
+            writer.name("total").value(issues.size());
+            writer.name("issues").beginArray();
+            for (StandInIssue issue : issues) {
+                writeIssue(writer, issue);
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+        sendJson(exchange, 200, response.toString());
+    }
+
+    private StandInIssue createIssue(String projectKey, String summary) {
+        String id = String.valueOf(nextIssueId.incrementAndGet());
+        StandInIssue issue = new StandInIssue(id, projectKey + "-" + id, summary);
+        issuesById.put(issue.id, issue);
+        issuesByKey.put(issue.key, issue);
+        return issue;
+    }
+
+    private StandInIssue findIssue(String issueKeyOrId) {
+        StandInIssue issue = issuesByKey.get(issueKeyOrId);
+        return issue != null ? issue : issuesById.get(issueKeyOrId);
+    }
+
+    private void writeIssue(JsonWriter writer, StandInIssue issue) throws IOException {
+        writer.beginObject();
+        writer.name("id").value(issue.id);
+        writer.name("key").value(issue.key);
+        writer.name("self").value(self(issue));
+        writer.name("fields").beginObject();
+        writer.name("summary").value(issue.summary);
+        writer.name("status").beginObject().name("name").value(issue.status).endObject();
+        writer.name("issuetype").beginObject().name("name").value("Test").endObject();
+        if (!description.isEmpty()) {
+            writer.name("description").value(description);
+        }
+        writer.endObject();
+        writer.endObject();
+    }
+
+    private String self(StandInIssue issue) {
+        return getUrl() + ISSUE_PATH + issue.id;
+    }
+
+    private void delay() throws InterruptedException {
+        long delayMillis = latencyMillis + (latencyJitterMillis > 0 ? ThreadLocalRandom.current().nextLong(latencyJitterMillis + 1) : 0);
+        if (delayMillis > 0) {
+            TimeUnit.MILLISECONDS.sleep(delayMillis);
+        }
+    }
+
+    private static Set<String> scenarioNames(String featureContent) {
+        Set<String> scenarioNames = new LinkedHashSet<>();
+        for (String line : featureContent.split("\\R")) {
+            String trimmedLine = line.trim();
+            for (String keyword : SCENARIO_KEYWORDS) {
+                if (trimmedLine.startsWith(keyword)) {
+                    scenarioNames.add(trimmedLine.substring(keyword.length()).trim());
+                }
+            }
+        }
+        return scenarioNames;
+    }
+
+    private static JiraEndpoint endpointOf(String path, String method) {
+        if (path.equals(IMPORT_PATH) && "POST".equals(method)) {
+            return JiraEndpoint.IMPORT;
+        }
+        if (path.equals(SEARCH_PATH) && "GET".equals(method)) {
+            return JiraEndpoint.SEARCH;
+        }
+        if (path.startsWith(ISSUE_PATH) && path.endsWith(TRANSITIONS_SUFFIX)) {
+            return "GET".equals(method) ? JiraEndpoint.TRANSITIONS : JiraEndpoint.CLOSE_TRANSITION;
+        }
+        if (path.startsWith(ISSUE_PATH) && path.indexOf('/', ISSUE_PATH.length()) < 0 && "GET".equals(method)) {
+            return JiraEndpoint.ISSUE;
+        }
+        return JiraEndpoint.OTHER;
+    }
+
+    private static String issueKeyOfTransitions(String path) {
+        return path.substring(ISSUE_PATH.length(), path.length() - TRANSITIONS_SUFFIX.length());
+    }
+
+    private static String queryParameter(URI uri, String name) {
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).equals(name)) {
+                return URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static byte[] readBody(InputStream body) throws IOException {
+        try (body) {
+            return body.readAllBytes();
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int statusCode, String message) throws IOException {
+        StringWriter response = new StringWriter();
+        try (JsonWriter writer = new JsonWriter(response)) {
+            writer.beginObject();
+            writer.name("errorMessages").beginArray().value(message).endArray();
+            writer.name("errors").beginObject().endObject();
+            writer.endObject();
+        }
+        sendJson(exchange, statusCode, response.toString());
+    }
+
+    private static void sendJson(HttpExchange exchange, int statusCode, String json) throws IOException {
+        byte[] content = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(statusCode, content.length);
+        try (OutputStream responseBody = exchange.getResponseBody()) {
+            responseBody.write(content);
+        }
+    }
+
+    private static final class StandInIssue {
+
+        private final String id;
+        private final String key;
+        private final String summary;
+        private volatile String status = STATUS_OPEN;
+
+        private StandInIssue(String id, String key, String summary) {
+            this.id = id;
+            this.key = key;
+            this.summary = summary;
+        }
+    }
+
+    public static class Builder {
+
+        private long latencyMillis;
+        private long latencyJitterMillis;
+        private int throttleEvery;
+        private int retryAfterSeconds;
+        private int issuePaddingBytes;
+        private int threads = 16;
+
+        /**
+         * Delays every response by a fixed time plus a random jitter, both in milliseconds.
+         */
+        public Builder latency(long latencyMillis, long latencyJitterMillis) {
+            this.latencyMillis = latencyMillis;
+            this.latencyJitterMillis = latencyJitterMillis;
+            return this;
+        }
+
+        /**
+         * Answers every n-th request with a 429 and the given {@code Retry-After}; 0 never throttles.
+         */
+        public Builder throttleEvery(int throttleEvery, int retryAfterSeconds) {
+            this.throttleEvery = throttleEvery;
+            this.retryAfterSeconds = retryAfterSeconds;
+            return this;
+        }
+
+        /**
+         * Adds a description of the given size to every issue returned by the issue and search endpoints.
+         */
+        public Builder issuePaddingBytes(int issuePaddingBytes) {
+            this.issuePaddingBytes = issuePaddingBytes;
+            return this;
+        }
+
+        /**
+         * The number of requests handled at the same time by the stand-in.
+         */
+        public Builder threads(int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        public JiraStandInServer start() throws IOException {
+            return new JiraStandInServer(this);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.dedalus.xraycucumber.test.sync;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.dedalus.xraycucumber.gherkin.FeatureModel;
+import com.dedalus.xraycucumber.gherkin.GherkinFileParser;
+import com.dedalus.xraycucumber.settings.XraySyncIndexState;
+import com.dedalus.xraycucumber.sync.FeatureSyncPlan;
+import com.dedalus.xraycucumber.sync.FeatureSyncPlanner;
+
+public class FeatureSyncPlannerTest {
+
+    private static final String JIRA_URL = "https://jira.example.com";
+    private static final String PROJECT_KEY = "XRAY";
+    private static final String SYNCED_FEATURE = """
+            Feature: Dummy feature
+              Background:
+                Given a background step
+
+              @XRAY-1
+              Scenario: Test scenario 1
+                Given a condition
+
+              @XRAY-2
+              Scenario: Test scenario 2
+                Given another condition
+            """;
+
+    private final XraySyncIndexState xraySyncIndexState = new XraySyncIndexState();
+    private final FeatureSyncPlanner featureSyncPlanner = new FeatureSyncPlanner(xraySyncIndexState, JIRA_URL, PROJECT_KEY, false, true);
+    private final GherkinFileParser gherkinFileParser = new GherkinFileParser();
+
+    @TempDir
+    Path featureDirectory;
+    private String featurePath;
+
+    @BeforeEach
+    public void writeFeatureFile() throws Exception {
+        featurePath = Files.writeString(featureDirectory.resolve("dummy.feature"), SYNCED_FEATURE).toString();
+    }
+
+    @Test
+    public void plan_ShouldSkip_WhenFeatureIsUnchanged() {
+        // Arrange
+        recordFullSync();
+
+        // Act
+        FeatureSyncPlan featureSyncPlan = featureSyncPlanner.plan(featurePath, parse(SYNCED_FEATURE));
+
+        // Assert
+        assertEquals(FeatureSyncPlan.Mode.SKIP, featureSyncPlan.getMode());
+    }
+
+    @Test
+    public void plan_ShouldUploadOnlyChangedScenario() {
+        // Arrange
+        recordFullSync();
+        String modifiedFeature = SYNCED_FEATURE.replace("Given another condition", "Given a modified condition");
+
+        // Act
+        FeatureSyncPlan featureSyncPlan = featureSyncPlanner.plan(featurePath, parse(modifiedFeature));
+
+        // Assert
+        assertEquals(FeatureSyncPlan.Mode.DELTA, featureSyncPlan.getMode());
+        assertEquals(Set.of("Test scenario 2"), featureSyncPlan.getDeltaScenarioNames());
+        assertTrue(featureSyncPlan.getDeltaContent().contains("Given a background step"));
+        assertTrue(featureSyncPlan.getDeltaContent().contains("Given a modified condition"));
+        assertFalse(featureSyncPlan.getDeltaContent().contains("Test scenario 1"));
+    }
+
+    @Test
+    public void plan_ShouldUploadScenario_WhenACommentLineOfItsDocStringChanges() {
+        // Arrange
+        String syncedFeature = SYNCED_FEATURE.replace("Given another condition", "Given the script\n      \"\"\"\n      # install\n      make install\n      \"\"\"");
+        featureSyncPlanner.recordSync(featurePath, List.of("XRAY-1", "XRAY-2"), FeatureSyncPlan.full(), parse(syncedFeature).getFingerprint());
+        String modifiedFeature = syncedFeature.replace("# install", "# build and install");
+
+        // Act
+        FeatureSyncPlan featureSyncPlan = featureSyncPlanner.plan(featurePath, parse(modifiedFeature));
+
+        // Assert
+        assertEquals(FeatureSyncPlan.Mode.DELTA, featureSyncPlan.getMode());
+        assertEquals(Set.of("Test scenario 2"), featureSyncPlan.getDeltaScenarioNames());
+    }
+
+    @Test
+    public void plan_ShouldUploadWholeFile_WhenBackgroundChanges() {
+        // Arrange
+        recordFullSync();
+        String modifiedFeature = SYNCED_FEATURE.replace("Given a background step", "Given a modified background step");
+
+        // Act
+        FeatureSyncPlan featureSyncPlan = featureSyncPlanner.plan(featurePath, parse(modifiedFeature));
+
+        // Assert
+        assertEquals(FeatureSyncPlan.Mode.FULL, featureSyncPlan.getMode());
+    }
+
+    @Test
+    public void recordSync_ShouldKeepPreviousIssueKeys_AfterDeltaUpload() {
+        // Arrange
+        recordFullSync();
+        String modifiedFeature = SYNCED_FEATURE.replace("Given another condition", "Given a modified condition");
+        FeatureSyncPlan featureSyncPlan = featureSyncPlanner.plan(featurePath, parse(modifiedFeature));
+
+        // Act
+        featureSyncPlanner.recordSync(featurePath, List.of("XRAY-2"), featureSyncPlan, parse(modifiedFeature).getFingerprint());
+
+        // Assert
+        assertEquals(List.of("XRAY-1", "XRAY-2"), xraySyncIndexState.getSyncedFeature(featurePath).issueKeys);
+    }
+
+    @Test
+    public void plan_ShouldUploadWholeFile_WhenTheXrayProjectChanges() {
+        // Arrange
+        recordFullSync();
+
+        // Act
+        FeatureSyncPlan featureSyncPlan = new FeatureSyncPlanner(xraySyncIndexState, JIRA_URL, "OTHER", false, true).plan(featurePath, parse(SYNCED_FEATURE));
+
+        // Assert
+        assertEquals(FeatureSyncPlan.Mode.FULL, featureSyncPlan.getMode());
+        assertEquals("OTHER", xraySyncIndexState.projectKey);
+    }
+
+    @Test
+    public void plan_ShouldUploadWholeFile_WhenTheJiraUrlChanges() {
+        // Arrange
+        recordFullSync();
+
+        // Act
+        FeatureSyncPlan featureSyncPlan = new FeatureSyncPlanner(xraySyncIndexState, "https://other-jira.example.com", PROJECT_KEY, false, true).plan(featurePath, parse(SYNCED_FEATURE));
+
+        // Assert
+        assertEquals(FeatureSyncPlan.Mode.FULL, featureSyncPlan.getMode());
+    }
+
+    @Test
+    public void featureSyncPlanner_ShouldForgetTheFeatureFilesThatNoLongerExist() throws Exception {
+        // Arrange
+        recordFullSync();
+        String deletedFeaturePath = featureDirectory.resolve("deleted.feature").toString();
+        featureSyncPlanner.recordSync(deletedFeaturePath, List.of("XRAY-3"), FeatureSyncPlan.full(), parse(SYNCED_FEATURE).getFingerprint());
+
+        // Act
+        new FeatureSyncPlanner(xraySyncIndexState, JIRA_URL, PROJECT_KEY, false, true);
+
+        // Assert
+        assertNull(xraySyncIndexState.getSyncedFeature(deletedFeaturePath));
+        assertNotNull(xraySyncIndexState.getSyncedFeature(featurePath));
+    }
+
+    @Test
+    public void forget_ShouldUploadWholeFile_AfterAFailedUpload() {
+        // Arrange
+        recordFullSync();
+
+        // Act
+        featureSyncPlanner.forget(featurePath);
+
+        // Assert
+        assertEquals(FeatureSyncPlan.Mode.FULL, featureSyncPlanner.plan(featurePath, parse(SYNCED_FEATURE)).getMode());
+    }
+
+    private void recordFullSync() {
+        featureSyncPlanner.recordSync(featurePath, List.of("XRAY-1", "XRAY-2"), FeatureSyncPlan.full(), parse(SYNCED_FEATURE).getFingerprint());
+    }
+
+    private FeatureModel parse(String featureContent) {
+        return gherkinFileParser.parseFeature(featurePath, featureContent);
+    }
+}